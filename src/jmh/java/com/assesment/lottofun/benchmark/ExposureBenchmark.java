@@ -0,0 +1,70 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.service.exposure.ExposureLedger;
+import com.assesment.lottofun.service.exposure.ExposureReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ExposureBenchmark {
+
+    private static final long[] PRIZE_CENTS = {0, 0, 1_000, 10_000, 100_000, 0};
+    private static final long[] ALLOCATION_CENTS = {0, 0, 0, 0, 0, 100_000_000};
+
+    @Param({"1000000", "5000000"})
+    private int tickets;
+
+    private ExposureLedger ledger;
+    private long[] ticketMasks;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(2024);
+        ticketMasks = new long[tickets];
+        for (int i = 0; i < tickets; i++) {
+            ticketMasks[i] = randomLine(random);
+        }
+        ledger = new ExposureLedger(1L);
+        for (long mask : ticketMasks) {
+            ledger.add(mask);
+        }
+    }
+
+    @Benchmark
+    public ExposureReport fullSweep() {
+        return ledger.sweep(ForkJoinPool.commonPool(), PRIZE_CENTS, ALLOCATION_CENTS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void incrementalAdd(ThreadIndex index) {
+        ledger.add(ticketMasks[index.next(tickets)]);
+    }
+
+    static long randomLine(SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < ExposureLedger.LINE_SIZE) {
+            mask |= 1L << random.nextInt(ExposureLedger.POOL_SIZE);
+        }
+        return mask;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        private int position;
+
+        int next(int bound) {
+            position = position + 1 < bound ? position + 1 : 0;
+            return position;
+        }
+    }
+}
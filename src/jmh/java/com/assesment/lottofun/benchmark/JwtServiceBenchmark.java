@@ -0,0 +1,49 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.infrastructure.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing on login and the parse and verify done by the authentication filter on every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String EMAIL = "player@lottofun.com";
+    private static final String SECRET =
+            "gScDvt7yDTlvKueKmH9CQU4r15EPMuLm5pyyGUhz9QzcpSO6Y8MZ6CzX8d45TwLsJkyEoDCbalxHxwXyXlysaA";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1_800_000L);
+        token = jwtService.generateTokenFromEmail(EMAIL);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateTokenFromEmail(EMAIL);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtService.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, EMAIL);
+    }
+}
@@ -0,0 +1,92 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.entity.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal against cent-based {@link Money} on the two money hot paths: the
+ * balance check and debit of a purchase, and prize accumulation while settling.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int TICKETS = 10_000;
+
+    private static final BigDecimal PRICE_DECIMAL = new BigDecimal("10.00");
+    private static final Money PRICE = Money.of(10);
+
+    private static final BigDecimal[] PRIZES_DECIMAL = {
+            BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("10.00"),
+            new BigDecimal("100.00"), new BigDecimal("1000.00"), new BigDecimal("1000000.00")
+    };
+    private static final Money[] PRIZES = {
+            Money.ZERO, Money.ZERO, Money.of(10), Money.of(100), Money.of(1_000), Money.of(1_000_000)
+    };
+
+    private int[] matchCounts;
+    private BigDecimal balanceDecimal;
+    private Money balance;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(2024);
+        matchCounts = new int[TICKETS];
+        for (int i = 0; i < TICKETS; i++) {
+            matchCounts[i] = random.nextInt(PRIZES.length);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        balanceDecimal = new BigDecimal("1000000000.00");
+        balance = Money.of(1_000_000_000);
+    }
+
+    @Benchmark
+    public BigDecimal purchaseBigDecimal() {
+        if (balanceDecimal.compareTo(PRICE_DECIMAL) < 0) {
+            balanceDecimal = new BigDecimal("1000000000.00");
+        }
+        balanceDecimal = balanceDecimal.subtract(PRICE_DECIMAL);
+        return balanceDecimal;
+    }
+
+    @Benchmark
+    public Money purchaseMoney() {
+        if (!balance.isGreaterThanOrEqual(PRICE)) {
+            balance = Money.of(1_000_000_000);
+        }
+        balance = balance.minus(PRICE);
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS)
+    public BigDecimal settlementBigDecimal() {
+        BigDecimal payout = BigDecimal.ZERO;
+        for (int matchCount : matchCounts) {
+            payout = payout.add(PRIZES_DECIMAL[matchCount]);
+        }
+        return payout;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS)
+    public Money settlementMoney() {
+        Money payout = Money.ZERO;
+        for (int matchCount : matchCounts) {
+            payout = payout.plus(PRIZES[matchCount]);
+        }
+        return payout;
+    }
+}
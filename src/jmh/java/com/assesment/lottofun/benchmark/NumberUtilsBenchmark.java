@@ -0,0 +1,59 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.util.DrawUtils;
+import com.assesment.lottofun.util.NumberUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions between the stored comma-separated numbers, number sets and bitmasks, which run for every
+ * ticket on purchase, listing and settlement, and the winning-number draw itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class NumberUtilsBenchmark {
+
+    private String numbers;
+    private String winningNumbers;
+    private Set<Integer> numberSet;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(2024);
+        numberSet = SettlementScoringBenchmark.randomNumbers(random, NumberUtils.LINE_NUMBER_COUNT);
+        numbers = NumberUtils.numbersToString(numberSet);
+        winningNumbers = NumberUtils.numbersToString(SettlementScoringBenchmark.randomNumbers(random, NumberUtils.LINE_NUMBER_COUNT));
+    }
+
+    @Benchmark
+    public Set<Integer> stringToNumbers() {
+        return NumberUtils.stringToNumbers(numbers);
+    }
+
+    @Benchmark
+    public String numbersToString() {
+        return NumberUtils.numbersToString(numberSet);
+    }
+
+    @Benchmark
+    public long stringToBitmask() {
+        return NumberUtils.toBitmask(numbers);
+    }
+
+    @Benchmark
+    public int calculateMatches() {
+        return NumberUtils.calculateMatches(numbers, winningNumbers);
+    }
+
+    @Benchmark
+    public String generateWinningNumbers() {
+        return DrawUtils.generateWinningNumbers();
+    }
+}
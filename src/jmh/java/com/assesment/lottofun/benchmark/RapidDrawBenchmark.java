@@ -0,0 +1,159 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.LottofunApplication;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.util.NumberUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to extract and settle closed draws against a real PostgreSQL database (configured through the
+ * usual DB_* variables). {@code workers} consecutive draws are closed with {@code tickets} tickets each
+ * and settled concurrently, as the rapid-draw settlement pipeline does. Settlement is timed alone, without
+ * ticket sales competing for the database; the sustained cadence is measured by the load tool
+ * {@code RapidDrawCadence}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RapidDrawBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int INSERT_CHUNK = 50_000;
+
+    @Param({"100000", "250000"})
+    private int tickets;
+
+    @Param({"1", "2"})
+    private int workers;
+
+    private ConfigurableApplicationContext context;
+    private DrawService drawService;
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService executor;
+    private final SplittableRandom random = new SplittableRandom(2024);
+    private List<Long> closedDrawIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws InterruptedException {
+        context = new SpringApplicationBuilder(LottofunApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--lottery.draw.rapid.enabled=true",
+                        "--lottery.schema.recreate=true",
+                        "--lottery.scheduler.pollIntervalMillis=3600000",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.assesment.lottofun=INFO",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        drawService = context.getBean(DrawService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        executor = Executors.newFixedThreadPool(workers);
+
+        awaitOpenDraw();
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, balance, created_at, updated_at)
+                SELECT 'bench' || i || '@lottofun.test', 'x', 'Bench', 'User', 1000000, now(), now()
+                FROM generate_series(1, ?) AS i
+                ON CONFLICT DO NOTHING
+                """, USERS);
+    }
+
+    @Setup(Level.Invocation)
+    public void closeDraws() {
+        closedDrawIds = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Draw open = drawService.getActiveDraw();
+            insertTickets(open.getId());
+            jdbcTemplate.update("UPDATE draws SET draw_date = now() - interval '1 second' WHERE id = ?", open.getId());
+            drawService.closeNextDueDraw(LocalDateTime.now());
+            closedDrawIds.add(open.getId());
+        }
+    }
+
+    @Benchmark
+    public void settleClosedDraws() throws Exception {
+        List<Future<?>> settlements = new ArrayList<>(workers);
+        for (Long drawId : closedDrawIds) {
+            settlements.add(executor.submit(() -> {
+                drawService.extract(drawId);
+                drawService.settle(drawId);
+            }));
+        }
+        for (Future<?> settlement : settlements) {
+            settlement.get();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        executor.shutdown();
+        context.close();
+    }
+
+    private void awaitOpenDraw() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try {
+                drawService.getActiveDraw();
+                return;
+            } catch (ResourceNotFoundException ex) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("Scheduler did not open a draw");
+    }
+
+    private void insertTickets(Long drawId) {
+        Long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE email LIKE 'bench%'", Long.class);
+        for (int offset = 0; offset < tickets; offset += INSERT_CHUNK) {
+            int size = Math.min(INSERT_CHUNK, tickets - offset);
+            String[] ticketNumbers = new String[size];
+            String[] selectedNumbers = new String[size];
+            Long[] masks = new Long[size];
+            Long[] userIds = new Long[size];
+            for (int i = 0; i < size; i++) {
+                long mask = ExposureBenchmark.randomLine(random);
+                ticketNumbers[i] = "BENCH-" + drawId + "-" + (offset + i);
+                selectedNumbers[i] = NumberUtils.bitmaskToString(mask);
+                masks[i] = mask;
+                userIds[i] = firstUserId + random.nextInt(USERS);
+            }
+            jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("""
+                        INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, status,
+                                             draw_id, user_id, purchase_timestamp, updated_at)
+                        SELECT t.ticket_number, t.selected_numbers, t.numbers_mask, 10, 'WAITING_FOR_DRAW',
+                               ?, t.user_id, now(), now()
+                        FROM unnest(?, ?, ?, ?) AS t(ticket_number, selected_numbers, numbers_mask, user_id)
+                        ON CONFLICT DO NOTHING
+                        """)) {
+                    statement.setLong(1, drawId);
+                    statement.setArray(2, connection.createArrayOf("varchar", ticketNumbers));
+                    statement.setArray(3, connection.createArrayOf("varchar", selectedNumbers));
+                    statement.setArray(4, connection.createArrayOf("bigint", masks));
+                    statement.setArray(5, connection.createArrayOf("bigint", userIds));
+                    return statement.executeUpdate();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.config.JacksonConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.presentation.dto.common.ApiResponse;
+import com.assesment.lottofun.presentation.dto.common.PageResponse;
+import com.assesment.lottofun.presentation.dto.response.DrawResponse;
+import com.assesment.lottofun.presentation.dto.response.TicketDetailResponse;
+import com.assesment.lottofun.util.NumberUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and JSON serialization of the most requested responses: the active draw, a history page and a
+ * ticket listing page, each wrapped in {@link ApiResponse} as the controllers return them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    private ObjectMapper objectMapper;
+    private Draw activeDraw;
+    private List<Draw> historyDraws;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonConfig().objectMapper();
+        LocalDateTime now = LocalDateTime.now();
+        activeDraw = draw(1L, DrawStatus.DRAW_OPEN, null, now);
+
+        historyDraws = new ArrayList<>();
+        tickets = new ArrayList<>();
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            Draw finalized = draw(100L + i, DrawStatus.DRAW_FINALIZED, "3,11,19,27,42", now.minusMinutes(i));
+            historyDraws.add(finalized);
+            tickets.add(Ticket.builder()
+                    .id(1000L + i)
+                    .ticketNumber("TKT-1792387520483-9AFBAD3D")
+                    .selectedNumbers("3,8,19,27,45")
+                    .numbersMask(NumberUtils.toBitmask("3,8,19,27,45"))
+                    .purchasePrice(Money.of(10))
+                    .purchaseTimestamp(now)
+                    .status(TicketStatus.WON)
+                    .matchCount(3)
+                    .prizeAmount(Money.of(100))
+                    .draw(finalized)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String activeDraw() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ApiResponse.success("Current draw retrieved successfully",
+                DrawResponse.fromEntity(activeDraw)));
+    }
+
+    @Benchmark
+    public String drawHistoryPage() throws JsonProcessingException {
+        List<DrawResponse> content = historyDraws.stream().map(DrawResponse::fromEntity).toList();
+        PageResponse<DrawResponse> page = PageResponse.from(new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 500));
+        return objectMapper.writeValueAsString(ApiResponse.success("Draw history retrieved successfully", page));
+    }
+
+    @Benchmark
+    public String ticketPage() throws JsonProcessingException {
+        List<TicketDetailResponse> content = tickets.stream().map(TicketDetailResponse::fromEntity).toList();
+        return objectMapper.writeValueAsString(ApiResponse.success("Tickets retrieved successfully", content));
+    }
+
+    private static Draw draw(Long id, DrawStatus status, String winningNumbers, LocalDateTime drawDate) {
+        return Draw.builder()
+                .id(id)
+                .status(status)
+                .drawDate(drawDate)
+                .winningNumbers(winningNumbers)
+                .totalPrizePool(Money.of(10_000_000))
+                .totalPayout(status == DrawStatus.DRAW_FINALIZED ? Money.of(1_250) : null)
+                .rolloverAmount(status == DrawStatus.DRAW_FINALIZED ? Money.of(9_998_750) : null)
+                .createdAt(drawDate.minusMinutes(1))
+                .build();
+    }
+}
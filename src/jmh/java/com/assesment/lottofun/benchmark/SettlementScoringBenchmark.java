@@ -0,0 +1,92 @@
+package com.assesment.lottofun.benchmark;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.TicketResult;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.UnsettledTicket;
+import com.assesment.lottofun.service.SettlementService;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
+import com.assesment.lottofun.util.NumberUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SettlementService#score} over one settlement batch of tickets, for single lines and for the largest
+ * system entries. The draw's settlement is calculated from the same tickets, as the tier counts query does.
+ * Scores are per ticket.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SettlementScoringBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"5", "10"})
+    private int picked;
+
+    private List<UnsettledTicket> batch;
+    private long winningMask;
+    private DrawSettlement settlement;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(2024);
+        winningMask = NumberUtils.toBitmask(randomNumbers(random, NumberUtils.LINE_NUMBER_COUNT));
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        long[][] ticketsByPickedAndMatch = new long[DrawSettlement.MAX_PICKED + 1][DrawSettlement.MAX_MATCHES + 1];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long mask = NumberUtils.toBitmask(randomNumbers(random, picked));
+            batch.add(new UnsettledTicket(i + 1, random.nextInt(1, 10_000), mask));
+            ticketsByPickedAndMatch[picked][Long.bitCount(mask & winningMask)]++;
+        }
+        settlement = DrawSettlement.calculate(Draw.builder().totalPrizePool(Money.of(10_000_000)).build(),
+                new PrizeRules(prizeRules()).getTiers(), ticketsByPickedAndMatch);
+    }
+
+    // The tiers of application.yml.
+    private static PrizeRulesConfig prizeRules() {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getPrizes().getTiers().add(tier(5, PrizeTierType.PARI_MUTUEL, null, BigDecimal.valueOf(0.10)));
+        config.getPrizes().getTiers().add(tier(4, PrizeTierType.FIXED, BigDecimal.valueOf(1000), null));
+        config.getPrizes().getTiers().add(tier(3, PrizeTierType.FIXED, BigDecimal.valueOf(100), null));
+        config.getPrizes().getTiers().add(tier(2, PrizeTierType.FIXED, BigDecimal.valueOf(10), null));
+        return config;
+    }
+
+    private static PrizeRulesConfig.Tier tier(int matchCount, PrizeTierType type, BigDecimal amount, BigDecimal poolShare) {
+        PrizeRulesConfig.Tier tier = new PrizeRulesConfig.Tier();
+        tier.setMatchCount(matchCount);
+        tier.setType(type);
+        tier.setAmount(amount);
+        tier.setPoolShare(poolShare);
+        return tier;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TicketResult> score() {
+        return SettlementService.score(batch, winningMask, settlement);
+    }
+
+    static TreeSet<Integer> randomNumbers(SplittableRandom random, int count) {
+        TreeSet<Integer> numbers = new TreeSet<>();
+        while (numbers.size() < count) {
+            numbers.add(random.nextInt(1, 50));
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,335 @@
+package com.assesment.lottofun.load;
+
+import com.assesment.lottofun.LottofunApplication;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
+import com.assesment.lottofun.util.NumberUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the users, draws and tickets tables with production-sized data through the COPY protocol. Rows are
+ * generated while they are streamed, one draw at a time, so memory use does not grow with the row count, and
+ * the same {@code seed} always produces the same rows. Draws are finalized history ending now, with tickets settled
+ * against their winning numbers. Distributions:
+ * <ul>
+ *     <li>{@code heavyPlayerPercent} of the users buy {@code heavyPlayerTicketPercent} of the tickets;</li>
+ *     <li>numbers 1-31 (birthdays) are picked {@code popularNumberWeight} times as often as 32-49;</li>
+ *     <li>{@code claimedPercent} of the winning tickets have been claimed.</li>
+ * </ul>
+ * Rows are appended after the existing ones; generated users log in with the password {@code password}.
+ * Prizes follow the {@link DrawSettlement} of each draw under the configured {@link PrizeRules}; draws get no
+ * tier results or rollover.
+ */
+public class DataGenerator {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("seed", "2024"),
+            Map.entry("users", "1000000"),
+            Map.entry("draws", "2000"),
+            Map.entry("ticketsPerDraw", "10000"),
+            Map.entry("drawIntervalMinutes", "60"),
+            Map.entry("heavyPlayerPercent", "5"),
+            Map.entry("heavyPlayerTicketPercent", "50"),
+            Map.entry("popularNumberWeight", "3"),
+            Map.entry("claimedPercent", "80"));
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int POPULAR_MAX = 31;
+    private static final long PRIZE_POOL = 10_000_000;
+
+    private final DataSource dataSource;
+    private final TicketPartitions ticketPartitions;
+    private final PrizeRules prizeRules;
+    private final LoadOptions options;
+    private final double[] numberWeights;
+
+    DataGenerator(DataSource dataSource, TicketPartitions ticketPartitions, PrizeRules prizeRules, LoadOptions options) {
+        this.dataSource = dataSource;
+        this.ticketPartitions = ticketPartitions;
+        this.prizeRules = prizeRules;
+        this.options = options;
+        this.numberWeights = cumulativeNumberWeights(options.getDouble("popularNumberWeight"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args, DEFAULTS, List.of(
+                "--lottery.schema.recreate=false",
+                "--lottery.scheduler.pollIntervalMillis=3600000",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.assesment.lottofun=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LottofunApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(options.getApplicationArgs())) {
+            new DataGenerator(context.getBean(DataSource.class), context.getBean(TicketPartitions.class),
+                    context.getBean(PrizeRules.class), options).generate();
+        }
+    }
+
+    void generate() throws SQLException {
+        System.out.printf(Locale.ROOT, "Generating data with %s%n", options);
+        SplittableRandom random = new SplittableRandom(options.getLong("seed"));
+
+        try (Connection connection = dataSource.getConnection()) {
+            long firstUserId = nextId(connection, "users");
+            long firstDrawId = nextId(connection, "draws");
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+
+            long started = System.nanoTime();
+            long users = copyUsers(connection, random.split(), firstUserId, now);
+            long winningNumbersSeed = random.nextLong();
+            report("users", users, started);
+
+            started = System.nanoTime();
+            long draws = copyDraws(connection, new SplittableRandom(winningNumbersSeed), firstDrawId, now);
+            ticketPartitions.ensurePartitions(firstDrawId, firstDrawId + draws - 1);
+            report("draws", draws, started);
+
+            started = System.nanoTime();
+            long[] payouts = new long[options.getInt("draws")];
+            long tickets = copyTickets(connection, random.split(), new SplittableRandom(winningNumbersSeed),
+                    firstUserId, firstDrawId, now, payouts);
+            report("tickets", tickets, started);
+
+            started = System.nanoTime();
+            finish(connection, firstDrawId, payouts);
+            report("payouts, sequences and statistics", draws, started);
+        }
+    }
+
+    private long copyUsers(Connection connection, SplittableRandom random, long firstId, LocalDateTime now)
+            throws SQLException {
+        String password = new BCryptPasswordEncoder().encode("password");
+        CopyWriter copy = new CopyWriter(connection,
+                "users (id, email, password, first_name, last_name, balance, created_at, updated_at)");
+        int users = options.getInt("users");
+        for (int i = 0; i < users; i++) {
+            long id = firstId + i;
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(525_600));
+            copy.row(id, "user" + id + "@lottofun.test", password, "User", Long.toString(id),
+                    Money.ofCents(random.nextLong(500_000)).toBigDecimal(), createdAt, createdAt);
+        }
+        return copy.end();
+    }
+
+    private long copyDraws(Connection connection, SplittableRandom random, long firstId, LocalDateTime now)
+            throws SQLException {
+        CopyWriter copy = new CopyWriter(connection,
+                "draws (id, winning_numbers, total_prize_pool, total_payout, status, executed_at, "
+                        + "prizes_distributed_at, draw_date, created_at, updated_at)");
+        int draws = options.getInt("draws");
+        for (int i = 0; i < draws; i++) {
+            LocalDateTime drawDate = drawDate(now, i);
+            copy.row(firstId + i, NumberUtils.bitmaskToString(uniformLine(random)), Money.of(PRIZE_POOL).toBigDecimal(),
+                    null, DrawStatus.DRAW_FINALIZED.name(), drawDate, drawDate.plusMinutes(1),
+                    drawDate, drawDate.minusMinutes(options.getInt("drawIntervalMinutes")), drawDate.plusMinutes(1));
+        }
+        return copy.end();
+    }
+
+    /**
+     * {@code winning} must replay the sequence {@link #copyDraws} drew the winning numbers from.
+     */
+    private long copyTickets(Connection connection, SplittableRandom random, SplittableRandom winning,
+                             long firstUserId, long firstDrawId, LocalDateTime now, long[] payouts)
+            throws SQLException {
+        CopyWriter copy = new CopyWriter(connection,
+                "tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, prize_amount, match_count, "
+                        + "status, purchase_timestamp, updated_at, draw_id, user_id)");
+        int users = options.getInt("users");
+        int heavyPlayers = Math.max(1, users * options.getInt("heavyPlayerPercent") / 100);
+        int heavyTicketPercent = options.getInt("heavyPlayerTicketPercent");
+        int claimedPercent = options.getInt("claimedPercent");
+        int ticketsPerDraw = options.getInt("ticketsPerDraw");
+        int interval = options.getInt("drawIntervalMinutes");
+        String price = Money.of(10).toBigDecimal().toPlainString();
+
+        long[] masks = new long[ticketsPerDraw];
+        int[] buyers = new int[ticketsPerDraw];
+        for (int draw = 0; draw < payouts.length; draw++) {
+            long drawId = firstDrawId + draw;
+            long winningMask = uniformLine(winning);
+            LocalDateTime drawDate = drawDate(now, draw);
+            // The tickets table is unique on (user, draw, numbers); a colliding hash only skips a ticket.
+            Set<Long> sold = new HashSet<>(ticketsPerDraw * 2);
+            long[][] ticketsByPickedAndMatch = new long[DrawSettlement.MAX_PICKED + 1][DrawSettlement.MAX_MATCHES + 1];
+            int count = 0;
+
+            for (int n = 0; n < ticketsPerDraw; n++) {
+                int user = random.nextInt(100) < heavyTicketPercent || heavyPlayers == users
+                        ? random.nextInt(heavyPlayers)
+                        : heavyPlayers + random.nextInt(users - heavyPlayers);
+                long mask = popularLine(random);
+                if (!sold.add(mask ^ (user * 0x9E3779B97F4A7C15L))) {
+                    continue;
+                }
+                masks[count] = mask;
+                buyers[count++] = user;
+                ticketsByPickedAndMatch[Long.bitCount(mask)][Long.bitCount(mask & winningMask)]++;
+            }
+
+            // Pari-mutuel tiers are split between the winners of the draw, so prizes follow its settlement.
+            DrawSettlement settlement = DrawSettlement.calculate(
+                    Draw.builder().id(drawId).totalPrizePool(Money.of(PRIZE_POOL)).build(),
+                    prizeRules.getTiers(), ticketsByPickedAndMatch);
+            for (int n = 0; n < count; n++) {
+                long mask = masks[n];
+                int matches = Long.bitCount(mask & winningMask);
+                Money prize = settlement.prizeFor(matches);
+                TicketStatus status = settlement.statusFor(matches) == TicketStatus.NOT_WON ? TicketStatus.NOT_WON
+                        : random.nextInt(100) < claimedPercent ? TicketStatus.PRIZE_CLAIMED : TicketStatus.WON;
+                LocalDateTime purchasedAt = drawDate.minusSeconds(random.nextLong(interval * 60L));
+
+                copy.row("GEN-" + drawId + "-" + n, NumberUtils.bitmaskToString(mask), mask, price,
+                        prize.toBigDecimal(), matches, status.name(), purchasedAt, drawDate.plusMinutes(1),
+                        drawId, firstUserId + buyers[n]);
+            }
+            payouts[draw] = settlement.getTotalPayout().getCents();
+        }
+        return copy.end();
+    }
+
+    private void finish(Connection connection, long firstDrawId, long[] payouts) throws SQLException {
+        Long[] ids = new Long[payouts.length];
+        Long[] cents = new Long[payouts.length];
+        for (int i = 0; i < payouts.length; i++) {
+            ids[i] = firstDrawId + i;
+            cents[i] = payouts[i];
+        }
+        try (PreparedStatement statement = connection.prepareStatement("""
+                UPDATE draws d
+                SET total_payout = p.cents / 100.0
+                FROM unnest(?, ?) AS p(id, cents)
+                WHERE d.id = p.id
+                """)) {
+            Array idArray = connection.createArrayOf("bigint", ids);
+            Array centsArray = connection.createArrayOf("bigint", cents);
+            statement.setArray(1, idArray);
+            statement.setArray(2, centsArray);
+            statement.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "draws", "tickets")) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+                statement.execute("ANALYZE " + table);
+            }
+        }
+    }
+
+    private LocalDateTime drawDate(LocalDateTime now, int draw) {
+        return now.minusMinutes((long) (options.getInt("draws") - draw) * options.getInt("drawIntervalMinutes"));
+    }
+
+    private long popularLine(SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < NumberUtils.LINE_NUMBER_COUNT) {
+            int index = Arrays.binarySearch(numberWeights, random.nextDouble() * numberWeights[numberWeights.length - 1]);
+            mask |= 1L << (index < 0 ? -index - 1 : index);
+        }
+        return mask;
+    }
+
+    private static long uniformLine(SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < NumberUtils.LINE_NUMBER_COUNT) {
+            mask |= 1L << random.nextInt(49);
+        }
+        return mask;
+    }
+
+    /**
+     * Cumulative weights of the numbers 1-49 at indexes 0-48.
+     */
+    private static double[] cumulativeNumberWeights(double popularWeight) {
+        double[] cumulative = new double[49];
+        double total = 0;
+        for (int number = 1; number <= 49; number++) {
+            total += number <= POPULAR_MAX ? popularWeight : 1.0;
+            cumulative[number - 1] = total;
+        }
+        return cumulative;
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void report(String what, long rows, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        System.out.printf(Locale.ROOT, "%-36s %,14d rows %8.1f s %,12.0f rows/s%n",
+                what, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Streams text-format rows into one COPY, flushing every {@value #BUFFER_BYTES} bytes. Values never
+     * contain tabs, newlines or backslashes, so no escaping is needed.
+     */
+    private static class CopyWriter {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(BUFFER_BYTES + 1024);
+
+        private CopyWriter(Connection connection, String target) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + target + " FROM STDIN");
+        }
+
+        private void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                buffer.append(values[i] == null ? "\\N" : values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= BUFFER_BYTES) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        private long end() throws SQLException {
+            flush();
+            return copyIn.endCopy();
+        }
+    }
+}
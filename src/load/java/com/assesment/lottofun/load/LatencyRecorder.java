@@ -0,0 +1,70 @@
+package com.assesment.lottofun.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times per endpoint. Every sample is kept, so percentiles are exact; a run of a few million
+ * requests needs a few tens of megabytes.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        if (success) {
+            stats.add(nanos);
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    void print(String phase, double seconds) {
+        System.out.printf(Locale.ROOT, "%n%s (%.1f s)%n", phase, seconds);
+        System.out.printf(Locale.ROOT, "%-34s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, stats) -> {
+            long[] samples = stats.sorted();
+            System.out.printf(Locale.ROOT, "%-34s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, samples.length, stats.errors.sum(), samples.length / seconds,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(percentile(samples, 0.999)), millis(samples.length == 0 ? 0 : samples[samples.length - 1]));
+        });
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Endpoint {
+
+        private final LongAdder errors = new LongAdder();
+        private long[] samples = new long[1024];
+        private int size;
+
+        private synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        private synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
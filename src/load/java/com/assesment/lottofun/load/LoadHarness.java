@@ -0,0 +1,325 @@
+package com.assesment.lottofun.load;
+
+import com.assesment.lottofun.LottofunApplication;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.security.JwtService;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.purchase.GroupCommitPurchasePipeline;
+import com.assesment.lottofun.util.NumberUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application against the PostgreSQL database configured through the usual DB_* variables
+ * (the schema is dropped and migrated again), seeds users and drives HTTP traffic through the real controllers:
+ * <ol>
+ *     <li>purchases mixed with reads of the active draw, history, profile and ticket list for
+ *     {@code durationSeconds};</li>
+ *     <li>{@code tickets} extra tickets are bulk-inserted, the draw is closed, extracted and settled;</li>
+ *     <li>up to {@code claims} winning tickets are claimed concurrently.</li>
+ * </ol>
+ * Prints throughput and p50/p99/p99.9 latencies per endpoint and phase, and settlement time per million
+ * tickets. Options are {@code key=value} arguments; see {@link #DEFAULTS}.
+ */
+public class LoadHarness {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "users", "1000",
+            "threads", "32",
+            "durationSeconds", "30",
+            "purchasePercent", "30",
+            "tickets", "1000000",
+            "claims", "2000");
+
+    private static final int INSERT_CHUNK = 50_000;
+    private static final String[] READS = {
+            "/api/draw/active", "/api/draw/history", "/api/user/profile", "/api/user/tickets"};
+
+    private final LoadOptions options;
+    private final DrawService drawService;
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtService jwtService;
+    private final GroupCommitPurchasePipeline purchasePipeline;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ExecutorService clients;
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    LoadHarness(ConfigurableApplicationContext context, LoadOptions options) {
+        this.options = options;
+        this.drawService = context.getBean(DrawService.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.jwtService = context.getBean(JwtService.class);
+        this.purchasePipeline = context.getBean(GroupCommitPurchasePipeline.class);
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.clients = Executors.newFixedThreadPool(option("threads"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args, DEFAULTS, List.of(
+                "--server.port=0",
+                "--lottery.schema.recreate=true",
+                "--lottery.scheduler.pollIntervalMillis=3600000",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.assesment.lottofun=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LottofunApplication.class)
+                .run(options.getApplicationArgs());
+        LoadHarness harness = new LoadHarness(context, options);
+        try {
+            harness.run();
+        } finally {
+            harness.clients.shutdownNow();
+            context.close();
+        }
+    }
+
+    void run() throws Exception {
+        System.out.printf(Locale.ROOT, "Load harness against %s with %s%n", baseUrl, options);
+        Draw draw = awaitOpenDraw();
+        seedUsers();
+
+        LatencyRecorder traffic = new LatencyRecorder();
+        double trafficSeconds = runTraffic(traffic);
+        traffic.print("Purchase and read traffic, " + option("threads") + " clients", trafficSeconds);
+
+        settle(draw.getId());
+
+        LatencyRecorder claims = new LatencyRecorder();
+        double claimSeconds = runClaims(draw.getId(), claims);
+        claims.print("Claims", claimSeconds);
+    }
+
+    private double runTraffic(LatencyRecorder recorder) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(option("durationSeconds")).toNanos();
+        int purchasePercent = option("purchasePercent");
+        long started = System.nanoTime();
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < option("threads"); i++) {
+            workers.add(clients.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int user = random.nextInt(tokens.size());
+                    if (random.nextInt(100) < purchasePercent) {
+                        send(recorder, "POST /api/ticket/purchase", post("/api/ticket/purchase", tokens.get(user),
+                                "{\"selectedNumbers\":" + randomLine(random) + "}"));
+                    } else {
+                        String path = READS[random.nextInt(READS.length)];
+                        send(recorder, "GET " + path, get(path, tokens.get(user)));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private void settle(Long drawId) {
+        int seeded = option("tickets");
+        if (seeded > 0) {
+            long seedStarted = System.nanoTime();
+            insertTickets(drawId, seeded);
+            System.out.printf(Locale.ROOT, "%nSeeded %,d tickets into draw %d in %.1f s%n",
+                    seeded, drawId, (System.nanoTime() - seedStarted) / 1e9);
+        }
+
+        purchasePipeline.flush();
+        jdbcTemplate.update("UPDATE draws SET draw_date = now() - interval '1 second' WHERE id = ?", drawId);
+        if (!drawService.closeNextDueDraw(LocalDateTime.now())) {
+            throw new IllegalStateException("Draw " + drawId + " could not be closed");
+        }
+        Long tickets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets WHERE draw_id = ?", Long.class, drawId);
+
+        long started = System.nanoTime();
+        drawService.extract(drawId);
+        long extracted = System.nanoTime();
+        drawService.settle(drawId);
+        long settled = System.nanoTime();
+
+        double seconds = (settled - started) / 1e9;
+        System.out.printf(Locale.ROOT, "%nSettlement of draw %d: %,d tickets, extract %.2f s, settle %.2f s, "
+                        + "%.2f s per million tickets%n", drawId, tickets, (extracted - started) / 1e9,
+                (settled - extracted) / 1e9, tickets == 0 ? 0 : seconds * 1_000_000 / tickets);
+    }
+
+    private double runClaims(Long drawId, LatencyRecorder recorder) throws Exception {
+        List<Map<String, Object>> winners = jdbcTemplate.queryForList("""
+                SELECT t.id, u.email
+                FROM tickets t
+                JOIN users u ON u.id = t.user_id
+                WHERE t.draw_id = ? AND t.status = 'WON'
+                ORDER BY t.id
+                LIMIT ?
+                """, drawId, option("claims"));
+        Map<String, String> tokensByEmail = new HashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            tokensByEmail.put(emails.get(i), tokens.get(i));
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        long started = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < option("threads"); i++) {
+            workers.add(clients.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < winners.size()) {
+                    Map<String, Object> winner = winners.get(index);
+                    String token = tokensByEmail.get((String) winner.get("email"));
+                    send(recorder, "GET /api/user/tickets/claimable", get("/api/user/tickets/claimable", token));
+                    send(recorder, "POST /api/user/tickets/{id}/claim",
+                            post("/api/user/tickets/" + winner.get("id") + "/claim", token, ""));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private void send(LatencyRecorder recorder, String endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() / 100 == 2;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            success = false;
+        }
+        recorder.record(endpoint, System.nanoTime() - started, success);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void seedUsers() {
+        int users = option("users");
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, balance, created_at, updated_at)
+                SELECT 'load' || i || '@lottofun.test', 'x', 'Load', 'User', 1000000, now(), now()
+                FROM generate_series(1, ?) AS i
+                ON CONFLICT DO NOTHING
+                """, users);
+        // Tokens are issued directly; logging in thousands of users would only measure BCrypt.
+        for (int i = 1; i <= users; i++) {
+            String email = "load" + i + "@lottofun.test";
+            emails.add(email);
+            tokens.add(jwtService.generateTokenFromEmail(email));
+        }
+    }
+
+    private void insertTickets(Long drawId, int count) {
+        Long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE email LIKE 'load%'", Long.class);
+        int users = option("users");
+        SplittableRandom random = new SplittableRandom(2024);
+        for (int offset = 0; offset < count; offset += INSERT_CHUNK) {
+            int size = Math.min(INSERT_CHUNK, count - offset);
+            String[] ticketNumbers = new String[size];
+            String[] selectedNumbers = new String[size];
+            Long[] masks = new Long[size];
+            Long[] userIds = new Long[size];
+            for (int i = 0; i < size; i++) {
+                TreeSet<Integer> numbers = new TreeSet<>();
+                while (numbers.size() < NumberUtils.LINE_NUMBER_COUNT) {
+                    numbers.add(random.nextInt(1, 50));
+                }
+                ticketNumbers[i] = "LOAD-" + drawId + "-" + (offset + i);
+                selectedNumbers[i] = NumberUtils.numbersToString(numbers);
+                masks[i] = NumberUtils.toBitmask(numbers);
+                userIds[i] = firstUserId + random.nextInt(users);
+            }
+            jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("""
+                        INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, status,
+                                             draw_id, user_id, purchase_timestamp, updated_at)
+                        SELECT t.ticket_number, t.selected_numbers, t.numbers_mask, 10, 'WAITING_FOR_DRAW',
+                               ?, t.user_id, now(), now()
+                        FROM unnest(?, ?, ?, ?) AS t(ticket_number, selected_numbers, numbers_mask, user_id)
+                        ON CONFLICT DO NOTHING
+                        """)) {
+                    statement.setLong(1, drawId);
+                    statement.setArray(2, connection.createArrayOf("varchar", ticketNumbers));
+                    statement.setArray(3, connection.createArrayOf("varchar", selectedNumbers));
+                    statement.setArray(4, connection.createArrayOf("bigint", masks));
+                    statement.setArray(5, connection.createArrayOf("bigint", userIds));
+                    return statement.executeUpdate();
+                }
+            });
+        }
+    }
+
+    private Draw awaitOpenDraw() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try {
+                return drawService.getActiveDraw();
+            } catch (ResourceNotFoundException ex) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("Scheduler did not open a draw");
+    }
+
+    private static String randomLine(ThreadLocalRandom random) {
+        TreeSet<Integer> numbers = new TreeSet<>();
+        while (numbers.size() < NumberUtils.LINE_NUMBER_COUNT) {
+            numbers.add(random.nextInt(1, 50));
+        }
+        return numbers.toString();
+    }
+
+    private int option(String name) {
+        return options.getInt(name);
+    }
+}
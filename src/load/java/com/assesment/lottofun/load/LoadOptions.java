@@ -0,0 +1,60 @@
+package com.assesment.lottofun.load;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code key=value} command line options of the load tools; arguments starting with {@code --} are passed
+ * on to the application.
+ */
+class LoadOptions {
+
+    private final Map<String, String> values;
+    private final List<String> applicationArgs;
+
+    private LoadOptions(Map<String, String> values, List<String> applicationArgs) {
+        this.values = values;
+        this.applicationArgs = applicationArgs;
+    }
+
+    static LoadOptions parse(String[] args, Map<String, String> defaults, List<String> applicationDefaults) {
+        Map<String, String> values = new HashMap<>(defaults);
+        List<String> applicationArgs = new ArrayList<>(applicationDefaults);
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            String[] option = arg.split("=", 2);
+            if (option.length != 2 || !defaults.containsKey(option[0])) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected one of " + defaults.keySet());
+            }
+            values.put(option[0], option[1]);
+        }
+        return new LoadOptions(values, applicationArgs);
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+
+    long getLong(String name) {
+        return Long.parseLong(values.get(name));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(values.get(name));
+    }
+
+    String[] getApplicationArgs() {
+        return applicationArgs.toArray(String[]::new);
+    }
+
+    @Override
+    public String toString() {
+        return new TreeMap<>(values).toString();
+    }
+}
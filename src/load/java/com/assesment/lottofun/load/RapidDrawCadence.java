@@ -0,0 +1,202 @@
+package com.assesment.lottofun.load;
+
+import com.assesment.lottofun.LottofunApplication;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.exposure.ExposureLedger;
+import com.assesment.lottofun.util.NumberUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the rapid-draw scheduler on its real schedule for {@code draws} consecutive draws and reports how
+ * far behind each draw was settled. Every draw gets {@code ticketsPerDraw} tickets while it is open, so
+ * settlement of one draw overlaps the sales of the next, as in production. The cadence is sustained while
+ * the settlement lag (draw date to prizes distributed) stays flat from draw to draw instead of growing.
+ */
+public class RapidDrawCadence {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("seed", "2024"),
+            Map.entry("users", "10000"),
+            Map.entry("draws", "8"),
+            Map.entry("ticketsPerDraw", "100000"),
+            Map.entry("frequencySeconds", "30"),
+            Map.entry("settlementWorkers", "2"));
+
+    private static final int INSERT_CHUNK = 50_000;
+    private static final long POLL_MILLIS = 200;
+
+    private final DrawService drawService;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadOptions options;
+    private final SplittableRandom random;
+
+    RapidDrawCadence(DrawService drawService, JdbcTemplate jdbcTemplate, LoadOptions options) {
+        this.drawService = drawService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.options = options;
+        this.random = new SplittableRandom(options.getLong("seed"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args, DEFAULTS, List.of(
+                "--lottery.schema.recreate=true",
+                "--lottery.draw.rapid.enabled=true",
+                "--lottery.scheduler.pollIntervalMillis=500",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.assesment.lottofun=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        List<String> applicationArgs = new ArrayList<>(List.of(options.getApplicationArgs()));
+        applicationArgs.add("--lottery.draw.rapid.frequencySeconds=" + options.getInt("frequencySeconds"));
+        applicationArgs.add("--lottery.draw.rapid.settlementWorkers=" + options.getInt("settlementWorkers"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LottofunApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(applicationArgs.toArray(String[]::new))) {
+            new RapidDrawCadence(context.getBean(DrawService.class), context.getBean(JdbcTemplate.class), options).run();
+        }
+    }
+
+    void run() throws InterruptedException {
+        System.out.printf(Locale.ROOT, "Running rapid draws with %s%n", options);
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, balance, created_at, updated_at)
+                SELECT 'cadence' || i || '@lottofun.test', 'x', 'Cadence', 'User', 1000000, now(), now()
+                FROM generate_series(1, ?) AS i
+                ON CONFLICT DO NOTHING
+                """, options.getInt("users"));
+        long firstUserId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE email LIKE 'cadence%'", Long.class);
+
+        // The first draw was opened at startup and may already be part way through its interval.
+        Long previousDrawId = awaitNextOpenDraw(null).getId();
+        List<Long> drawIds = new ArrayList<>();
+        for (int i = 0; i < options.getInt("draws"); i++) {
+            Draw draw = awaitNextOpenDraw(previousDrawId);
+            long started = System.nanoTime();
+            insertTickets(draw.getId(), firstUserId);
+            System.out.printf(Locale.ROOT, "Draw %d: %,d tickets sold in %d ms%n", draw.getId(),
+                    options.getInt("ticketsPerDraw"), (System.nanoTime() - started) / 1_000_000);
+            drawIds.add(draw.getId());
+            previousDrawId = draw.getId();
+        }
+
+        awaitFinalized(drawIds);
+        report(drawIds);
+    }
+
+    private Draw awaitNextOpenDraw(Long previousDrawId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(options.getInt("frequencySeconds") * 4L).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Draw draw = drawService.getActiveDraw();
+                if (!draw.getId().equals(previousDrawId)) {
+                    return draw;
+                }
+            } catch (ResourceNotFoundException ex) {
+                // The next draw is opened on the following poll.
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IllegalStateException("Scheduler did not open a draw after " + previousDrawId);
+    }
+
+    private void awaitFinalized(List<Long> drawIds) throws InterruptedException {
+        Long lastDrawId = drawIds.get(drawIds.size() - 1);
+        long deadline = System.nanoTime()
+                + Duration.ofSeconds(options.getInt("frequencySeconds") * (long) drawIds.size() * 4).toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM draws WHERE id BETWEEN ? AND ? AND status <> 'DRAW_FINALIZED'",
+                    Integer.class, drawIds.get(0), lastDrawId);
+            if (pending != null && pending == 0) {
+                return;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IllegalStateException("Draws up to " + lastDrawId + " were not settled in time");
+    }
+
+    private void report(List<Long> drawIds) {
+        System.out.printf(Locale.ROOT, "%n%8s %14s %16s%n", "Draw", "Extracted (s)", "Settlement lag (s)");
+        List<Double> lags = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT id, draw_date, executed_at, prizes_distributed_at
+                FROM draws WHERE id BETWEEN ? AND ? ORDER BY id
+                """, resultSet -> {
+            long drawDate = resultSet.getTimestamp("draw_date").getTime();
+            double extracted = secondsSince(drawDate, resultSet.getTimestamp("executed_at"));
+            double lag = secondsSince(drawDate, resultSet.getTimestamp("prizes_distributed_at"));
+            lags.add(lag);
+            System.out.printf(Locale.ROOT, "%8d %14.1f %16.1f%n", resultSet.getLong("id"), extracted, lag);
+        }, drawIds.get(0), drawIds.get(drawIds.size() - 1));
+
+        double max = lags.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double growth = lags.get(lags.size() - 1) - lags.get(0);
+        System.out.printf(Locale.ROOT, "%nMax settlement lag %.1f s, last draw minus first %+.1f s, interval %d s%n",
+                max, growth, options.getInt("frequencySeconds"));
+    }
+
+    private static double secondsSince(long drawDate, Timestamp timestamp) {
+        return (timestamp.getTime() - drawDate) / 1000.0;
+    }
+
+    private void insertTickets(Long drawId, long firstUserId) {
+        int tickets = options.getInt("ticketsPerDraw");
+        int users = options.getInt("users");
+        for (int offset = 0; offset < tickets; offset += INSERT_CHUNK) {
+            int size = Math.min(INSERT_CHUNK, tickets - offset);
+            String[] ticketNumbers = new String[size];
+            String[] selectedNumbers = new String[size];
+            Long[] masks = new Long[size];
+            Long[] userIds = new Long[size];
+            for (int i = 0; i < size; i++) {
+                long mask = randomLine();
+                ticketNumbers[i] = "CADENCE-" + drawId + "-" + (offset + i);
+                selectedNumbers[i] = NumberUtils.bitmaskToString(mask);
+                masks[i] = mask;
+                userIds[i] = firstUserId + random.nextInt(users);
+            }
+            jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("""
+                        INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, status,
+                                             draw_id, user_id, purchase_timestamp, updated_at)
+                        SELECT t.ticket_number, t.selected_numbers, t.numbers_mask, 10, 'WAITING_FOR_DRAW',
+                               ?, t.user_id, now(), now()
+                        FROM unnest(?, ?, ?, ?) AS t(ticket_number, selected_numbers, numbers_mask, user_id)
+                        ON CONFLICT DO NOTHING
+                        """)) {
+                    statement.setLong(1, drawId);
+                    statement.setArray(2, connection.createArrayOf("varchar", ticketNumbers));
+                    statement.setArray(3, connection.createArrayOf("varchar", selectedNumbers));
+                    statement.setArray(4, connection.createArrayOf("bigint", masks));
+                    statement.setArray(5, connection.createArrayOf("bigint", userIds));
+                    return statement.executeUpdate();
+                }
+            });
+        }
+    }
+
+    private long randomLine() {
+        long mask = 0;
+        while (Long.bitCount(mask) < ExposureLedger.LINE_SIZE) {
+            mask |= 1L << random.nextInt(ExposureLedger.POOL_SIZE);
+        }
+        return mask;
+    }
+}
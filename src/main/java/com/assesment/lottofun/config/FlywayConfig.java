@@ -0,0 +1,28 @@
+package com.assesment.lottofun.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Applies the pending migrations on startup. With {@code lottery.schema.recreate} the schema is dropped
+     * first, which the tests and the load tools use to start from an empty database.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(PrizeRulesConfig prizeRulesConfig) {
+        return flyway -> {
+            if (prizeRulesConfig.getSchema().isRecreate()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .cleanDisabled(false)
+                        .load()
+                        .clean();
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -1,10 +1,13 @@
 package com.assesment.lottofun.config;
 
+import com.assesment.lottofun.entity.PrizeTierType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Component
@@ -14,6 +17,14 @@ public class PrizeRulesConfig {
     private Ticket ticket = new Ticket();
     private Draw draw = new Draw();
     private Prizes prizes = new Prizes();
+    private Purchase purchase = new Purchase();
+    private Scheduler scheduler = new Scheduler();
+    private Events events = new Events();
+    private Cache cache = new Cache();
+    private Profiling profiling = new Profiling();
+    private Health health = new Health();
+    private Schema schema = new Schema();
+    private Partitioning partitioning = new Partitioning();
 
     @Data
     public static class Ticket {
@@ -27,6 +38,15 @@ public class PrizeRulesConfig {
     public static class Draw {
         private Integer frequencyMinutes = 1;
         private Integer processingBatchSize = 1000;
+        private BigDecimal basePrizePool = BigDecimal.valueOf(10_000_000.00);
+        private Rapid rapid = new Rapid();
+    }
+
+    @Data
+    public static class Rapid {
+        private boolean enabled = false;
+        private Integer frequencySeconds = 30;
+        private Integer settlementWorkers = 2;
     }
 
     @Data
@@ -35,6 +55,79 @@ public class PrizeRulesConfig {
         private BigDecimal high = BigDecimal.valueOf(1000.00);
         private BigDecimal medium = BigDecimal.valueOf(100.00);
         private BigDecimal low = BigDecimal.valueOf(10.00);
+        private List<Tier> tiers = new ArrayList<>();
+    }
+
+    @Data
+    public static class Purchase {
+        private boolean groupCommit = false;
+        private String journalDirectory = "/var/lib/lottofun";
+        private Integer journalSlots = 65_536;
+        private Integer batchSize = 500;
+        private Long flushIntervalMillis = 5L;
+        private Long commitTimeoutMillis = 5000L;
+    }
+
+    @Data
+    public static class Scheduler {
+        private Long pollIntervalMillis = 1000L;
+        private Long leaderLockKey = 7_300_001L;
+        private Long closeDrainMillis = 2000L;
+    }
+
+    @Data
+    public static class Events {
+        private Long heartbeatSeconds = 15L;
+        private Long emitterTimeoutMinutes = 30L;
+        private String channel = "lottofun_draw_events";
+        private Integer senderThreads = 4;
+        private Integer subscriberQueueSize = 32;
+        private Long sendTimeoutMillis = 10_000L;
+    }
+
+    @Data
+    public static class Cache {
+        private String channel = "lottofun_cache";
+        private Long notifyIntervalMillis = 20L;
+        private Long userSummaryMaximumSize = 100_000L;
+        private Long userSummaryExpireMinutes = 10L;
+        private Boolean statistics = false;
+    }
+
+    @Data
+    public static class Profiling {
+        private String recordingDirectory = "data/recordings";
+        private Long maxAgeMinutes = 30L;
+        private Long maxSizeMegabytes = 256L;
+    }
+
+    @Data
+    public static class Health {
+        private Long maxFinalizationLagSeconds = 300L;
+        private Long maxSettlementSeconds = 600L;
+        private Integer maxPoolWaiters = 10;
+        private Long maxCacheStalenessSeconds = 30L;
+    }
+
+    @Data
+    public static class Schema {
+        private boolean recreate = false;
+    }
+
+    @Data
+    public static class Partitioning {
+        private Long drawsPerPartition = 100L;
+        private Long drawsAhead = 100L;
+        private Long retentionDays = 365L;
+        private Long archiveIntervalMinutes = 60L;
+    }
+
+    @Data
+    public static class Tier {
+        private Integer matchCount;
+        private PrizeTierType type = PrizeTierType.FIXED;
+        private BigDecimal amount;
+        private BigDecimal poolShare;
     }
 
 }
\ No newline at end of file
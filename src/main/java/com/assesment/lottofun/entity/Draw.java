@@ -6,20 +6,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Data
 @Table(name = "draws")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Draw.CACHE_REGION)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Draw {
 
+    public static final String CACHE_REGION = "draws";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,7 +34,13 @@ public class Draw {
 
     @Column(name = "total_prize_pool", precision = 12, scale = 2)
     @Builder.Default
-    private BigDecimal totalPrizePool = BigDecimal.ZERO;
+    private Money totalPrizePool = Money.ZERO;
+
+    @Column(name = "total_payout", precision = 14, scale = 2)
+    private Money totalPayout;
+
+    @Column(name = "rollover_amount", precision = 12, scale = 2)
+    private Money rolloverAmount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -74,18 +85,38 @@ public class Draw {
         this.status = DrawStatus.DRAW_EXTRACTED;
     }
 
-    public void setAsFinalized() {
+    public void setAsPaymentsProcessing() {
         if (this.status != DrawStatus.DRAW_EXTRACTED) {
-            throw new IllegalStateException("Draw can only be finalized from DRAW_EXTRACTED status, current: " + this.status);
+            throw new IllegalStateException("Draw payments can only start from DRAW_EXTRACTED status, current: " + this.status);
+        }
+        this.status = DrawStatus.PAYMENTS_PROCESSING;
+    }
+
+    public void setAsFinalized() {
+        if (this.status != DrawStatus.PAYMENTS_PROCESSING) {
+            throw new IllegalStateException("Draw can only be finalized from PAYMENTS_PROCESSING status, current: " + this.status);
         }
         this.status = DrawStatus.DRAW_FINALIZED;
         this.prizesDistributedAt = LocalDateTime.now();
     }
+
+    public void recordSettlement(Money totalPayout, Money rolloverAmount) {
+        if (this.status != DrawStatus.PAYMENTS_PROCESSING) {
+            throw new IllegalStateException("Settlement can only be recorded in PAYMENTS_PROCESSING status, current: " + this.status);
+        }
+        this.totalPayout = totalPayout;
+        this.rolloverAmount = rolloverAmount;
+    }
+
     public static Draw createNew(LocalDateTime scheduledDate) {
+        return createNew(scheduledDate, Money.of(10_000_000));
+    }
+
+    public static Draw createNew(LocalDateTime scheduledDate, Money prizePool) {
         Draw draw = new Draw();
         draw.drawDate = scheduledDate;
         draw.status = DrawStatus.DRAW_OPEN;
-        draw.totalPrizePool =  BigDecimal.valueOf(10_000_000.00);
+        draw.totalPrizePool = prizePool;
         return draw;
     }
 
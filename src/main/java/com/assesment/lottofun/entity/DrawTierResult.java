@@ -0,0 +1,45 @@
+package com.assesment.lottofun.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Entity
+@Data
+@Table(name = "draw_tier_results",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_draw_tier",
+                columnNames = {"draw_id", "match_count"}
+        ))
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DrawTierResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "draw_id", nullable = false)
+    private Draw draw;
+
+    @Column(name = "match_count", nullable = false)
+    private Integer matchCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier_type", nullable = false)
+    private PrizeTierType tierType;
+
+    @Column(name = "winner_count", nullable = false)
+    private Long winnerCount;
+
+    @Column(name = "prize_per_winner", nullable = false, precision = 12, scale = 2)
+    private Money prizePerWinner;
+
+    @Column(name = "tier_payout", nullable = false, precision = 14, scale = 2)
+    private Money tierPayout;
+}
@@ -0,0 +1,6 @@
+package com.assesment.lottofun.entity;
+
+public enum PrizeTierType {
+    FIXED,
+    PARI_MUTUEL
+}
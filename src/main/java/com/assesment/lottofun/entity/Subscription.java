@@ -0,0 +1,88 @@
+package com.assesment.lottofun.entity;
+
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.util.NumberUtils;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Entity
+@Data
+@Table(name = "subscriptions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Subscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "selected_numbers", nullable = false)
+    private String selectedNumbers;
+
+    @Column(name = "numbers_mask", nullable = false)
+    private Long numbersMask;
+
+    @Column(name = "price_per_draw", nullable = false, precision = 10, scale = 2)
+    private Money pricePerDraw;
+
+    @Column(name = "total_draws", nullable = false)
+    private Integer totalDraws;
+
+    @Column(name = "draws_remaining", nullable = false)
+    private Integer drawsRemaining;
+
+    @Column(name = "last_draw_id")
+    private Long lastDrawId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private SubscriptionStatus status = SubscriptionStatus.ACTIVE;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void cancel() {
+        if (status == SubscriptionStatus.COMPLETED || status == SubscriptionStatus.CANCELLED) {
+            throw new BusinessException("Subscription is already " + status);
+        }
+        this.status = SubscriptionStatus.CANCELLED;
+    }
+
+    public void resume() {
+        if (status != SubscriptionStatus.SUSPENDED_INSUFFICIENT_BALANCE) {
+            throw new BusinessException("Only suspended subscriptions can be resumed, current: " + status);
+        }
+        this.status = SubscriptionStatus.ACTIVE;
+    }
+
+    public static Subscription createNew(User user, Set<Integer> selectedNumbers, Money pricePerDraw, int draws) {
+        Subscription subscription = new Subscription();
+        subscription.user = user;
+        subscription.selectedNumbers = NumberUtils.numbersToString(selectedNumbers);
+        subscription.numbersMask = NumberUtils.toBitmask(selectedNumbers);
+        subscription.pricePerDraw = pricePerDraw;
+        subscription.totalDraws = draws;
+        subscription.drawsRemaining = draws;
+        subscription.status = SubscriptionStatus.ACTIVE;
+        return subscription;
+    }
+}
@@ -0,0 +1,8 @@
+package com.assesment.lottofun.entity;
+
+public enum SubscriptionStatus {
+    ACTIVE,
+    SUSPENDED_INSUFFICIENT_BALANCE,
+    COMPLETED,
+    CANCELLED
+}
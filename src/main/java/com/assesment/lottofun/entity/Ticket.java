@@ -1,7 +1,8 @@
 package com.assesment.lottofun.entity;
 
 import com.assesment.lottofun.exception.BusinessException;
-import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
+import com.assesment.lottofun.util.CombinationUtils;
 import com.assesment.lottofun.util.NumberUtils;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -9,12 +10,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Entity
 @Data
@@ -38,11 +39,14 @@ public class Ticket {
     @Column(name = "selected_numbers", nullable = false)
     private String selectedNumbers;
 
+    @Column(name = "numbers_mask")
+    private Long numbersMask;
+
     @Column(name = "purchase_price", nullable = false, precision = 8, scale = 2)
-    private BigDecimal purchasePrice;
+    private Money purchasePrice;
 
     @Column(name = "prize_amount", precision = 10, scale = 2)
-    private BigDecimal prizeAmount;
+    private Money prizeAmount;
 
     @Column(name = "match_count")
     private Integer matchCount;
@@ -61,17 +65,33 @@ public class Ticket {
     private LocalDateTime updatedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "draw_id")
+    @JoinColumn(name = "draw_id", nullable = false)
     private Draw draw;
 
+    // tickets is partitioned by draw_id; Hibernate adds it to updates so they only touch one partition.
+    @PartitionKey
+    @Column(name = "draw_id", insertable = false, updatable = false)
+    private Long drawId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id")
+    private Subscription subscription;
+
     @PrePersist
     private void generateTicketNumber() {
-        this.ticketNumber = "TKT-" + System.currentTimeMillis() + "-" +
-                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        this.ticketNumber = ticketNumber(draw.getId(), System.currentTimeMillis(), ThreadLocalRandom.current().nextInt());
+    }
+
+    /**
+     * Ticket numbers are only unique per draw in the database ({@code (ticket_number, draw_id)}, as the
+     * partition key must be part of it), so they start with the draw id to stay unique across draws.
+     */
+    public static String ticketNumber(long drawId, long issuedAtMillis, int suffix) {
+        return "TKT-" + drawId + "-" + issuedAtMillis + "-" + String.format("%08X", suffix);
     }
 
     public void setAsClaimed() {
@@ -85,13 +105,28 @@ public class Ticket {
         return this.status == TicketStatus.WON;
     }
 
-    public void calculateResult(String winningNumbers) {
+    /**
+     * Scores the ticket with the prizes of its draw's settlement, which splits pari-mutuel tiers between
+     * all winners of the draw.
+     */
+    public void calculateResult(String winningNumbers, DrawSettlement settlement) {
         if (this.status != TicketStatus.WAITING_FOR_DRAW) {
             throw new IllegalStateException("Ticket can only be marked as extracted from WAITING_FOR_DRAW status, current: " + this.status);
         }
+        int picked = getPickedCount();
         this.matchCount = getMatchCount(winningNumbers);
-        this.status = matchCount >= 2 ? TicketStatus.WON : TicketStatus.NOT_WON;
-        this.prizeAmount = PrizeRules.getPrize(matchCount);
+        this.status = settlement.statusFor(picked, matchCount);
+        this.prizeAmount = settlement.prizeFor(picked, matchCount);
+    }
+
+    public long getLineCount() {
+        return CombinationUtils.binomial(getPickedCount(), NumberUtils.LINE_NUMBER_COUNT);
+    }
+
+    private int getPickedCount() {
+        return numbersMask != null
+                ? Long.bitCount(numbersMask)
+                : NumberUtils.stringToNumbers(selectedNumbers).size();
     }
 
     private int getMatchCount(String winningNumbers) {
@@ -106,13 +141,15 @@ public class Ticket {
             User user,
             Draw draw,
             Set<Integer> selectedNumbers,
-            BigDecimal purchasePrice
+            Money purchasePrice
     ) {
         Ticket ticket = new Ticket();
         ticket.selectedNumbers = NumberUtils.numbersToString(selectedNumbers);
+        ticket.numbersMask = NumberUtils.toBitmask(selectedNumbers);
         ticket.purchasePrice = purchasePrice;
         ticket.status = TicketStatus.WAITING_FOR_DRAW;
         ticket.draw = draw;
+        ticket.drawId = draw.getId();
         ticket.user = user;
         return ticket;
     }
@@ -9,7 +9,6 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
@@ -41,7 +40,7 @@ public class User {
 
     @Column(nullable = false, precision = 10, scale = 2)
     @Builder.Default
-    private BigDecimal balance = BigDecimal.valueOf(1000.00);
+    private Money balance = Money.of(1000);
 
     @CreationTimestamp
     @Column(name = "created_at")
@@ -54,19 +53,19 @@ public class User {
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<Ticket> tickets;
 
-    public boolean hasSufficientBalance(BigDecimal amount) {
-        return balance.compareTo(amount) >= 0;
+    public boolean hasSufficientBalance(Money amount) {
+        return balance.isGreaterThanOrEqual(amount);
     }
 
-    public void deductBalance(BigDecimal amount) {
+    public void deductBalance(Money amount) {
         if (!hasSufficientBalance(amount)) {
             throw new IllegalArgumentException("Insufficient balance");
         }
-        this.balance = this.balance.subtract(amount);
+        this.balance = this.balance.minus(amount);
     }
 
-    public void addBalance(BigDecimal amount) {
-        this.balance = this.balance.add(amount);
+    public void addBalance(Money amount) {
+        this.balance = this.balance.plus(amount);
     }
 
     public boolean hasTicketAlready(Long drawId, Set<Integer> selectedNumbers) {
@@ -0,0 +1,29 @@
+package com.assesment.lottofun.infrastructure.configuration;
+
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class FixedPrizeTier implements PrizeTier {
+
+    private final int matchCount;
+    private final Money amount;
+
+    @Override
+    public PrizeTierType getType() {
+        return PrizeTierType.FIXED;
+    }
+
+    @Override
+    public Money prizePerWinner(long winners, Money prizePool) {
+        return amount;
+    }
+
+    @Override
+    public Money poolAllocation(Money prizePool) {
+        return Money.ZERO;
+    }
+}
@@ -0,0 +1,34 @@
+package com.assesment.lottofun.infrastructure.configuration;
+
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@RequiredArgsConstructor
+public class PariMutuelPrizeTier implements PrizeTier {
+
+    private final int matchCount;
+    private final BigDecimal poolShare;
+
+    @Override
+    public PrizeTierType getType() {
+        return PrizeTierType.PARI_MUTUEL;
+    }
+
+    @Override
+    public Money prizePerWinner(long winners, Money prizePool) {
+        if (winners <= 0) {
+            return Money.ZERO;
+        }
+        return poolAllocation(prizePool).dividedBy(winners);
+    }
+
+    @Override
+    public Money poolAllocation(Money prizePool) {
+        return prizePool.times(poolShare);
+    }
+}
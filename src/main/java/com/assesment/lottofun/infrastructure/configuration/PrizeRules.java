@@ -1,32 +1,65 @@
 package com.assesment.lottofun.infrastructure.configuration;
 
 import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @Component
 public class PrizeRules {
 
-    private static Map<Integer, BigDecimal> staticPrizeMap;
-
+    private final List<PrizeTier> tiers;
+    private final Money ticketPrice;
 
     public PrizeRules(PrizeRulesConfig prizeRulesConfig) {
-        initStaticMap(prizeRulesConfig.getPrizes());
+        this.tiers = buildTiers(prizeRulesConfig.getPrizes());
+        this.ticketPrice = Money.of(prizeRulesConfig.getTicket().getPrice());
+    }
+
+    private List<PrizeTier> buildTiers(PrizeRulesConfig.Prizes prizes) {
+        List<PrizeTier> configured = new ArrayList<>();
+
+        if (prizes.getTiers().isEmpty()) {
+            configured.add(new FixedPrizeTier(5, Money.of(prizes.getJackpot())));
+            configured.add(new FixedPrizeTier(4, Money.of(prizes.getHigh())));
+            configured.add(new FixedPrizeTier(3, Money.of(prizes.getMedium())));
+            configured.add(new FixedPrizeTier(2, Money.of(prizes.getLow())));
+        } else {
+            for (PrizeRulesConfig.Tier tier : prizes.getTiers()) {
+                configured.add(createTier(tier));
+            }
+        }
+
+        configured.sort(Comparator.comparingInt(PrizeTier::getMatchCount).reversed());
+        return List.copyOf(configured);
+    }
+
+    private PrizeTier createTier(PrizeRulesConfig.Tier tier) {
+        if (tier.getMatchCount() == null) {
+            throw new IllegalStateException("Prize tier match count must be configured");
+        }
+        if (tier.getType() == PrizeTierType.PARI_MUTUEL) {
+            if (tier.getPoolShare() == null) {
+                throw new IllegalStateException("Pari-mutuel tier " + tier.getMatchCount() + " requires a pool share");
+            }
+            return new PariMutuelPrizeTier(tier.getMatchCount(), tier.getPoolShare());
+        }
+        if (tier.getAmount() == null) {
+            throw new IllegalStateException("Fixed tier " + tier.getMatchCount() + " requires an amount");
+        }
+        return new FixedPrizeTier(tier.getMatchCount(), Money.of(tier.getAmount()));
     }
 
-    private void initStaticMap(PrizeRulesConfig.Prizes prizes) {
-        staticPrizeMap = Map.of(
-                5, prizes.getJackpot(),
-                4, prizes.getHigh(),
-                3, prizes.getMedium(),
-                2, prizes.getLow()
-        );
+    public List<PrizeTier> getTiers() {
+        return tiers;
     }
 
-    public static BigDecimal getPrize(int matchCount) {
-        return staticPrizeMap.getOrDefault(matchCount, BigDecimal.ZERO);
+    public Money getTicketPrice() {
+        return ticketPrice;
     }
 
 }
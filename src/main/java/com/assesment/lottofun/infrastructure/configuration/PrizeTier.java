@@ -0,0 +1,19 @@
+package com.assesment.lottofun.infrastructure.configuration;
+
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+
+public interface PrizeTier {
+
+    int getMatchCount();
+
+    PrizeTierType getType();
+
+    Money prizePerWinner(long winners, Money prizePool);
+
+    Money poolAllocation(Money prizePool);
+
+    default Money tierPayout(long winners, Money prizePool) {
+        return prizePerWinner(winners, prizePool).times(winners);
+    }
+}
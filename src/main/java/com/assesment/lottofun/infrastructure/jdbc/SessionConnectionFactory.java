@@ -0,0 +1,38 @@
+package com.assesment.lottofun.infrastructure.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens physical connections outside the Hikari pool for sessions that live as long as the node, such as
+ * the scheduler advisory lock and the cache LISTEN. Holding those on pooled connections would take them
+ * away from request handling for good. Closing a connection ends its session.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionConnectionFactory {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile SimpleDriverDataSource dataSource;
+
+    public Connection open() throws SQLException {
+        return dataSource().getConnection();
+    }
+
+    private SimpleDriverDataSource dataSource() {
+        SimpleDriverDataSource current = dataSource;
+        if (current == null) {
+            current = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(SimpleDriverDataSource.class)
+                    .build();
+            dataSource = current;
+        }
+        return current;
+    }
+}
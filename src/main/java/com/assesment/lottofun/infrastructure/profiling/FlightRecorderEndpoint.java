@@ -0,0 +1,138 @@
+package com.assesment.lottofun.infrastructure.profiling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, dumps and stops named Java Flight Recorder recordings at {@code /actuator/jfr}. Recordings keep
+ * the last {@code lottery.profiling.maxAgeMinutes} of data, so one can be left running and dumped after a
+ * slow settlement. Dumps are written to {@code lottery.profiling.recordingDirectory} and kept there.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        recordings.forEach((name, recording) -> result.put(name, describe(recording)));
+        return result;
+    }
+
+    /**
+     * @param settings a JDK settings name: {@code default} (about 1% overhead) or {@code profile}
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Selector String name, @Nullable String settings) {
+        if (recordings.containsKey(name)) {
+            return new WebEndpointResponse<>(describe(recordings.get(name)), HttpStatus.CONFLICT.value());
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? DEFAULT_SETTINGS : settings);
+        } catch (IOException | ParseException ex) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown settings: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        PrizeRulesConfig.Profiling config = prizeRulesConfig.getProfiling();
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(config.getMaxAgeMinutes()));
+        recording.setMaxSize(config.getMaxSizeMegabytes() * 1024 * 1024);
+        recording.enable(SettlementBatchEvent.class);
+        recording.enable(TicketPurchaseEvent.class);
+        recording.enable(JwtAuthenticationEvent.class);
+        recording.start();
+        recordings.put(name, recording);
+
+        log.info("Started flight recording {} with {} settings", name, configuration.getName());
+        return new WebEndpointResponse<>(describe(recording));
+    }
+
+    /**
+     * Writes what the recording holds so far to a file and returns it; the recording keeps running.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) throws IOException {
+        Recording recording = recordings.get(name);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(dumpToFile(recording)));
+    }
+
+    /**
+     * Stops the recording and writes it to a file; returns the file's path.
+     */
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop(@Selector String name) throws IOException {
+        Recording recording = recordings.remove(name);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        try {
+            recording.stop();
+            Path file = dumpToFile(recording);
+            log.info("Stopped flight recording {}, written to {}", name, file);
+            return new WebEndpointResponse<>(Map.of("file", file.toAbsolutePath().toString()));
+        } finally {
+            recording.close();
+        }
+    }
+
+    private Path dumpToFile(Recording recording) throws IOException {
+        Path directory = Paths.get(prizeRulesConfig.getProfiling().getRecordingDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve(recording.getName() + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("state", recording.getState());
+        description.put("startTime", recording.getStartTime());
+        description.put("maxAge", recording.getMaxAge());
+        description.put("size", recording.getSize());
+        return description;
+    }
+}
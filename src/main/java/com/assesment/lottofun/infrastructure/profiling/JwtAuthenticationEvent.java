@@ -0,0 +1,42 @@
+package com.assesment.lottofun.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("lottofun.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"LottoFun", "Security"})
+@Description("Bearer token check of one request: token parsing and validation, and loading the user")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Authenticated")
+    private boolean authenticated;
+
+    @Label("Token Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long tokenTime;
+
+    @Label("User Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long userLoadTime;
+
+    public void commit(String path, boolean authenticated, long tokenNanos, long userLoadNanos) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.path = path;
+        this.authenticated = authenticated;
+        this.tokenTime = tokenNanos;
+        this.userLoadTime = userLoadNanos;
+        commit();
+    }
+}
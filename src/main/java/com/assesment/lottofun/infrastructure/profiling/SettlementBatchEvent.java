@@ -0,0 +1,50 @@
+package com.assesment.lottofun.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One keyset batch of a draw settlement, split into reading the tickets, scoring them and writing the results.
+ */
+@Name("lottofun.SettlementBatch")
+@Label("Settlement Batch")
+@Category({"LottoFun", "Settlement"})
+@Description("Tickets of one settlement batch read, scored and written back")
+@StackTrace(false)
+public class SettlementBatchEvent extends Event {
+
+    @Label("Draw Id")
+    private long drawId;
+
+    @Label("Tickets")
+    private int tickets;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long fetchTime;
+
+    @Label("Scoring Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long scoringTime;
+
+    @Label("Apply Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long applyTime;
+
+    public void commit(long drawId, int tickets, long fetchNanos, long scoringNanos, long applyNanos) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.drawId = drawId;
+        this.tickets = tickets;
+        this.fetchTime = fetchNanos;
+        this.scoringTime = scoringNanos;
+        this.applyTime = applyNanos;
+        commit();
+    }
+}
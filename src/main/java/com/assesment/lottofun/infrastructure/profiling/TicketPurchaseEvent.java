@@ -0,0 +1,40 @@
+package com.assesment.lottofun.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("lottofun.TicketPurchase")
+@Label("Ticket Purchase")
+@Category({"LottoFun", "Purchase"})
+@Description("A ticket purchase, up to but not including its commit")
+@StackTrace(false)
+public class TicketPurchaseEvent extends Event {
+
+    @Label("Draw Id")
+    private long drawId;
+
+    @Label("Lines")
+    private long lineCount;
+
+    @Label("Group Commit")
+    private boolean groupCommit;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception the purchase failed with")
+    private String outcome;
+
+    public void commit(Long drawId, Long lineCount, boolean groupCommit, RuntimeException failure) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.drawId = drawId == null ? 0 : drawId;
+        this.lineCount = lineCount == null ? 0 : lineCount;
+        this.groupCommit = groupCommit;
+        this.outcome = failure == null ? "success" : failure.getClass().getSimpleName();
+        commit();
+    }
+}
@@ -4,12 +4,16 @@ import com.assesment.lottofun.entity.Draw;
 import com.assesment.lottofun.entity.DrawStatus;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +21,33 @@ import java.util.Optional;
 @Repository
 public interface DrawRepository extends JpaRepository<Draw, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Draw> findFirstByStatusOrderByDrawDateAsc(DrawStatus status);
 
+    Optional<Draw> findFirstByStatusAndDrawDateLessThanEqualOrderByDrawDateAsc(DrawStatus status, LocalDateTime drawDate);
+
+    List<Draw> findByStatusInOrderByDrawDateAsc(List<DrawStatus> statuses, Pageable pageable);
+
+    Optional<Draw> findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(List<DrawStatus> statuses, LocalDateTime drawDate);
+
+    /**
+     * Waits for purchases holding the {@link #lockStatusForPurchase} fence instead of failing fast.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Draw d WHERE d.status = :status AND d.drawDate <= :now ORDER BY d.drawDate ASC LIMIT 1")
+    Optional<Draw> getLockDueDraw(DrawStatus status, LocalDateTime now);
+
+    @Query(value = "SELECT status FROM draws WHERE id = :id FOR SHARE", nativeQuery = true)
+    String lockStatusForPurchase(Long id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value = "0")})
-    @Query("SELECT d FROM Draw d WHERE d.status = :status ORDER BY d.drawDate ASC")
-    Optional<Draw> getLockDraw(DrawStatus status);
+    @Query("SELECT d FROM Draw d WHERE d.id = :id")
+    Optional<Draw> getLockDrawById(Long id);
+
+    @Modifying
+    @Query(value = "UPDATE draws SET total_prize_pool = total_prize_pool + :amount WHERE status = 'DRAW_OPEN'",
+            nativeQuery = true)
+    int addToOpenDrawPrizePool(BigDecimal amount);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.DrawTierResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DrawTierResultRepository extends JpaRepository<DrawTierResult, Long> {
+
+    @Query("SELECT r FROM DrawTierResult r WHERE r.draw.id IN :drawIds ORDER BY r.matchCount DESC")
+    List<DrawTierResult> findByDrawIds(@Param("drawIds") Collection<Long> drawIds);
+}
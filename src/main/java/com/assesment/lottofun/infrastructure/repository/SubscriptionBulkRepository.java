@@ -0,0 +1,105 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.SubscriptionStatus;
+import com.assesment.lottofun.entity.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SubscriptionBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Generates the draw's tickets of every due subscription in a single statement. The subscribers are
+     * locked first; per user and in creation order, a subscription is played while the balance covers it
+     * together with the user's earlier subscriptions, and suspended otherwise. Every subscriber is debited
+     * once for the sum of their tickets and the subscription counters are advanced.
+     *
+     * @return the tickets generated and subscriptions suspended per subscriber
+     */
+    public List<GeneratedTickets> generateTickets(Long drawId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query("""
+                        WITH due AS (
+                            SELECT s.id, s.user_id, s.selected_numbers, s.numbers_mask, s.price_per_draw
+                            FROM subscriptions s
+                            WHERE s.status = ? AND s.draws_remaining > 0
+                              AND (s.last_draw_id IS NULL OR s.last_draw_id < ?)
+                        ),
+                        payers AS (
+                            SELECT u.id, u.balance
+                            FROM users u
+                            WHERE u.id IN (SELECT user_id FROM due)
+                            ORDER BY u.id
+                            FOR UPDATE
+                        ),
+                        charged AS (
+                            SELECT d.*,
+                                   SUM(d.price_per_draw) OVER (PARTITION BY d.user_id ORDER BY d.id) <= p.balance
+                                       AS affordable
+                            FROM due d
+                            JOIN payers p ON p.id = d.user_id
+                        ),
+                        generated AS (
+                            INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, status,
+                                                 draw_id, user_id, subscription_id, purchase_timestamp, updated_at)
+                            SELECT 'TKT-SUB-' || ? || '-' || c.id, c.selected_numbers, c.numbers_mask, c.price_per_draw,
+                                   ?, ?, c.user_id, c.id, ?, ?
+                            FROM charged c
+                            WHERE c.affordable
+                            ON CONFLICT DO NOTHING
+                            RETURNING user_id, subscription_id, purchase_price
+                        ),
+                        debits AS (
+                            UPDATE users u
+                            SET balance = u.balance - d.total, updated_at = ?
+                            FROM (SELECT user_id, SUM(purchase_price) AS total FROM generated GROUP BY user_id) d
+                            WHERE u.id = d.user_id
+                        ),
+                        advanced AS (
+                            UPDATE subscriptions s
+                            SET draws_remaining = s.draws_remaining - 1,
+                                last_draw_id = ?,
+                                status = CASE WHEN s.draws_remaining - 1 = 0 THEN ? ELSE s.status END,
+                                updated_at = ?
+                            FROM generated g
+                            WHERE s.id = g.subscription_id
+                        ),
+                        suspended AS (
+                            UPDATE subscriptions s
+                            SET status = ?, updated_at = ?
+                            FROM charged c
+                            WHERE s.id = c.id AND NOT c.affordable
+                            RETURNING s.user_id
+                        )
+                        SELECT user_id, SUM(tickets) AS tickets, SUM(suspended) AS suspended
+                        FROM (SELECT user_id, 1 AS tickets, 0 AS suspended FROM generated
+                              UNION ALL
+                              SELECT user_id, 0, 1 FROM suspended) r
+                        GROUP BY user_id
+                        """,
+                (rs, rowNum) -> new GeneratedTickets(rs.getLong("user_id"), rs.getInt("tickets"), rs.getInt("suspended")),
+                SubscriptionStatus.ACTIVE.name(), drawId,
+                drawId, TicketStatus.WAITING_FOR_DRAW.name(), drawId, now, now,
+                now,
+                drawId, SubscriptionStatus.COMPLETED.name(), now,
+                SubscriptionStatus.SUSPENDED_INSUFFICIENT_BALANCE.name(), now);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class GeneratedTickets {
+        private final long userId;
+        private final int tickets;
+        private final int suspended;
+    }
+}
@@ -0,0 +1,20 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.Subscription;
+import com.assesment.lottofun.entity.SubscriptionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+
+    List<Subscription> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    Optional<Subscription> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndNumbersMaskAndStatusIn(Long userId, Long numbersMask, Collection<SubscriptionStatus> statuses);
+}
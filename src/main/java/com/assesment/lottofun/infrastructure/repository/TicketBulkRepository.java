@@ -0,0 +1,224 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.service.purchase.JournaledPurchase;
+import com.assesment.lottofun.service.purchase.PurchaseOutcome;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TicketBulkRepository {
+
+    private static final int MAX_MATCHES = NumberUtils.LINE_NUMBER_COUNT;
+    private static final int MAX_PICKED = NumberUtils.MAX_SYSTEM_NUMBER_COUNT;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long[][] countByPickedAndMatches(Long drawId, long winningMask) {
+        long[][] ticketsByPickedAndMatch = new long[MAX_PICKED + 1][MAX_MATCHES + 1];
+        jdbcTemplate.query("""
+                        SELECT bit_count(CAST(numbers_mask AS bit(64))) AS picked,
+                               bit_count(CAST(numbers_mask & ? AS bit(64))) AS matches,
+                               COUNT(*) AS tickets
+                        FROM tickets
+                        WHERE draw_id = ? AND status = ?
+                        GROUP BY picked, matches
+                        """,
+                rs -> {
+                    ticketsByPickedAndMatch[rs.getInt("picked")][rs.getInt("matches")] += rs.getLong("tickets");
+                },
+                winningMask, drawId, TicketStatus.WAITING_FOR_DRAW.name());
+        return ticketsByPickedAndMatch;
+    }
+
+    public List<UnsettledTicket> findUnsettled(Long drawId, long afterId, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, user_id, numbers_mask
+                        FROM tickets
+                        WHERE draw_id = ? AND status = ? AND id > ?
+                        ORDER BY id
+                        LIMIT ?
+                        """,
+                (rs, rowNum) -> new UnsettledTicket(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("numbers_mask")),
+                drawId, TicketStatus.WAITING_FOR_DRAW.name(), afterId, limit);
+    }
+
+    /**
+     * The draw id confines each update to the draw's partition of {@code tickets}. The status matches the
+     * whole (draw_id, status, id) index: with draw_id and id alone the planner may pick that index and walk
+     * every entry of the draw for each row.
+     */
+    public void applyResults(Long drawId, List<TicketResult> results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                        UPDATE tickets
+                        SET match_count = ?, status = ?, prize_amount = ?, updated_at = ?
+                        WHERE id = ? AND draw_id = ? AND status = ?
+                        """,
+                results, results.size(),
+                (ps, result) -> {
+                    ps.setInt(1, result.getMatchCount());
+                    ps.setString(2, result.getStatus().name());
+                    ps.setBigDecimal(3, result.getPrizeAmount().toBigDecimal());
+                    ps.setTimestamp(4, now);
+                    ps.setLong(5, result.getTicketId());
+                    ps.setLong(6, drawId);
+                    ps.setString(7, TicketStatus.WAITING_FOR_DRAW.name());
+                });
+    }
+
+    /**
+     * Inserts a batch of journaled purchases with one multi-row insert and debits every buyer once for the
+     * tickets actually inserted. The buyers are locked first and a purchase is only inserted while the
+     * buyer's balance covers it together with the buyer's earlier purchases in the batch that are inserted,
+     * so concurrent batches and purchases on other nodes cannot overdraw a balance. Purchases whose draw is
+     * no longer open, that repeat an earlier line or ticket number (in the batch or already stored, e.g. on
+     * replay) or that the remaining balance does not cover are skipped without a debit, and do not count
+     * against the purchases behind them.
+     *
+     * @return the outcome of each purchase, in the order of {@code purchases}
+     */
+    public List<PurchaseOutcome> insertJournaled(List<JournaledPurchase> purchases) {
+        int size = purchases.size();
+        Object[] ticketNumbers = new Object[size];
+        Object[] selectedNumbers = new Object[size];
+        Object[] numbersMasks = new Object[size];
+        Object[] prices = new Object[size];
+        Object[] drawIds = new Object[size];
+        Object[] userIds = new Object[size];
+        Object[] purchasedAt = new Object[size];
+        for (int i = 0; i < size; i++) {
+            JournaledPurchase purchase = purchases.get(i);
+            ticketNumbers[i] = purchase.getTicketNumber();
+            selectedNumbers[i] = NumberUtils.bitmaskToString(purchase.getNumbersMask());
+            numbersMasks[i] = purchase.getNumbersMask();
+            prices[i] = Money.ofCents(purchase.getPriceCents()).toBigDecimal();
+            drawIds[i] = purchase.getDrawId();
+            userIds[i] = purchase.getUserId();
+            purchasedAt[i] = new Timestamp(purchase.getPurchasedAtMillis());
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    WITH RECURSIVE batch AS (
+                        SELECT *
+                        FROM unnest(?, ?, ?, ?, ?, ?, ?) WITH ORDINALITY
+                             AS b(ticket_number, selected_numbers, numbers_mask, price, draw_id, user_id, purchased_at,
+                                  position)
+                    ),
+                    buyers AS (
+                        SELECT u.id, u.balance
+                        FROM users u
+                        WHERE u.id IN (SELECT user_id FROM batch)
+                        ORDER BY u.id
+                        FOR UPDATE
+                    ),
+                    open_lines AS (
+                        SELECT b.*,
+                               row_number() OVER (PARTITION BY b.user_id, b.draw_id, b.selected_numbers
+                                                  ORDER BY b.position) AS line_rank,
+                               row_number() OVER (PARTITION BY b.ticket_number, b.draw_id
+                                                  ORDER BY b.position) AS number_rank
+                        FROM batch b
+                        JOIN draws d ON d.id = b.draw_id AND d.status = ?
+                        JOIN buyers u ON u.id = b.user_id
+                    ),
+                    candidates AS (
+                        SELECT o.*, row_number() OVER (PARTITION BY o.user_id ORDER BY o.position) AS step
+                        FROM open_lines o
+                        WHERE o.line_rank = 1
+                          AND o.number_rank = 1
+                          AND NOT EXISTS (SELECT 1 FROM tickets t
+                                          WHERE t.user_id = o.user_id AND t.draw_id = o.draw_id
+                                            AND t.selected_numbers = o.selected_numbers)
+                          AND NOT EXISTS (SELECT 1 FROM tickets t
+                                          WHERE t.ticket_number = o.ticket_number AND t.draw_id = o.draw_id)
+                    ),
+                    charged (position, user_id, step, affordable, remaining) AS (
+                        SELECT c.position, c.user_id, c.step, c.price <= u.balance,
+                               CASE WHEN c.price <= u.balance THEN u.balance - c.price ELSE u.balance END::numeric
+                        FROM candidates c
+                        JOIN buyers u ON u.id = c.user_id
+                        WHERE c.step = 1
+                        UNION ALL
+                        SELECT c.position, c.user_id, c.step, c.price <= p.remaining,
+                               CASE WHEN c.price <= p.remaining THEN p.remaining - c.price ELSE p.remaining END
+                        FROM charged p
+                        JOIN candidates c ON c.user_id = p.user_id AND c.step = p.step + 1
+                    ),
+                    inserted AS (
+                        INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, status,
+                                             draw_id, user_id, purchase_timestamp, updated_at)
+                        SELECT c.ticket_number, c.selected_numbers, c.numbers_mask, c.price, ?,
+                               c.draw_id, c.user_id, c.purchased_at, c.purchased_at
+                        FROM candidates c
+                        JOIN charged p ON p.position = c.position
+                        WHERE p.affordable
+                        ON CONFLICT DO NOTHING
+                        RETURNING ticket_number, user_id, numbers_mask, purchase_price
+                    ),
+                    debits AS (
+                        UPDATE users u
+                        SET balance = u.balance - d.total
+                        FROM (SELECT user_id, SUM(purchase_price) AS total FROM inserted GROUP BY user_id) d
+                        WHERE u.id = d.user_id
+                    )
+                    SELECT CASE
+                               WHEN i.ticket_number IS NOT NULL THEN ?
+                               WHEN o.position IS NULL THEN ?
+                               WHEN NOT p.affordable THEN ?
+                               ELSE ?
+                           END AS outcome
+                    FROM batch b
+                    LEFT JOIN open_lines o ON o.position = b.position
+                    LEFT JOIN charged p ON p.position = b.position
+                    LEFT JOIN inserted i ON i.ticket_number = b.ticket_number
+                                        AND i.user_id = b.user_id AND i.numbers_mask = b.numbers_mask
+                    ORDER BY b.position
+                    """);
+            ps.setArray(1, connection.createArrayOf("varchar", ticketNumbers));
+            ps.setArray(2, connection.createArrayOf("varchar", selectedNumbers));
+            ps.setArray(3, connection.createArrayOf("bigint", numbersMasks));
+            ps.setArray(4, connection.createArrayOf("numeric", prices));
+            ps.setArray(5, connection.createArrayOf("bigint", drawIds));
+            ps.setArray(6, connection.createArrayOf("bigint", userIds));
+            ps.setArray(7, connection.createArrayOf("timestamp", purchasedAt));
+            ps.setString(8, DrawStatus.DRAW_OPEN.name());
+            ps.setString(9, TicketStatus.WAITING_FOR_DRAW.name());
+            ps.setString(10, PurchaseOutcome.STORED.name());
+            ps.setString(11, PurchaseOutcome.DRAW_CLOSED.name());
+            ps.setString(12, PurchaseOutcome.INSUFFICIENT_BALANCE.name());
+            ps.setString(13, PurchaseOutcome.DUPLICATE.name());
+            return ps;
+        }, (rs, rowNum) -> PurchaseOutcome.valueOf(rs.getString("outcome")));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UnsettledTicket {
+        private final long id;
+        private final long userId;
+        private final long numbersMask;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TicketResult {
+        private final long ticketId;
+        private final int matchCount;
+        private final TicketStatus status;
+        private final Money prizeAmount;
+    }
+}
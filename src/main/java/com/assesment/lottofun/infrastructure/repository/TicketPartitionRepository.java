@@ -0,0 +1,115 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Range partitions of the {@code tickets} table by draw id. A partition covering {@code [from, to)} is named
+ * {@code tickets_<from>}; archived partitions keep their name in the {@value #ARCHIVE_SCHEMA} schema.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketPartitionRepository {
+
+    public static final String ARCHIVE_SCHEMA = "ticket_archive";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('?(-?\\d+)'?\\) TO \\('?(-?\\d+)'?\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TicketPartition> findAttached() {
+        return jdbcTemplate.query("""
+                        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound, i.inhdetachpending
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'tickets'::regclass
+                        """,
+                (rs, rowNum) -> {
+                    Matcher bound = RANGE_BOUND.matcher(rs.getString("bound"));
+                    if (!bound.find()) {
+                        throw new IllegalStateException("Unexpected bound of ticket partition " + rs.getString("relname"));
+                    }
+                    return new TicketPartition(rs.getString("relname"),
+                            Long.parseLong(bound.group(1)), Long.parseLong(bound.group(2)),
+                            rs.getBoolean("inhdetachpending"));
+                })
+                .stream()
+                .sorted((a, b) -> Long.compare(a.getFromDrawId(), b.getFromDrawId()))
+                .toList();
+    }
+
+    public long findLatestDrawId() {
+        Long latest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM draws", Long.class);
+        return latest == null ? 0 : latest;
+    }
+
+    /**
+     * Creates the partition as a standalone table and attaches it. The attach takes SHARE UPDATE EXCLUSIVE on
+     * {@code tickets}, so ticket reads and writes go on, unlike {@code CREATE TABLE ... PARTITION OF}. It still
+     * adds the foreign keys of {@code tickets} to the partition, which takes SHARE ROW EXCLUSIVE on
+     * {@code users}, {@code draws} and {@code subscriptions} and so blocks balance, draw and subscription
+     * updates until the surrounding transaction ends; run it in a transaction of its own.
+     */
+    public void create(long fromDrawId, long toDrawId) {
+        String name = partitionName(fromDrawId);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name
+                + " (LIKE tickets INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.execute("ALTER TABLE tickets ATTACH PARTITION " + name
+                + " FOR VALUES FROM (" + fromDrawId + ") TO (" + toDrawId + ")");
+    }
+
+    /**
+     * @return whether no draw can be added to the partition any more, every draw in it was finalized before
+     * {@code finalizedBefore} and none of its tickets holds an unclaimed prize
+     */
+    public boolean isExpired(TicketPartition partition, LocalDateTime finalizedBefore) {
+        Boolean expired = jdbcTemplate.queryForObject("""
+                        SELECT EXISTS (SELECT 1 FROM draws WHERE id >= ?)
+                           AND NOT EXISTS (SELECT 1 FROM draws
+                                           WHERE id >= ? AND id < ? AND (status <> ? OR draw_date >= ?))
+                           AND NOT EXISTS (SELECT 1 FROM tickets
+                                           WHERE draw_id >= ? AND draw_id < ? AND status = ?)
+                        """,
+                Boolean.class,
+                partition.getToDrawId(),
+                partition.getFromDrawId(), partition.getToDrawId(), DrawStatus.DRAW_FINALIZED.name(),
+                Timestamp.valueOf(finalizedBefore),
+                partition.getFromDrawId(), partition.getToDrawId(), TicketStatus.WON.name());
+        return Boolean.TRUE.equals(expired);
+    }
+
+    /**
+     * Detaches the partition without blocking queries on {@code tickets} and moves it to the archive schema.
+     * {@code DETACH ... CONCURRENTLY} cannot run inside a transaction, so callers must not hold one. A detach
+     * that was interrupted is finalized instead.
+     */
+    public void archive(TicketPartition partition) {
+        jdbcTemplate.execute("ALTER TABLE tickets DETACH PARTITION " + partition.getName()
+                + (partition.isDetachPending() ? " FINALIZE" : " CONCURRENTLY"));
+        jdbcTemplate.execute("ALTER TABLE " + partition.getName() + " SET SCHEMA " + ARCHIVE_SCHEMA);
+    }
+
+    public static String partitionName(long fromDrawId) {
+        return "tickets_" + fromDrawId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TicketPartition {
+        private final String name;
+        private final long fromDrawId;
+        private final long toDrawId;
+        private final boolean detachPending;
+    }
+}
@@ -1,16 +1,21 @@
 package com.assesment.lottofun.infrastructure.repository;
 
+import com.assesment.lottofun.entity.DrawStatus;
 import com.assesment.lottofun.entity.Ticket;
 import com.assesment.lottofun.entity.TicketStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -18,4 +23,28 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     Page<Ticket> findByDrawIdAndStatus(Long drawId, TicketStatus status, Pageable pageable);
 
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.draw WHERE t.id = :id AND t.user.email = :email")
+    Optional<Ticket> findByIdAndUserEmail(@Param("id") Long id, @Param("email") String email);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.draw WHERE t.user.email = :email AND t.draw.id = :drawId")
+    List<Ticket> findByUserEmailAndDrawId(@Param("email") String email, @Param("drawId") Long drawId);
+
+    @Query(value = "SELECT t FROM Ticket t JOIN FETCH t.draw WHERE t.user.email = :email ORDER BY t.purchaseTimestamp DESC",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.user.email = :email")
+    Page<Ticket> findByUserEmailOrderByPurchaseTimestampDesc(@Param("email") String email, Pageable pageable);
+
+    // The status is a literal so the planner can match the partial index on won tickets.
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.draw WHERE t.user.email = :email " +
+            "AND t.status = com.assesment.lottofun.entity.TicketStatus.WON ORDER BY t.purchaseTimestamp DESC")
+    List<Ticket> findWonByUserEmail(@Param("email") String email);
+
+    long countByDrawStatusInAndStatus(Collection<DrawStatus> drawStatuses, TicketStatus status);
+
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "10000")})
+    @Query("SELECT t.numbersMask FROM Ticket t WHERE t.draw.id = :drawId AND t.status = :status")
+    Stream<Long> streamNumbersMasks(@Param("drawId") Long drawId, @Param("status") TicketStatus status);
+
+    @Query("SELECT t.ticketNumber FROM Ticket t WHERE t.draw.id = :drawId AND t.ticketNumber IN :ticketNumbers")
+    List<String> findTicketNumbersIn(@Param("drawId") Long drawId, @Param("ticketNumbers") Collection<String> ticketNumbers);
+
 }
\ No newline at end of file
@@ -1,18 +1,36 @@
 package com.assesment.lottofun.infrastructure.repository;
 
 import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.service.cache.UserSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByEmailForUpdate(@Param("email") String email);
+
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.tickets t LEFT JOIN FETCH t.draw d WHERE u.email = :email AND (t.draw.id = :drawId OR t IS NULL)")
-    Optional<User> findByEmailWithTicketsForDraw(@Param("email") String email, @Param("drawId") Long drawId);
+    @Query("SELECT COUNT(t) > 0 FROM Ticket t WHERE t.user.email = :email AND t.draw.id = :drawId AND t.selectedNumbers = :selectedNumbers")
+    boolean existsTicket(@Param("email") String email, @Param("drawId") Long drawId, @Param("selectedNumbers") String selectedNumbers);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT new com.assesment.lottofun.service.cache.UserSummary(u.id, u.email, u.firstName, u.lastName, u.balance, u.createdAt, " +
+            "COUNT(t), COALESCE(SUM(CASE WHEN t.status = com.assesment.lottofun.entity.TicketStatus.WON THEN 1L ELSE 0L END), 0L)) " +
+            "FROM User u LEFT JOIN u.tickets t WHERE u.id IN :ids GROUP BY u.id, u.email, u.firstName, u.lastName, u.balance, u.createdAt")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
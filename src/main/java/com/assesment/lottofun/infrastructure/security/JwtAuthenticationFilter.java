@@ -1,5 +1,6 @@
 package com.assesment.lottofun.infrastructure.security;
 
+import com.assesment.lottofun.infrastructure.profiling.JwtAuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -46,21 +47,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String token = authHeader.substring(BEARER_PREFIX.length());
-        final String email = jwtService.extractEmail(token);
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+        long userLoadNanos = 0;
+        try {
+            final String token = authHeader.substring(BEARER_PREFIX.length());
+            final String email = jwtService.extractEmail(token);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                long userLoadStartedAt = System.nanoTime();
+                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                userLoadNanos = System.nanoTime() - userLoadStartedAt;
 
-            if (jwtService.isTokenValid(token, email)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (jwtService.isTokenValid(token, email)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
+        } finally {
+            event.commit(requestPath, SecurityContextHolder.getContext().getAuthentication() != null,
+                    System.nanoTime() - startedAt - userLoadNanos, userLoadNanos);
         }
 
         filterChain.doFilter(request, response);
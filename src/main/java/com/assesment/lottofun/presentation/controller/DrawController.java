@@ -4,14 +4,17 @@ import com.assesment.lottofun.presentation.dto.common.ApiResponse;
 import com.assesment.lottofun.presentation.dto.response.DrawResponse;
 import com.assesment.lottofun.presentation.dto.common.PageResponse;
 import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.event.DrawEventBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequestMapping("api/draw")
 @RestController
@@ -20,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class DrawController {
 
     private final DrawService drawService;
+    private final DrawEventBroadcaster drawEventBroadcaster;
 
 
     @GetMapping("/active")
@@ -29,7 +33,7 @@ public class DrawController {
     )
     public ResponseEntity<ApiResponse<DrawResponse>> getCurrentDraw() {
         return ResponseEntity.ok(ApiResponse.success("Current draw retrieved successfully",
-                DrawResponse.fromEntity(drawService.getActiveDraw())));
+                drawService.getActiveDrawResponse()));
     }
 
 
@@ -49,5 +53,13 @@ public class DrawController {
         return ResponseEntity.ok(ApiResponse.success("Draw history retrieved successfully", drawHistory));
     }
 
-
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream draw lifecycle events",
+            description = "Server-Sent Events stream of DRAW_OPENED, DRAW_CLOSED, DRAW_EXTRACTED and DRAW_FINALIZED " +
+                    "events; the current active draw is sent first"
+    )
+    public SseEmitter streamDrawEvents() {
+        return drawEventBroadcaster.subscribe(drawService::findActiveDraw);
+    }
 }
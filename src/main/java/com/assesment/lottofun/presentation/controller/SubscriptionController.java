@@ -0,0 +1,68 @@
+package com.assesment.lottofun.presentation.controller;
+
+import com.assesment.lottofun.presentation.dto.common.ApiResponse;
+import com.assesment.lottofun.presentation.dto.request.SubscriptionRequest;
+import com.assesment.lottofun.presentation.dto.response.SubscriptionResponse;
+import com.assesment.lottofun.service.SubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/subscription")
+@SecurityRequirement(name = "JWT")
+@Tag(name = "Subscriptions", description = "Play the same numbers for several upcoming draws")
+@RequiredArgsConstructor
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    @PostMapping
+    @Operation(
+            summary = "Subscribe to upcoming draws",
+            description = "Plays the selected numbers in each of the next N draws; a ticket is generated and paid when each draw opens"
+    )
+    public ResponseEntity<ApiResponse<SubscriptionResponse>> subscribe(@Valid @RequestBody SubscriptionRequest request) {
+        SubscriptionResponse subscription = subscriptionService.subscribe(getCurrentUserEmail(), request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Subscription created successfully", subscription));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get user's subscriptions")
+    public ResponseEntity<ApiResponse<List<SubscriptionResponse>>> getSubscriptions() {
+        List<SubscriptionResponse> subscriptions = subscriptionService.userSubscriptions(getCurrentUserEmail());
+        return ResponseEntity.ok(ApiResponse.success("Subscriptions retrieved successfully", subscriptions));
+    }
+
+    @PostMapping("/{subscriptionId}/cancel")
+    @Operation(summary = "Cancel a subscription", description = "No further tickets are generated; existing tickets are kept")
+    public ResponseEntity<ApiResponse<SubscriptionResponse>> cancel(
+            @Parameter(description = "Subscription ID") @PathVariable Long subscriptionId) {
+        SubscriptionResponse subscription = subscriptionService.cancel(getCurrentUserEmail(), subscriptionId);
+        return ResponseEntity.ok(ApiResponse.success("Subscription cancelled successfully", subscription));
+    }
+
+    @PostMapping("/{subscriptionId}/resume")
+    @Operation(summary = "Resume a subscription suspended for insufficient balance")
+    public ResponseEntity<ApiResponse<SubscriptionResponse>> resume(
+            @Parameter(description = "Subscription ID") @PathVariable Long subscriptionId) {
+        SubscriptionResponse subscription = subscriptionService.resume(getCurrentUserEmail(), subscriptionId);
+        return ResponseEntity.ok(ApiResponse.success("Subscription resumed successfully", subscription));
+    }
+
+    private String getCurrentUserEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getName();
+    }
+}
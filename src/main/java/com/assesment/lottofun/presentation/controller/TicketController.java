@@ -5,6 +5,7 @@ import com.assesment.lottofun.presentation.dto.common.ApiResponse;
 import com.assesment.lottofun.presentation.dto.response.TicketBasicResponse;
 import com.assesment.lottofun.presentation.dto.response.TicketDetailResponse;
 import com.assesment.lottofun.service.TicketService;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class TicketController {
 
     private final TicketService _ticketService;
+    private final LotteryMetrics lotteryMetrics;
 
 
     @PostMapping("/purchase")
@@ -35,7 +37,15 @@ public class TicketController {
             @Valid @RequestBody TicketPurchaseRequest request) {
 
         String userEmail = getCurrentUserEmail();
-        TicketBasicResponse ticket = _ticketService.purchase(userEmail, request);
+        long startedAt = System.nanoTime();
+        TicketBasicResponse ticket;
+        try {
+            ticket = _ticketService.purchase(userEmail, request);
+        } catch (RuntimeException ex) {
+            lotteryMetrics.recordPurchase(startedAt, ex);
+            throw ex;
+        }
+        lotteryMetrics.recordPurchase(startedAt, null);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Ticket purchased successfully", ticket));
     }
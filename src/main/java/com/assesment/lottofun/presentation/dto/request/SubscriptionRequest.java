@@ -0,0 +1,22 @@
+package com.assesment.lottofun.presentation.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class SubscriptionRequest {
+
+    @NotNull(message = "Selected numbers are required")
+    @Size(min = 5, max = 10, message = "Between 5 and 10 numbers must be selected")
+    private Set<Integer> selectedNumbers;
+
+    @NotNull(message = "Number of draws is required")
+    @Min(value = 1, message = "Subscription must cover at least 1 draw")
+    @Max(value = 100, message = "Subscription can cover at most 100 draws")
+    private Integer draws;
+}
@@ -11,7 +11,7 @@ import java.util.Set;
 public class TicketPurchaseRequest {
 
     @NotNull(message = "Selected numbers are required")
-    @Size(min = 5, max = 5, message = "Exactly 5 numbers must be selected")
+    @Size(min = 5, max = 10, message = "Between 5 and 10 numbers must be selected")
     @ValidLotteryNumbers
     private Set<Integer> selectedNumbers;
 
@@ -1,6 +1,8 @@
 package com.assesment.lottofun.presentation.dto.response;
 
 import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.DrawTierResult;
 import com.assesment.lottofun.util.NumberUtils;
 import lombok.Data;
 
@@ -15,6 +17,9 @@ public class DrawResponse {
     private String status;
     private List<Integer> winningNumbers;
     private BigDecimal totalPrizePool;
+    private BigDecimal totalPayout;
+    private BigDecimal rolloverAmount;
+    private List<DrawTierResponse> tiers;
     private LocalDateTime executedAt;
     private LocalDateTime prizesDistributedAt;
     private LocalDateTime createdAt;
@@ -24,7 +29,9 @@ public class DrawResponse {
         response.setId(draw.getId());
         response.setDrawDate(draw.getDrawDate());
         response.setStatus(draw.getStatus().name());
-        response.setTotalPrizePool(draw.getTotalPrizePool());
+        response.setTotalPrizePool(Money.toBigDecimal(draw.getTotalPrizePool()));
+        response.setTotalPayout(Money.toBigDecimal(draw.getTotalPayout()));
+        response.setRolloverAmount(Money.toBigDecimal(draw.getRolloverAmount()));
         response.setExecutedAt(draw.getExecutedAt());
         response.setPrizesDistributedAt(draw.getPrizesDistributedAt());
         response.setCreatedAt(draw.getCreatedAt());
@@ -35,4 +42,14 @@ public class DrawResponse {
 
         return response;
     }
+
+    public static DrawResponse fromEntity(Draw draw, List<DrawTierResult> tierResults) {
+        DrawResponse response = fromEntity(draw);
+        if (tierResults != null && !tierResults.isEmpty()) {
+            response.setTiers(tierResults.stream()
+                    .map(DrawTierResponse::fromEntity)
+                    .toList());
+        }
+        return response;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.assesment.lottofun.presentation.dto.response;
+
+import com.assesment.lottofun.entity.DrawTierResult;
+import com.assesment.lottofun.entity.Money;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class DrawTierResponse {
+    private Integer matchCount;
+    private String tierType;
+    private Long winnerCount;
+    private BigDecimal prizePerWinner;
+    private BigDecimal tierPayout;
+
+    public static DrawTierResponse fromEntity(DrawTierResult result) {
+        DrawTierResponse response = new DrawTierResponse();
+        response.setMatchCount(result.getMatchCount());
+        response.setTierType(result.getTierType().name());
+        response.setWinnerCount(result.getWinnerCount());
+        response.setPrizePerWinner(Money.toBigDecimal(result.getPrizePerWinner()));
+        response.setTierPayout(Money.toBigDecimal(result.getTierPayout()));
+        return response;
+    }
+}
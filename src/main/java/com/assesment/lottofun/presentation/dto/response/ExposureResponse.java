@@ -0,0 +1,43 @@
+package com.assesment.lottofun.presentation.dto.response;
+
+import com.assesment.lottofun.service.exposure.ExposureReport;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ExposureResponse {
+    private Long drawId;
+    private long ticketCount;
+    private long lineCount;
+    private long outcomesEvaluated;
+    private BigDecimal maxPayout;
+    private BigDecimal expectedPayout;
+    private List<Integer> worstOutcome;
+    private Map<Integer, Long> worstOutcomeWinners;
+    private long elapsedMillis;
+
+    public static ExposureResponse fromReport(ExposureReport report) {
+        ExposureResponse response = new ExposureResponse();
+        response.setDrawId(report.getDrawId());
+        response.setTicketCount(report.getTicketCount());
+        response.setLineCount(report.getLineCount());
+        response.setOutcomesEvaluated(report.getOutcomesEvaluated());
+        response.setMaxPayout(BigDecimal.valueOf(report.getMaxPayoutCents(), 2));
+        response.setExpectedPayout(BigDecimal.valueOf(report.getExpectedPayoutCents(), 2));
+        response.setWorstOutcome(Arrays.stream(report.getWorstOutcome()).boxed().toList());
+        response.setElapsedMillis(report.getElapsedMillis());
+
+        Map<Integer, Long> winners = new LinkedHashMap<>();
+        long[] matchCounts = report.getWorstOutcomeMatchCounts();
+        for (int matches = matchCounts.length - 1; matches >= 2; matches--) {
+            winners.put(matches, matchCounts[matches]);
+        }
+        response.setWorstOutcomeWinners(winners);
+        return response;
+    }
+}
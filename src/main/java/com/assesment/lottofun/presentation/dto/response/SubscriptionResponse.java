@@ -0,0 +1,34 @@
+package com.assesment.lottofun.presentation.dto.response;
+
+import com.assesment.lottofun.entity.Subscription;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class SubscriptionResponse {
+    private Long id;
+    private List<Integer> selectedNumbers;
+    private BigDecimal pricePerDraw;
+    private Integer totalDraws;
+    private Integer drawsRemaining;
+    private Long lastDrawId;
+    private String status;
+    private LocalDateTime createdAt;
+
+    public static SubscriptionResponse fromEntity(Subscription subscription) {
+        SubscriptionResponse response = new SubscriptionResponse();
+        response.setId(subscription.getId());
+        response.setSelectedNumbers(NumberUtils.stringToNumbersList(subscription.getSelectedNumbers()));
+        response.setPricePerDraw(subscription.getPricePerDraw().toBigDecimal());
+        response.setTotalDraws(subscription.getTotalDraws());
+        response.setDrawsRemaining(subscription.getDrawsRemaining());
+        response.setLastDrawId(subscription.getLastDrawId());
+        response.setStatus(subscription.getStatus().name());
+        response.setCreatedAt(subscription.getCreatedAt());
+        return response;
+    }
+}
@@ -1,6 +1,7 @@
 package com.assesment.lottofun.presentation.dto.response;
 
 import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.Money;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -12,6 +13,7 @@ public class TicketBasicResponse {
     private Long id;
     private String ticketNumber;
     private List<Integer> selectedNumbers;
+    private Long lineCount;
     private BigDecimal purchasePrice;
     private LocalDateTime purchaseTimestamp;
     private String ticketStatus;
@@ -27,7 +29,8 @@ public class TicketBasicResponse {
                         .stream()
                         .map(Integer::parseInt)
                         .toList() : null);
-        response.setPurchasePrice(ticket.getPurchasePrice());
+        response.setLineCount(ticket.getLineCount());
+        response.setPurchasePrice(Money.toBigDecimal(ticket.getPurchasePrice()));
         response.setPurchaseTimestamp(ticket.getPurchaseTimestamp());
         response.setTicketStatus(ticket.getStatus().name());
         response.setDrawId(ticket.getDraw().getId());
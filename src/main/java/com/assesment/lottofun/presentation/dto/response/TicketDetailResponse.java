@@ -1,6 +1,7 @@
 package com.assesment.lottofun.presentation.dto.response;
 
 import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.Money;
 import com.assesment.lottofun.util.NumberUtils;
 import lombok.Data;
 
@@ -13,6 +14,7 @@ public class TicketDetailResponse {
     private Long id;
     private String ticketNumber;
     private List<Integer> selectedNumbers;
+    private Long lineCount;
     private BigDecimal purchasePrice;
     private LocalDateTime purchaseTimestamp;
     private String ticketStatus;
@@ -29,18 +31,19 @@ public class TicketDetailResponse {
         response.setId(ticket.getId());
         response.setTicketNumber(ticket.getTicketNumber());
         response.setSelectedNumbers(NumberUtils.stringToNumbersList(ticket.getSelectedNumbers()));
-        response.setPurchasePrice(ticket.getPurchasePrice());
+        response.setLineCount(ticket.getLineCount());
+        response.setPurchasePrice(Money.toBigDecimal(ticket.getPurchasePrice()));
         response.setPurchaseTimestamp(ticket.getPurchaseTimestamp());
         response.setTicketStatus(ticket.getStatus().name());
         response.setDrawId(ticket.getDraw().getId());
         response.setMatchCount(ticket.getMatchCount());
-        response.setPrizeAmount(ticket.getPrizeAmount());
+        response.setPrizeAmount(Money.toBigDecimal(ticket.getPrizeAmount()));
 
         if (ticket.getDraw() != null) {
             var draw = ticket.getDraw();
             response.setDrawDate(draw.getDrawDate());
             response.setDrawStatus(draw.getStatus().name());
-            response.setTotalPrizePool(draw.getTotalPrizePool());
+            response.setTotalPrizePool(Money.toBigDecimal(draw.getTotalPrizePool()));
             response.setWinningNumbers(draw.getWinningNumbers() != null ?
                     NumberUtils.stringToNumbersList(draw.getWinningNumbers()) : null);
         }
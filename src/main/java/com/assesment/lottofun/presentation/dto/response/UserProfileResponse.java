@@ -1,5 +1,6 @@
 package com.assesment.lottofun.presentation.dto.response;
 
+import com.assesment.lottofun.service.cache.UserSummary;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -12,14 +13,28 @@ public class UserProfileResponse {
     private String lastName;
     private BigDecimal balance;
     private LocalDateTime createdAt;
+    private long ticketCount;
+    private long claimableTicketCount;
 
     public static UserProfileResponse fromEntity(com.assesment.lottofun.entity.User user) {
         UserProfileResponse response = new UserProfileResponse();
         response.setEmail(user.getEmail());
         response.setFirstName(user.getFirstName());
         response.setLastName(user.getLastName());
-        response.setBalance(user.getBalance());
+        response.setBalance(user.getBalance().toBigDecimal());
         response.setCreatedAt(user.getCreatedAt());
         return response;
     }
-}
\ No newline at end of file
+
+    public static UserProfileResponse fromSummary(UserSummary summary) {
+        UserProfileResponse response = new UserProfileResponse();
+        response.setEmail(summary.getEmail());
+        response.setFirstName(summary.getFirstName());
+        response.setLastName(summary.getLastName());
+        response.setBalance(summary.getBalance().toBigDecimal());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setTicketCount(summary.getTicketCount());
+        response.setClaimableTicketCount(summary.getClaimableTicketCount());
+        return response;
+    }
+}
@@ -1,6 +1,5 @@
 package com.assesment.lottofun.presentation.validation;
 
-import com.assesment.lottofun.entity.User;
 import com.assesment.lottofun.service.DrawService;
 import com.assesment.lottofun.service.UserService;
 import com.assesment.lottofun.util.NumberUtils;
@@ -28,10 +27,9 @@ public class LotteryNumbersValidator implements ConstraintValidator<ValidLottery
 
             String userEmail = getCurrentUserEmail();
             if (userEmail != null) {
-                User user = userService.getUserByEmail(userEmail);
                 Long activeDrawId = drawService.getActiveDraw().getId();
 
-                if (user.hasTicketAlready(activeDrawId, value)) {
+                if (userService.hasTicketAlready(userEmail, activeDrawId, value)) {
                     context.disableDefaultConstraintViolation();
                     context.buildConstraintViolationWithTemplate(
                                     "You have already purchased a ticket with these numbers for the current draw")
@@ -3,14 +3,23 @@ package com.assesment.lottofun.service;
 import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.entity.Draw;
 import com.assesment.lottofun.entity.DrawStatus;
-import com.assesment.lottofun.entity.Ticket;
-import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.entity.DrawTierResult;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.exception.DrawNotAvailableException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
 import com.assesment.lottofun.infrastructure.repository.DrawRepository;
-import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.infrastructure.repository.DrawTierResultRepository;
 import com.assesment.lottofun.presentation.dto.common.PageResponse;
 import com.assesment.lottofun.presentation.dto.response.DrawResponse;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import com.assesment.lottofun.service.cache.CachedEntity;
+import com.assesment.lottofun.service.cache.CacheManagerInvalidationListener;
+import com.assesment.lottofun.service.cache.SingleFlightRegistry;
+import com.assesment.lottofun.service.event.DrawEventBroadcaster;
+import com.assesment.lottofun.service.event.DrawEventType;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,22 +27,49 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DrawService {
 
+    public static final List<DrawStatus> UNSETTLED_STATUSES =
+            List.of(DrawStatus.DRAW_CLOSED, DrawStatus.DRAW_EXTRACTED, DrawStatus.PAYMENTS_PROCESSING);
+    private static final String ACTIVE_DRAW_FLIGHT = "draw.active";
+    private static final String HISTORY_FLIGHT = "draw.history";
+    private static final String HISTORY_CACHE = "drawHistory";
+
     private final DrawRepository drawRepository;
     private final PrizeRulesConfig prizeRulesConfig;
-    private final TicketRepository ticketRepository;
+    private final SettlementService settlementService;
+    private final DrawTierResultRepository drawTierResultRepository;
+    private final SubscriptionService subscriptionService;
+    private final DrawEventBroadcaster drawEventBroadcaster;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SingleFlightRegistry singleFlights;
+    private final CacheManagerInvalidationListener derivedCaches;
+    private final LotteryMetrics lotteryMetrics;
 
     @Transactional(readOnly = true)
     public Draw getActiveDraw() {
         return getActive();
     }
 
+    /**
+     * The active draw as served to clients. Concurrent requests share one lookup and mapping, so the
+     * burst of polls when a draw closes costs one query instead of one per client.
+     */
+    public DrawResponse getActiveDrawResponse() {
+        return singleFlights.<String, DrawResponse>flight(ACTIVE_DRAW_FLIGHT)
+                .execute(ACTIVE_DRAW_FLIGHT, () -> DrawResponse.fromEntity(getActive()));
+    }
+
     @Transactional
     public Draw newDraw() {
         drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)
@@ -41,75 +77,170 @@ public class DrawService {
                     throw new IllegalStateException("Active draw already exists: " + activeDraw.getId());
                 });
 
-        Draw newDraw = createNewDraw();
+        Draw newDraw = drawRepository.save(createNewDraw());
+        subscriptionService.generateTickets(newDraw);
+        publishChange(DrawEventType.DRAW_OPENED, newDraw);
 
-        return drawRepository.save(newDraw);
+        return newDraw;
     }
 
     private Draw createNewDraw() {
-        LocalDateTime scheduledDate = LocalDateTime.now()
-                .plusMinutes(prizeRulesConfig.getDraw().getFrequencyMinutes());
+        LocalDateTime scheduledDate = LocalDateTime.now().plus(drawFrequency());
 
-        Draw newDraw = Draw.createNew(scheduledDate);
-        return drawRepository.save(newDraw);
+        return Draw.createNew(scheduledDate, Money.of(prizeRulesConfig.getDraw().getBasePrizePool()));
     }
 
+    private Duration drawFrequency() {
+        PrizeRulesConfig.Draw drawConfig = prizeRulesConfig.getDraw();
+        if (drawConfig.getRapid().isEnabled()) {
+            return Duration.ofSeconds(drawConfig.getRapid().getFrequencySeconds());
+        }
+        return Duration.ofMinutes(drawConfig.getFrequencyMinutes());
+    }
+
+    /**
+     * Closes the earliest open draw whose draw date has passed and opens the next one in the same
+     * transaction, so ticket sales continue while the closed draw is settled.
+     *
+     * @return false when no draw is due
+     */
     @Transactional
-    public void process(Draw draw) {
-        if (!draw.isEligibleForProcess()) {
-            return;
+    public boolean closeNextDueDraw(LocalDateTime now) {
+        Optional<Draw> dueDraw = drawRepository.getLockDueDraw(DrawStatus.DRAW_OPEN, now);
+        if (dueDraw.isEmpty()) {
+            return false;
         }
 
+        Draw draw = dueDraw.get();
         draw.setAsClosed();
         drawRepository.save(draw);
-        draw.setAsExtracted();
-        drawRepository.save(draw);
+        publishChange(DrawEventType.DRAW_CLOSED, draw);
+        newDraw();
+        return true;
+    }
 
-        processTickets(draw);
+    @Transactional(readOnly = true)
+    public List<Draw> findUnsettledDraws(int limit) {
+        return drawRepository.findByStatusInOrderByDrawDateAsc(UNSETTLED_STATUSES, PageRequest.of(0, limit));
+    }
 
-        draw.setAsFinalized();
+    @Transactional
+    public void extract(Long drawId) {
+        Draw draw = getLockDrawById(drawId);
+        if (draw.getStatus() == DrawStatus.DRAW_CLOSED) {
+            draw.setAsExtracted();
+            publishChange(DrawEventType.DRAW_EXTRACTED, draw);
+        }
+        if (draw.getStatus() == DrawStatus.DRAW_EXTRACTED) {
+            draw.setAsPaymentsProcessing();
+            drawRepository.save(draw);
+        }
+    }
+
+    /**
+     * Settles the tickets of an extracted draw and credits its rollover to the open draw. The prize
+     * pool of a draw is fixed once it closes, so draws can be settled independently of each other.
+     */
+    @Transactional
+    public void settle(Long drawId) {
+        Draw draw = getLockDrawById(drawId);
+        if (draw.getStatus() != DrawStatus.PAYMENTS_PROCESSING) {
+            return;
+        }
+
+        settlementService.settle(draw);
 
+        long finalizeStartedAt = System.nanoTime();
+        draw.setAsFinalized();
         drawRepository.save(draw);
+        creditRollover(draw);
+        publishChange(DrawEventType.DRAW_FINALIZED, draw);
+        lotteryMetrics.recordDrawPhase(LotteryMetrics.PHASE_FINALIZE, finalizeStartedAt);
+        lotteryMetrics.recordDrawLag(LotteryMetrics.PHASE_FINALIZE, draw.getDrawDate());
     }
 
-    private Draw getActive() {
-        return drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)
-                .orElseThrow(() -> new ResourceNotFoundException("No active draw available"));
+    private void creditRollover(Draw draw) {
+        Money rollover = draw.getRolloverAmount();
+        if (rollover == null || !rollover.isPositive()) {
+            return;
+        }
+
+        // Runs last so the open draw's row is only locked until commit. If the open draw was closed while
+        // this update waited for its row, the next draw is not in the statement's snapshot yet; retry once.
+        if (drawRepository.addToOpenDrawPrizePool(rollover.toBigDecimal()) == 0
+                && drawRepository.addToOpenDrawPrizePool(rollover.toBigDecimal()) == 0) {
+            log.warn("No open draw to receive the rollover of {} from draw {}", rollover, draw.getId());
+            return;
+        }
+        // The native update does not return the open draw's id.
+        cacheInvalidationBus.publish(CachedEntity.DRAW, null);
     }
 
-    @Transactional
-    public Draw getLockDraw() {
-        return drawRepository.getLockDraw(DrawStatus.DRAW_OPEN)
-                .orElseThrow(() -> new ResourceNotFoundException("No active draw available"));
+    private void publishChange(DrawEventType type, Draw draw) {
+        // Invalidate first: the event is relayed to the other nodes behind the invalidations queued before it.
+        cacheInvalidationBus.publish(CachedEntity.DRAW, draw.getId());
+        drawEventBroadcaster.publish(type, draw);
     }
 
+    private Draw getLockDrawById(Long drawId) {
+        return drawRepository.getLockDrawById(drawId)
+                .orElseThrow(() -> new ResourceNotFoundException("Draw not found: " + drawId));
+    }
 
-    private void processTickets(Draw draw) {
-        int batchSize = prizeRulesConfig.getDraw().getProcessingBatchSize();
-        Page<Ticket> ticketPage;
+    @Transactional(readOnly = true)
+    public Optional<Draw> findActiveDraw() {
+        return drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN);
+    }
 
-        do {
-            Pageable pageable = PageRequest.of(0, batchSize);
-            ticketPage = ticketRepository.findByDrawIdAndStatus(draw.getId(), TicketStatus.WAITING_FOR_DRAW, pageable);
+    private Draw getActive() {
+        return drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)
+                .orElseThrow(() -> new ResourceNotFoundException("No active draw available"));
+    }
 
-            List<Ticket> tickets = ticketPage.getContent();
-            if (tickets.isEmpty()) break;
+    @Transactional(readOnly = true)
+    public Optional<Draw> findDueDraw(LocalDateTime now) {
+        return drawRepository.findFirstByStatusAndDrawDateLessThanEqualOrderByDrawDateAsc(DrawStatus.DRAW_OPEN, now);
+    }
 
-            for (Ticket ticket : tickets) {
-                ticket.calculateResult(draw.getWinningNumbers());
-            }
+    /**
+     * Share-locks the draw row for the rest of the purchase transaction. Closing takes an exclusive lock
+     * on the same row, so a purchase either commits before the draw closes or sees it closed.
+     */
+    @Transactional
+    public void fenceOpenDraw(Long drawId) {
+        if (!DrawStatus.DRAW_OPEN.name().equals(drawRepository.lockStatusForPurchase(drawId))) {
+            throw new DrawNotAvailableException("The current active draw is no longer accepting tickets");
+        }
+    }
 
-            ticketRepository.saveAll(tickets);
 
-        } while (ticketPage.hasNext());
+    /**
+     * Pages are cached until a draw changes; concurrent misses for the same page, typically right after a
+     * draw closes, share one load. A load that overlaps a draw change is not kept. Runs outside a
+     * transaction so waiting callers hold no connection.
+     */
+    public PageResponse<DrawResponse> filter(int page, int size, String direction) {
+        String key = page + ":" + size + ":" + direction.toLowerCase();
+        PageResponse<DrawResponse> cached = derivedCaches.get(HISTORY_CACHE, key);
+        if (cached != null) {
+            return cached;
+        }
+        return singleFlights.<String, PageResponse<DrawResponse>>flight(HISTORY_FLIGHT)
+                .execute(key, () -> derivedCaches.load(HISTORY_CACHE, key, () -> loadHistory(page, size, direction)));
     }
 
-    @Transactional(readOnly = true)
-    public PageResponse<DrawResponse> filter(int page, int size, String direction) {
+    private PageResponse<DrawResponse> loadHistory(int page, int size, String direction) {
         Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "drawDate"));
         Page<Draw> drawsPage = drawRepository.findAll(pageable);
-        Page<DrawResponse> responsePage = drawsPage.map(DrawResponse::fromEntity);
+
+        List<Long> drawIds = drawsPage.map(Draw::getId).getContent();
+        Map<Long, List<DrawTierResult>> tierResults = drawIds.isEmpty() ? Map.of() :
+                drawTierResultRepository.findByDrawIds(drawIds).stream()
+                        .collect(Collectors.groupingBy(result -> result.getDraw().getId()));
+
+        Page<DrawResponse> responsePage = drawsPage.map(draw ->
+                DrawResponse.fromEntity(draw, tierResults.get(draw.getId())));
         return PageResponse.from(responsePage);
     }
 
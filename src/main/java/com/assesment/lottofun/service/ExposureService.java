@@ -0,0 +1,194 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.configuration.PrizeTier;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.service.exposure.ExposureLedger;
+import com.assesment.lottofun.service.exposure.ExposureReport;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExposureService {
+
+    private static final int VISIBILITY_CHECK_BATCH = 1000;
+
+    private final DrawService drawService;
+    private final TicketRepository ticketRepository;
+    private final PrizeRules prizeRules;
+    private final PlatformTransactionManager transactionManager;
+
+    // Adds take the read lock and may run concurrently; swapping the ledger takes the write lock.
+    private final ReadWriteLock ledgerLock = new ReentrantReadWriteLock();
+    private ExposureLedger ledger;
+    private PendingAdds pendingAdds;
+
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    public ExposureReport activeDrawExposure(boolean rebuild) {
+        Draw activeDraw = drawService.getActiveDraw();
+        ExposureLedger current = ledgerFor(activeDraw.getId(), rebuild);
+
+        long[] prizeCents = new long[ExposureLedger.LINE_SIZE + 1];
+        long[] allocationCents = new long[ExposureLedger.LINE_SIZE + 1];
+        Money prizePool = activeDraw.getTotalPrizePool();
+        for (PrizeTier tier : prizeRules.getTiers()) {
+            if (tier.getType() == PrizeTierType.FIXED) {
+                prizeCents[tier.getMatchCount()] = tier.prizePerWinner(1, prizePool).getCents();
+            } else {
+                allocationCents[tier.getMatchCount()] = tier.poolAllocation(prizePool).getCents();
+            }
+        }
+
+        ExposureReport report = current.sweep(ForkJoinPool.commonPool(), prizeCents, allocationCents);
+        log.info("Exposure sweep for draw {} over {} tickets finished in {} ms",
+                activeDraw.getId(), report.getTicketCount(), report.getElapsedMillis());
+        return report;
+    }
+
+    public void record(Ticket ticket) {
+        Long drawId = ticket.getDraw().getId();
+        String ticketNumber = ticket.getTicketNumber();
+        long numbersMask = ticket.getNumbersMask();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(drawId, ticketNumber, numbersMask);
+                }
+            });
+        } else {
+            apply(drawId, ticketNumber, numbersMask);
+        }
+    }
+
+    private void apply(Long drawId, String ticketNumber, long numbersMask) {
+        ledgerLock.readLock().lock();
+        try {
+            if (pendingAdds != null && pendingAdds.drawId.equals(drawId)) {
+                pendingAdds.tickets.add(Map.entry(ticketNumber, numbersMask));
+            } else if (ledger != null && ledger.getDrawId().equals(drawId)) {
+                ledger.add(numbersMask);
+            }
+        } finally {
+            ledgerLock.readLock().unlock();
+        }
+    }
+
+    private ExposureLedger currentLedger() {
+        ledgerLock.readLock().lock();
+        try {
+            return ledger;
+        } finally {
+            ledgerLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the ledger from one snapshot of the tickets. Purchases committing during the load are buffered;
+     * before the new ledger is swapped in, the buffered tickets the snapshot already contains are dropped and
+     * the rest are added, so each ticket is counted exactly once.
+     */
+    private synchronized ExposureLedger ledgerFor(Long drawId, boolean rebuild) {
+        ExposureLedger current = currentLedger();
+        if (current != null && current.getDrawId().equals(drawId) && !rebuild) {
+            return current;
+        }
+
+        // Buffering starts before the snapshot is taken, so no commit falls between the two.
+        PendingAdds pending = new PendingAdds(drawId);
+        ledgerLock.writeLock().lock();
+        try {
+            pendingAdds = pending;
+        } finally {
+            ledgerLock.writeLock().unlock();
+        }
+
+        try {
+            return snapshotTransaction.execute(status -> {
+                ExposureLedger loaded = new ExposureLedger(drawId);
+                try (Stream<Long> masks = ticketRepository.streamNumbersMasks(drawId, TicketStatus.WAITING_FOR_DRAW)) {
+                    masks.forEach(loaded::add);
+                }
+
+                ledgerLock.writeLock().lock();
+                try {
+                    List<Map.Entry<String, Long>> buffered = new ArrayList<>(pending.tickets);
+                    Set<String> inSnapshot = ticketNumbersInSnapshot(drawId, buffered);
+                    for (Map.Entry<String, Long> ticket : buffered) {
+                        if (!inSnapshot.contains(ticket.getKey())) {
+                            loaded.add(ticket.getValue());
+                        }
+                    }
+                    ledger = loaded;
+                    return loaded;
+                } finally {
+                    pendingAdds = null;
+                    ledgerLock.writeLock().unlock();
+                }
+            });
+        } finally {
+            ledgerLock.writeLock().lock();
+            try {
+                if (pendingAdds == pending) {
+                    pendingAdds = null;
+                }
+            } finally {
+                ledgerLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Set<String> ticketNumbersInSnapshot(Long drawId, List<Map.Entry<String, Long>> tickets) {
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < tickets.size(); from += VISIBILITY_CHECK_BATCH) {
+            List<String> ticketNumbers = tickets.subList(from, Math.min(from + VISIBILITY_CHECK_BATCH, tickets.size()))
+                    .stream().map(Map.Entry::getKey).toList();
+            found.addAll(ticketRepository.findTicketNumbersIn(drawId, ticketNumbers));
+        }
+        return found;
+    }
+
+    private static final class PendingAdds {
+        private final Long drawId;
+        private final Queue<Map.Entry<String, Long>> tickets = new ConcurrentLinkedQueue<>();
+
+        private PendingAdds(Long drawId) {
+            this.drawId = drawId;
+        }
+    }
+}
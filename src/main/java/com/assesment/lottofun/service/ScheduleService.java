@@ -1,59 +1,104 @@
 package com.assesment.lottofun.service;
 
+import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.entity.Draw;
-import com.assesment.lottofun.exception.BusinessException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.service.purchase.GroupCommitPurchasePipeline;
+import com.assesment.lottofun.service.scheduling.DrawCloseGate;
+import com.assesment.lottofun.service.scheduling.DrawSettlementPipeline;
+import com.assesment.lottofun.service.scheduling.SchedulerLeadership;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.util.Optional;
 
+/**
+ * Runs the draw lifecycle from the draw dates stored in the database. Every instance polls, but only
+ * the one holding {@link SchedulerLeadership} closes due draws (oldest first, so draws missed during
+ * downtime are caught up in order). Closing a draw opens the next one; extraction and settlement of
+ * closed draws then run on the {@link DrawSettlementPipeline} workers.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
 
     private final DrawService drawService;
     private final TaskScheduler taskScheduler;
+    private final GroupCommitPurchasePipeline purchasePipeline;
+    private final SchedulerLeadership leadership;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final DrawSettlementPipeline settlementPipeline;
+    private final DrawCloseGate closeGate;
+    private final LotteryMetrics lotteryMetrics;
+    private final TicketPartitions ticketPartitions;
 
     @PostConstruct
     public void init() {
-        Draw activeDraw = findOrCreateActiveDraw();
-        scheduleDrawExecution(activeDraw);
+        Duration pollInterval = Duration.ofMillis(prizeRulesConfig.getScheduler().getPollIntervalMillis());
+        taskScheduler.scheduleWithFixedDelay(this::tick, pollInterval);
     }
 
-    private Draw findOrCreateActiveDraw() {
+    void tick() {
         try {
-            return drawService.getActiveDraw();
-        } catch (ResourceNotFoundException ex) {
-            return drawService.newDraw();
+            if (leadership.acquire()) {
+                runDueDraws(LocalDateTime.now());
+            }
         } catch (Exception ex) {
-            throw new BusinessException("Failed to initialize first draw");
+            log.error("Draw scheduler tick failed, retrying on the next poll", ex);
         }
     }
 
-    private void scheduleDrawExecution(Draw draw) {
-        LocalDateTime drawDate = draw.getDrawDate();
-        long delayMs = Duration.between(LocalDateTime.now(), drawDate).toMillis();
-
-        if (delayMs < 0) {
-            delayMs = 0;
+    void runDueDraws(LocalDateTime now) {
+        ensurePartitionsAhead();
+        int closed = 0;
+        Optional<Draw> dueDraw;
+        while ((dueDraw = drawService.findDueDraw(now)).isPresent()) {
+            long startedAt = System.nanoTime();
+            Long drawId = dueDraw.get().getId();
+            Duration drainTimeout = Duration.ofMillis(prizeRulesConfig.getScheduler().getCloseDrainMillis());
+            if (!closeGate.close(drawId, drainTimeout)) {
+                log.warn("Purchases for draw {} still in flight after {} ms, closing behind the database fence",
+                        drawId, drainTimeout.toMillis());
+            }
+            purchasePipeline.flush();
+            if (!drawService.closeNextDueDraw(now)) {
+                break;
+            }
+            lotteryMetrics.recordDrawPhase(LotteryMetrics.PHASE_CLOSE, startedAt);
+            lotteryMetrics.recordDrawLag(LotteryMetrics.PHASE_CLOSE, dueDraw.get().getDrawDate());
+            closed++;
         }
+        if (closed > 1) {
+            log.info("Caught up {} overdue draws", closed);
+        }
+        openDrawIfMissing();
+        settlementPipeline.dispatch();
+    }
 
-
-        taskScheduler.schedule(() -> executeDrawAndScheduleNew(),
-                new Date(System.currentTimeMillis() + delayMs));
+    /**
+     * Partitions are created ahead of the draws, so a failure here leaves time to retry before draws need them.
+     */
+    private void ensurePartitionsAhead() {
+        try {
+            ticketPartitions.ensureAhead();
+        } catch (Exception ex) {
+            log.error("Creating ticket partitions ahead failed, retrying on the next poll", ex);
+        }
     }
 
-    @Transactional
-    void executeDrawAndScheduleNew() {
-        Draw lockDraw = drawService.getLockDraw();
-        drawService.process(lockDraw);
-        Draw nextDraw = drawService.newDraw();
-        scheduleDrawExecution(nextDraw);
+    private void openDrawIfMissing() {
+        try {
+            drawService.getActiveDraw();
+        } catch (ResourceNotFoundException ex) {
+            drawService.newDraw();
+        }
     }
-}
\ No newline at end of file
+}
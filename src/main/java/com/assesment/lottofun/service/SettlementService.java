@@ -0,0 +1,107 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.profiling.SettlementBatchEvent;
+import com.assesment.lottofun.infrastructure.repository.DrawTierResultRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.TicketResult;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.UnsettledTicket;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementService {
+
+    private final TicketBulkRepository ticketBulkRepository;
+    private final DrawTierResultRepository drawTierResultRepository;
+    private final PrizeRules prizeRules;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final LotteryMetrics lotteryMetrics;
+    private final UserSummaryCache userSummaryCache;
+
+    @Transactional
+    public DrawSettlement settle(Draw draw) {
+        long startedAt = System.nanoTime();
+        long winningMask = NumberUtils.toBitmask(draw.getWinningNumbers());
+
+        long[][] ticketsByPickedAndMatch = ticketBulkRepository.countByPickedAndMatches(draw.getId(), winningMask);
+        DrawSettlement settlement = DrawSettlement.calculate(draw, prizeRules.getTiers(), ticketsByPickedAndMatch);
+
+        long settled = applyInBatches(draw.getId(), winningMask, settlement);
+
+        draw.recordSettlement(settlement.getTotalPayout(), settlement.getRolloverAmount());
+        drawTierResultRepository.saveAll(settlement.getTierResults());
+        lotteryMetrics.recordSettlement(settled, startedAt);
+
+        log.info("Settled {} tickets of draw {}: payout {}, rollover {}",
+                settled, draw.getId(), settlement.getTotalPayout(), settlement.getRolloverAmount());
+        return settlement;
+    }
+
+    private long applyInBatches(Long drawId, long winningMask, DrawSettlement settlement) {
+        int batchSize = prizeRulesConfig.getDraw().getProcessingBatchSize();
+        long lastId = 0;
+        long settled = 0;
+        List<UnsettledTicket> batch;
+
+        do {
+            SettlementBatchEvent event = new SettlementBatchEvent();
+            event.begin();
+            long batchStartedAt = System.nanoTime();
+            batch = ticketBulkRepository.findUnsettled(drawId, lastId, batchSize);
+            if (batch.isEmpty()) break;
+
+            long scoringStartedAt = System.nanoTime();
+            List<TicketResult> results = score(batch, winningMask, settlement);
+            for (int i = 0; i < batch.size(); i++) {
+                // A winning ticket becomes claimable; losing ones leave the owner's summary unchanged.
+                if (results.get(i).getStatus() == TicketStatus.WON) {
+                    userSummaryCache.writeThrough(batch.get(i).getUserId());
+                }
+            }
+
+            long applyStartedAt = System.nanoTime();
+            ticketBulkRepository.applyResults(drawId, results);
+            event.commit(drawId, batch.size(), scoringStartedAt - batchStartedAt,
+                    applyStartedAt - scoringStartedAt, System.nanoTime() - applyStartedAt);
+            lotteryMetrics.recordSettlementBatch(batch.size(), batchStartedAt);
+            lastId = batch.get(batch.size() - 1).getId();
+            settled += batch.size();
+
+        } while (batch.size() == batchSize);
+
+        return settled;
+    }
+
+    /**
+     * Scores a batch of tickets from the bitmasks alone; results are in the order of {@code batch}.
+     */
+    public static List<TicketResult> score(List<UnsettledTicket> batch, long winningMask, DrawSettlement settlement) {
+        List<TicketResult> results = new ArrayList<>(batch.size());
+        for (UnsettledTicket ticket : batch) {
+            int pickedCount = Long.bitCount(ticket.getNumbersMask());
+            int matchCount = Long.bitCount(ticket.getNumbersMask() & winningMask);
+            results.add(new TicketResult(
+                    ticket.getId(),
+                    matchCount,
+                    settlement.statusFor(pickedCount, matchCount),
+                    settlement.prizeFor(pickedCount, matchCount)
+            ));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,104 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.Subscription;
+import com.assesment.lottofun.entity.SubscriptionStatus;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionBulkRepository;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionBulkRepository.GeneratedTickets;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionRepository;
+import com.assesment.lottofun.presentation.dto.request.SubscriptionRequest;
+import com.assesment.lottofun.presentation.dto.response.SubscriptionResponse;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.util.CombinationUtils;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriptionService {
+
+    private static final Set<SubscriptionStatus> OPEN_STATUSES =
+            EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.SUSPENDED_INSUFFICIENT_BALANCE);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionBulkRepository subscriptionBulkRepository;
+    private final UserService userService;
+    private final PrizeRules prizeRules;
+    private final UserSummaryCache userSummaryCache;
+
+    @Transactional
+    public SubscriptionResponse subscribe(String userEmail, SubscriptionRequest request) {
+        Set<Integer> selectedNumbers = request.getSelectedNumbers();
+        NumberUtils.validateLotteryNumbers(selectedNumbers);
+
+        User user = userService.getUserByEmail(userEmail);
+        if (subscriptionRepository.existsByUserIdAndNumbersMaskAndStatusIn(
+                user.getId(), NumberUtils.toBitmask(selectedNumbers), OPEN_STATUSES)) {
+            throw new BusinessException("You already have a subscription for these numbers");
+        }
+
+        long lineCount = CombinationUtils.binomial(selectedNumbers.size(), NumberUtils.LINE_NUMBER_COUNT);
+        Money pricePerDraw = prizeRules.getTicketPrice().times(lineCount);
+
+        Subscription subscription = Subscription.createNew(user, selectedNumbers, pricePerDraw, request.getDraws());
+        return SubscriptionResponse.fromEntity(subscriptionRepository.save(subscription));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubscriptionResponse> userSubscriptions(String userEmail) {
+        User user = userService.getUserByEmail(userEmail);
+        return subscriptionRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
+                .map(SubscriptionResponse::fromEntity)
+                .toList();
+    }
+
+    @Transactional
+    public SubscriptionResponse cancel(String userEmail, Long subscriptionId) {
+        Subscription subscription = getUserSubscription(userEmail, subscriptionId);
+        subscription.cancel();
+        return SubscriptionResponse.fromEntity(subscription);
+    }
+
+    @Transactional
+    public SubscriptionResponse resume(String userEmail, Long subscriptionId) {
+        Subscription subscription = getUserSubscription(userEmail, subscriptionId);
+        subscription.resume();
+        return SubscriptionResponse.fromEntity(subscription);
+    }
+
+    @Transactional
+    public int generateTickets(Draw draw) {
+        int generated = 0;
+        int suspended = 0;
+        for (GeneratedTickets subscriber : subscriptionBulkRepository.generateTickets(draw.getId())) {
+            if (subscriber.getTickets() > 0) {
+                userSummaryCache.writeThrough(subscriber.getUserId());
+            }
+            generated += subscriber.getTickets();
+            suspended += subscriber.getSuspended();
+        }
+
+        log.info("Generated {} subscription tickets for draw {}, suspended {} subscriptions for insufficient balance",
+                generated, draw.getId(), suspended);
+        return generated;
+    }
+
+    private Subscription getUserSubscription(String userEmail, Long subscriptionId) {
+        User user = userService.getUserByEmail(userEmail);
+        return subscriptionRepository.findByIdAndUserId(subscriptionId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found with id: " + subscriptionId));
+    }
+}
@@ -1,20 +1,30 @@
 package com.assesment.lottofun.service;
 
-import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
 import com.assesment.lottofun.entity.Ticket;
 import com.assesment.lottofun.entity.User;
 import com.assesment.lottofun.exception.BusinessException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.profiling.TicketPurchaseEvent;
 import com.assesment.lottofun.infrastructure.repository.TicketRepository;
 import com.assesment.lottofun.presentation.dto.request.TicketPurchaseRequest;
 import com.assesment.lottofun.presentation.dto.response.TicketBasicResponse;
 import com.assesment.lottofun.presentation.dto.response.TicketDetailResponse;
+import com.assesment.lottofun.service.purchase.GroupCommitPurchasePipeline;
+import com.assesment.lottofun.service.purchase.JournaledPurchase;
+import com.assesment.lottofun.service.scheduling.DrawCloseGate;
+import com.assesment.lottofun.util.CombinationUtils;
+import com.assesment.lottofun.util.NumberUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Set;
 
 @Service
@@ -24,25 +34,52 @@ public class TicketService {
     private final TicketRepository ticketRepository;
     private final DrawService drawService;
     private final UserService userService;
-    private final PrizeRulesConfig prizeRulesConfig;
+    private final PrizeRules prizeRules;
+    private final ExposureService exposureService;
+    private final GroupCommitPurchasePipeline purchasePipeline;
+    private final DrawCloseGate closeGate;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public TicketBasicResponse purchase(String userEmail, TicketPurchaseRequest request) {
+        TicketPurchaseEvent event = new TicketPurchaseEvent();
+        event.begin();
+        try {
+            // A journaled purchase waits for its group commit and must not hold a connection meanwhile.
+            TicketBasicResponse ticket = purchasePipeline.isEnabled()
+                    ? purchaseTicket(userEmail, request)
+                    : transactionTemplate.execute(status -> purchaseTicket(userEmail, request));
+            event.commit(ticket.getDrawId(), ticket.getLineCount(), purchasePipeline.isEnabled(), null);
+            return ticket;
+        } catch (RuntimeException ex) {
+            event.commit(null, null, purchasePipeline.isEnabled(), ex);
+            throw ex;
+        }
+    }
+
+    private TicketBasicResponse purchaseTicket(String userEmail, TicketPurchaseRequest request) {
         Draw activeDraw = drawService.getActiveDraw();
 
         if (!activeDraw.canAcceptTickets()) {
             throw new BusinessException("The current active draw is no longer accepting tickets");
         }
+        closeGate.admit(activeDraw.getId());
+
+        if (purchasePipeline.isEnabled()) {
+            try {
+                return journaledPurchase(userEmail, activeDraw, request.getSelectedNumbers());
+            } finally {
+                closeGate.exit();
+            }
+        }
 
-        User user = userService.getUserByEmail(userEmail);
-        BigDecimal ticketPrice = prizeRulesConfig.getTicket().getPrice();
-
+        User user = userService.getUserByEmailForUpdate(userEmail);
+        Set<Integer> selectedNumbers = request.getSelectedNumbers();
+        Money ticketPrice = priceOf(selectedNumbers);
 
+        drawService.fenceOpenDraw(activeDraw.getId());
         user.deductBalance(ticketPrice);
         userService.save(user);
 
-        Set<Integer> selectedNumbers = request.getSelectedNumbers();
-
         Ticket ticket = Ticket.createNew(
                 user,
                 activeDraw,
@@ -52,18 +89,31 @@ public class TicketService {
 
         Ticket saved = ticketRepository.save(ticket);
         drawService.save(activeDraw);
+        exposureService.record(saved);
 
         return TicketBasicResponse.fromEntity(saved);
     }
 
+    private TicketBasicResponse journaledPurchase(String userEmail, Draw activeDraw, Set<Integer> selectedNumbers) {
+        User user = userService.getUserByEmail(userEmail);
+        Money ticketPrice = priceOf(selectedNumbers);
+        Ticket ticket = Ticket.createNew(user, activeDraw, selectedNumbers, ticketPrice);
+        JournaledPurchase purchase = purchasePipeline.submit(user, activeDraw.getId(), ticket.getNumbersMask(), ticketPrice);
+
+        ticket.setTicketNumber(purchase.getTicketNumber());
+        ticket.setPurchaseTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(purchase.getPurchasedAtMillis()), ZoneId.systemDefault()));
+        exposureService.record(ticket);
+        return TicketBasicResponse.fromEntity(ticket);
+    }
+
+    private Money priceOf(Set<Integer> selectedNumbers) {
+        long lineCount = CombinationUtils.binomial(selectedNumbers.size(), NumberUtils.LINE_NUMBER_COUNT);
+        return prizeRules.getTicketPrice().times(lineCount);
+    }
 
     @Transactional(readOnly = true)
     public TicketDetailResponse ticketDetail(String userEmail, Long ticketId) {
-        User user = userService.getUserByEmail(userEmail);
-
-        Ticket ticket = user.getTickets().stream()
-                .filter(t -> t.getId().equals(ticketId))
-                .findFirst()
+        Ticket ticket = ticketRepository.findByIdAndUserEmail(ticketId, userEmail)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Ticket not found for user: " + userEmail + " and ticket ID: " + ticketId)
                 );
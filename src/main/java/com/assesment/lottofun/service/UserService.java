@@ -7,16 +7,19 @@ import com.assesment.lottofun.presentation.dto.response.UserProfileResponse;
 import com.assesment.lottofun.entity.Ticket;
 import com.assesment.lottofun.entity.User;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
 import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.util.NumberUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,82 +28,48 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final UserSummaryCache userSummaryCache;
 
-    @Transactional(readOnly = true)
     public UserProfileResponse profile(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-
-        return UserProfileResponse.fromEntity(user);
+        return UserProfileResponse.fromSummary(userSummaryCache.get(email));
     }
 
 
     @Transactional(readOnly = true)
     public List<TicketDetailResponse> userTicketsForDraw(String userEmail, Long drawId) {
-        User user = userRepository.findByEmailWithTicketsForDraw(userEmail, drawId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
-
-        List<Ticket> tickets = user.getTicketsForDraw(drawId);
-
-        return tickets.stream()
+        return ticketRepository.findByUserEmailAndDrawId(userEmail, drawId).stream()
                 .map(TicketDetailResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public PageResponse<TicketDetailResponse> userAllTickets(String userEmail, Pageable pageable) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
-
-        List<Ticket> allTickets = user.getAllTicketsSortedByDate();
-
-        int totalElements = allTickets.size();
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), totalElements);
-
-        List<Ticket> pageContent = start < totalElements ?
-                allTickets.subList(start, end) : List.of();
-
-        List<TicketDetailResponse> responseContent = pageContent.stream()
-                .map(TicketDetailResponse::fromEntity)
-                .collect(Collectors.toList());
-
-        Page<TicketDetailResponse> page = new PageImpl<>(
-                responseContent,
-                pageable,
-                totalElements
-        );
+        Page<TicketDetailResponse> page = ticketRepository
+                .findByUserEmailOrderByPurchaseTimestampDesc(userEmail, pageable)
+                .map(TicketDetailResponse::fromEntity);
 
         return PageResponse.from(page);
     }
 
     @Transactional(readOnly = true)
     public List<TicketDetailResponse> winningTickets(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
-
-        List<Ticket> winningTickets = user.getWinningTickets();
-
-        return winningTickets.stream()
+        return ticketRepository.findWonByUserEmail(userEmail).stream()
                 .map(TicketDetailResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<TicketDetailResponse> claimableTickets(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
-
-        List<Ticket> claimableTickets = user.getClaimableTickets();
-
-        return claimableTickets.stream()
+        return ticketRepository.findWonByUserEmail(userEmail).stream()
+                .filter(Ticket::isClaimable)
                 .map(TicketDetailResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional
     public ClaimTicketResponse claimTicket(String userEmail, Long ticketId) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = userRepository.findByEmailForUpdate(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
 
         Ticket ticket = user.getTicketById(ticketId);
@@ -111,14 +80,15 @@ public class UserService {
 
         user.claimTicket(ticket);
         userRepository.save(user);
+        userSummaryCache.writeThrough(user.getId());
 
         log.info("User {} claimed ticket {} for amount {}", userEmail, ticketId);
 
         return ClaimTicketResponse.create(
                 ticketId,
                 ticket.getTicketNumber(),
-                ticket.getPrizeAmount(),
-                user.getBalance()
+                ticket.getPrizeAmount().toBigDecimal(),
+                user.getBalance().toBigDecimal()
         );
     }
 
@@ -128,9 +98,24 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    /**
+     * Loads the user with its row locked until the caller's transaction ends, so that the balance written
+     * back cannot overwrite a debit or credit made meanwhile by the bulk statements.
+     */
+    @Transactional
+    public User getUserByEmailForUpdate(String email) {
+        return userRepository.findByEmailForUpdate(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasTicketAlready(String email, Long drawId, Set<Integer> selectedNumbers) {
+        return userRepository.existsTicket(email, drawId, NumberUtils.numbersToString(selectedNumbers));
+    }
 
     @Transactional
     public void save(User user) {
         userRepository.save(user);
+        userSummaryCache.writeThrough(user.getId());
     }
 }
\ No newline at end of file
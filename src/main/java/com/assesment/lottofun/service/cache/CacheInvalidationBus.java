@@ -0,0 +1,323 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.jdbc.SessionConnectionFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Propagates entity changes to the caches of every node through PostgreSQL LISTEN/NOTIFY. A change is
+ * applied to the local caches as soon as its transaction commits; other nodes receive it in a batched
+ * NOTIFY a few milliseconds later. Notifying from the committing transactions would serialize their
+ * commits on the notification queue lock, so a background publisher sends one payload per interval.
+ * Notifications missed while the listener reconnects are covered by dropping every local entry.
+ * The same session also listens on the channels of the {@link NodeMessageListener}s, which carry other
+ * node-wide messages such as draw events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    private static final int LISTEN_TIMEOUT_MILLIS = 500;
+    private static final long VALIDATION_INTERVAL_MILLIS = 10_000L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long RECONNECT_DELAY_MILLIS = 1000L;
+    private static final char ORIGIN_SEPARATOR = '|';
+    // Even 19-digit ids stay below the NOTIFY payload limit at this count, so they are not sent as a wildcard.
+    static final int MAX_IDS_PER_NOTIFY = 350;
+
+    private final SessionConnectionFactory connectionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+    private final ObjectProvider<NodeMessageListener> messageListeners;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<CachedEntity, Set<Long>> pendingIds = newPendingIds();
+    private final Set<CachedEntity> pendingWildcards = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService publisher;
+    private volatile boolean running;
+    private volatile boolean listening;
+
+    @PostConstruct
+    public void start() {
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = prizeRulesConfig.getCache().getNotifyIntervalMillis();
+        publisher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+
+        running = true;
+        Thread listenerThread = new Thread(this::listen, "cache-listen");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Invalidates the entity on every node once the surrounding transaction commits.
+     *
+     * @param id the changed entity, or null when an unknown set of entities of that type changed
+     */
+    public void publish(CachedEntity entity, Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed(entity, id);
+                }
+            });
+        } else {
+            changed(entity, id);
+        }
+    }
+
+    /**
+     * False while the listener is reconnecting, when changes made on other nodes are not being received.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sends the payload to the other nodes listening on the channel; call this after the change committed.
+     * Invalidations already published are flushed first, so a node receiving the message has dropped the
+     * cache entries of the change.
+     */
+    public void send(String channel, String payload) {
+        try {
+            publisher.execute(() -> {
+                flush();
+                try {
+                    jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+                    }, channel, nodeId + ORIGIN_SEPARATOR + payload);
+                } catch (DataAccessException ex) {
+                    log.warn("Failed to send a message on channel {}", channel, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.debug("Bus is stopping, not sending a message on channel {}", channel);
+        }
+    }
+
+    private void changed(CachedEntity entity, Long id) {
+        apply(entity, id);
+        notifyPeers(entity, id);
+    }
+
+    /**
+     * Queues a change for the other nodes only; used by caches that already applied it locally.
+     */
+    void notifyPeers(CachedEntity entity, Long id) {
+        if (id == null) {
+            pendingWildcards.add(entity);
+        } else {
+            pendingIds.get(entity).add(id);
+        }
+    }
+
+    void flush() {
+        CacheInvalidationMessage message = drain();
+        while (!message.isEmpty()) {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+                }, prizeRulesConfig.getCache().getChannel(), message.encode());
+            } catch (DataAccessException ex) {
+                log.warn("Failed to publish cache invalidation, retrying on the next interval", ex);
+                requeue(message);
+                return;
+            }
+            message = drain();
+        }
+    }
+
+    void receive(String payload) {
+        CacheInvalidationMessage message;
+        try {
+            message = CacheInvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+
+        message.getWildcards().forEach(entity -> apply(entity, null));
+        message.getIds().forEach((entity, ids) -> ids.forEach(id -> apply(entity, id)));
+    }
+
+    void deliver(String channel, String message) {
+        int separator = message.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0 || nodeId.equals(message.substring(0, separator))) {
+            return;
+        }
+        String payload = message.substring(separator + 1);
+        messageListeners.orderedStream()
+                .filter(listener -> channel.equals(listener.getChannel()))
+                .forEach(listener -> {
+                    try {
+                        listener.receive(payload);
+                    } catch (RuntimeException ex) {
+                        log.warn("Message listener {} failed on channel {}", listener.getClass().getSimpleName(), channel, ex);
+                    }
+                });
+    }
+
+    private CacheInvalidationMessage drain() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage(nodeId);
+        int drained = 0;
+        for (CachedEntity entity : CachedEntity.values()) {
+            if (pendingWildcards.remove(entity)) {
+                message.add(entity, null);
+            }
+            Set<Long> ids = pendingIds.get(entity);
+            for (Long id : ids) {
+                if (drained == MAX_IDS_PER_NOTIFY) {
+                    return message;
+                }
+                if (ids.remove(id)) {
+                    message.add(entity, id);
+                    drained++;
+                }
+            }
+        }
+        return message;
+    }
+
+    private void requeue(CacheInvalidationMessage message) {
+        pendingWildcards.addAll(message.getWildcards());
+        message.getIds().forEach((entity, ids) -> pendingIds.get(entity).addAll(ids));
+    }
+
+    private void apply(CachedEntity entity, Long id) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.invalidate(entity, id);
+            } catch (RuntimeException ex) {
+                log.warn("Cache listener {} failed to invalidate {} {}", listener.getClass().getSimpleName(), entity, id, ex);
+            }
+        });
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connectionFactory.open()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + prizeRulesConfig.getCache().getChannel());
+                    for (String channel : messageChannels()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                listening = true;
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected, dropping all cached entries");
+                    for (CachedEntity entity : CachedEntity.values()) {
+                        apply(entity, null);
+                    }
+                }
+                reconnecting = true;
+                awaitNotifications(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            } catch (SQLException ex) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting", ex);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitNotifications(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        String cacheChannel = prizeRulesConfig.getCache().getChannel();
+        long lastValidated = System.currentTimeMillis();
+
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLIS);
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    if (cacheChannel.equals(notification.getName())) {
+                        receive(notification.getParameter());
+                    } else {
+                        deliver(notification.getName(), notification.getParameter());
+                    }
+                }
+                lastValidated = System.currentTimeMillis();
+            } else if (System.currentTimeMillis() - lastValidated > VALIDATION_INTERVAL_MILLIS) {
+                // A silently dropped connection never delivers again; check it like the scheduler lock does.
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Cache invalidation listener connection is no longer valid");
+                }
+                lastValidated = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private Set<String> messageChannels() {
+        return messageListeners.orderedStream()
+                .map(NodeMessageListener::getChannel)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Map<CachedEntity, Set<Long>> newPendingIds() {
+        Map<CachedEntity, Set<Long>> pending = new EnumMap<>(CachedEntity.class);
+        for (CachedEntity entity : CachedEntity.values()) {
+            pending.put(entity, ConcurrentHashMap.newKeySet());
+        }
+        return pending;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
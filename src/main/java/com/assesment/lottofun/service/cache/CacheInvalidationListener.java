@@ -0,0 +1,14 @@
+package com.assesment.lottofun.service.cache;
+
+/**
+ * A node-local cache that drops entries when an entity changes on this or any other node. Called on the
+ * committing thread for local changes and on the bus listener thread for remote ones, so implementations
+ * must be cheap and thread-safe.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @param id the changed entity, or null when any entity of that type may have changed
+     */
+    void invalidate(CachedEntity entity, Long id);
+}
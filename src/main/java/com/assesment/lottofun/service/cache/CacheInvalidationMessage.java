@@ -0,0 +1,81 @@
+package com.assesment.lottofun.service.cache;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A batch of entity changes sent as one NOTIFY payload, e.g. {@code node-1|DRAW:4,5|USER:*}. A payload is
+ * limited to 8000 bytes, so an entity whose ids do not fit is sent as a wildcard instead.
+ */
+@Getter
+public class CacheInvalidationMessage {
+
+    static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final String WILDCARD = "*";
+
+    private final String origin;
+    private final Map<CachedEntity, Set<Long>> ids = new EnumMap<>(CachedEntity.class);
+    private final Set<CachedEntity> wildcards = EnumSet.noneOf(CachedEntity.class);
+
+    public CacheInvalidationMessage(String origin) {
+        this.origin = origin;
+    }
+
+    public void add(CachedEntity entity, Long id) {
+        if (id == null) {
+            wildcards.add(entity);
+            ids.remove(entity);
+        } else if (!wildcards.contains(entity)) {
+            ids.computeIfAbsent(entity, key -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty() && wildcards.isEmpty();
+    }
+
+    public String encode() {
+        String payload = encode(false);
+        return payload.length() <= MAX_PAYLOAD_LENGTH ? payload : encode(true);
+    }
+
+    private String encode(boolean wildcardAll) {
+        StringBuilder payload = new StringBuilder(origin);
+        for (CachedEntity entity : CachedEntity.values()) {
+            if (wildcards.contains(entity) || (wildcardAll && ids.containsKey(entity))) {
+                payload.append('|').append(entity.name()).append(':').append(WILDCARD);
+            } else if (ids.containsKey(entity)) {
+                payload.append('|').append(entity.name()).append(':');
+                List<String> values = new ArrayList<>();
+                ids.get(entity).forEach(id -> values.add(id.toString()));
+                payload.append(String.join(",", values));
+            }
+        }
+        return payload.toString();
+    }
+
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\|");
+        CacheInvalidationMessage message = new CacheInvalidationMessage(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            int separator = parts[i].indexOf(':');
+            CachedEntity entity = CachedEntity.valueOf(parts[i].substring(0, separator));
+            String values = parts[i].substring(separator + 1);
+            if (WILDCARD.equals(values)) {
+                message.add(entity, null);
+                continue;
+            }
+            for (String id : values.split(",")) {
+                message.add(entity, Long.valueOf(id));
+            }
+        }
+        return message;
+    }
+}
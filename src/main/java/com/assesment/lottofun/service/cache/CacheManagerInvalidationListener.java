@@ -0,0 +1,70 @@
+package com.assesment.lottofun.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Clears the Spring caches derived from an entity whenever one of its rows changes, and loads entries into
+ * them so that a load overlapping a clear does not put back what the clear dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheManagerInvalidationListener implements CacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public void invalidate(CachedEntity entity, Long id) {
+        for (String cacheName : entity.getCacheNames()) {
+            // Counted before the clear, so a load that puts after the clear sees the new generation.
+            generation(cacheName).incrementAndGet();
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Object key) {
+        Cache.ValueWrapper cached = cache(cacheName).get(key);
+        return cached == null ? null : (T) cached.get();
+    }
+
+    /**
+     * Loads the value and caches it. When the cache was cleared while the value was loading, the value may
+     * have been read before the change, so the entry is evicted again and the next read loads it afresh.
+     */
+    public <T> T load(String cacheName, Object key, Supplier<T> loader) {
+        AtomicLong generation = generation(cacheName);
+        long loadedAt = generation.get();
+        T value = loader.get();
+        Cache cache = cache(cacheName);
+        cache.put(key, value);
+        if (generation.get() != loadedAt) {
+            cache.evict(key);
+        }
+        return value;
+    }
+
+    private AtomicLong generation(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("No cache named " + cacheName);
+        }
+        return cache;
+    }
+}
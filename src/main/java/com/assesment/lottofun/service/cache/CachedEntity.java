@@ -0,0 +1,22 @@
+package com.assesment.lottofun.service.cache;
+
+import java.util.List;
+
+/**
+ * Entities whose changes invalidate cached reads. The listed Spring caches hold derived collections and
+ * are cleared on any change to the entity.
+ */
+public enum CachedEntity {
+    DRAW(List.of("drawHistory")),
+    USER(List.of());
+
+    private final List<String> cacheNames;
+
+    CachedEntity(List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+}
@@ -0,0 +1,34 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.entity.Draw;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts second-level cache entries changed by other nodes. Changes made on this node are already
+ * written through by Hibernate; evicting them again only costs one extra load.
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheInvalidationListener implements CacheInvalidationListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void invalidate(CachedEntity entity, Long id) {
+        if (entity != CachedEntity.DRAW) {
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (id == null) {
+            cache.evictEntityData(Draw.class);
+        } else {
+            cache.evictEntityData(Draw.class, id);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+}
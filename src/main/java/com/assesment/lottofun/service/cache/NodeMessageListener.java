@@ -0,0 +1,12 @@
+package com.assesment.lottofun.service.cache;
+
+/**
+ * Receives messages that other nodes send through {@link CacheInvalidationBus#send} on its channel. Called on
+ * the bus listener thread, so implementations must hand any slow work off to their own threads.
+ */
+public interface NodeMessageListener {
+
+    String getChannel();
+
+    void receive(String payload);
+}
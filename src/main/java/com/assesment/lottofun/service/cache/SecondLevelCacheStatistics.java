@@ -0,0 +1,109 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.entity.Draw;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hit rates of the draw second-level cache regions, logged periodically while they are in use and exported
+ * as {@code cache.gets} like the Caffeine caches. Only active when Hibernate statistics are enabled
+ * ({@code lottery.cache.statistics}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStatistics implements MeterBinder {
+
+    private static final Duration LOG_INTERVAL = Duration.ofMinutes(5);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskScheduler taskScheduler;
+
+    private long lastRequests;
+
+    @PostConstruct
+    public void init() {
+        if (!statistics().isStatisticsEnabled()) {
+            return;
+        }
+        taskScheduler.scheduleWithFixedDelay(this::logHitRates, LOG_INTERVAL);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics().isStatisticsEnabled()) {
+            return;
+        }
+        bindGets(registry, Draw.CACHE_REGION, this::drawRegion);
+        bindGets(registry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, this::activeDrawQueryRegion);
+    }
+
+    private static void bindGets(MeterRegistry registry, String region, Supplier<CacheRegionStatistics> statistics) {
+        bindGets(registry, region, "hit", statistics, CacheRegionStatistics::getHitCount);
+        bindGets(registry, region, "miss", statistics, CacheRegionStatistics::getMissCount);
+    }
+
+    private static void bindGets(MeterRegistry registry, String region, String result,
+                                 Supplier<CacheRegionStatistics> statistics, ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("cache.gets", statistics, supplier -> {
+                    CacheRegionStatistics current = supplier.get();
+                    return current == null ? 0 : count.applyAsLong(current);
+                })
+                .description("Second-level cache lookups")
+                .tags("cache", region, "cache.manager", "hibernate", "name", region, "result", result)
+                .register(registry);
+    }
+
+    public CacheRegionStatistics drawRegion() {
+        return statistics().getDomainDataRegionStatistics(Draw.CACHE_REGION);
+    }
+
+    public CacheRegionStatistics activeDrawQueryRegion() {
+        return statistics().getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+    }
+
+    public static double hitRate(CacheRegionStatistics region) {
+        if (region == null) {
+            return 0.0;
+        }
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? 0.0 : (double) region.getHitCount() / requests;
+    }
+
+    void logHitRates() {
+        CacheRegionStatistics draws = drawRegion();
+        CacheRegionStatistics activeDraw = activeDrawQueryRegion();
+        long requests = requests(draws) + requests(activeDraw);
+        if (requests == lastRequests) {
+            return;
+        }
+        lastRequests = requests;
+
+        log.info("Draw cache hit rate {}% ({} hits, {} misses), active draw query hit rate {}%",
+                Math.round(hitRate(draws) * 100), draws == null ? 0 : draws.getHitCount(),
+                draws == null ? 0 : draws.getMissCount(), Math.round(hitRate(activeDraw) * 100));
+    }
+
+    private static long requests(CacheRegionStatistics region) {
+        return region == null ? 0 : region.getHitCount() + region.getMissCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
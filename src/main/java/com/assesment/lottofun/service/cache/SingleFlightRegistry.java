@@ -0,0 +1,27 @@
+package com.assesment.lottofun.service.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named {@link SingleFlight} groups shared by the read services, kept in one place so their counters can be
+ * reported together.
+ */
+@Component
+public class SingleFlightRegistry {
+
+    private final ConcurrentMap<String, SingleFlight<?, ?>> flights = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <K, V> SingleFlight<K, V> flight(String name) {
+        return (SingleFlight<K, V>) flights.computeIfAbsent(name, SingleFlight::new);
+    }
+
+    public Collection<SingleFlight<?, ?>> getFlights() {
+        return Collections.unmodifiableCollection(flights.values());
+    }
+}
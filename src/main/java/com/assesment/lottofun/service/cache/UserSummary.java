@@ -0,0 +1,34 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.entity.Money;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The profile fields of a user with the balance and ticket counts as of one committed transaction.
+ */
+@Getter
+public class UserSummary {
+
+    private final Long userId;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final Money balance;
+    private final LocalDateTime createdAt;
+    private final long ticketCount;
+    private final long claimableTicketCount;
+
+    public UserSummary(Long userId, String email, String firstName, String lastName, Money balance,
+                       LocalDateTime createdAt, Long ticketCount, Long claimableTicketCount) {
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.balance = balance;
+        this.createdAt = createdAt;
+        this.ticketCount = ticketCount;
+        this.claimableTicketCount = claimableTicketCount;
+    }
+}
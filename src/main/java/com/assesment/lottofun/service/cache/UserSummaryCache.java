@@ -0,0 +1,159 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded cache of user summaries for profile reads. Transactions that change a user's balance or tickets
+ * write the committed summary through to this node's cache, so a user always reads their own writes here;
+ * other nodes drop the entry when the change reaches them over the invalidation bus.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSummaryCache implements CacheInvalidationListener, MeterBinder {
+
+    private static final int SUMMARY_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    private Cache<Long, UserSummary> summaries;
+    private Cache<String, Long> userIds;
+
+    @PostConstruct
+    public void init() {
+        PrizeRulesConfig.Cache config = prizeRulesConfig.getCache();
+        summaries = Caffeine.newBuilder()
+                .maximumSize(config.getUserSummaryMaximumSize())
+                .expireAfterWrite(Duration.ofMinutes(config.getUserSummaryExpireMinutes()))
+                .recordStats()
+                .build();
+        // A user's email never changes, so the id it resolves to can be kept for as long as it fits.
+        userIds = Caffeine.newBuilder()
+                .maximumSize(config.getUserSummaryMaximumSize())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Same tag keys as the cache manager's caches; Prometheus rejects meters of one name with other keys.
+        CaffeineCacheMetrics.monitor(registry, summaries, "userSummary",
+                "cache.manager", "userSummaryCache", "name", "userSummary");
+    }
+
+    public UserSummary get(String email) {
+        Long userId = userIds.get(email, key -> userRepository.findIdByEmail(key).orElse(null));
+        UserSummary summary = userId == null ? null : summaries.get(userId, this::load);
+        if (summary == null) {
+            throw new ResourceNotFoundException("User not found with email: " + email);
+        }
+        return summary;
+    }
+
+    /**
+     * Replaces the cached summary of the user with the one the surrounding transaction commits. The summary
+     * is read just before commit, after the transaction's own changes, and only replaces the entry that was
+     * cached at that point; if a concurrent change got there first the entry is dropped instead. Users not
+     * cached on this node are not read; other nodes are notified either way.
+     */
+    public void writeThrough(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            summaries.invalidate(userId);
+            cacheInvalidationBus.notifyPeers(CachedEntity.USER, userId);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> userIdsInTransaction = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, userIdsInTransaction);
+            TransactionSynchronizationManager.registerSynchronization(new WriteThrough(userIdsInTransaction));
+            pending = userIdsInTransaction;
+        }
+        pending.add(userId);
+    }
+
+    @Override
+    public void invalidate(CachedEntity entity, Long id) {
+        if (entity != CachedEntity.USER) {
+            return;
+        }
+        if (id == null) {
+            summaries.invalidateAll();
+        } else {
+            summaries.invalidate(id);
+        }
+    }
+
+    private UserSummary load(Long userId) {
+        List<UserSummary> loaded = userRepository.findSummariesByIdIn(List.of(userId));
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+
+    private class WriteThrough implements TransactionSynchronization {
+
+        private final Set<Long> userIdsInTransaction;
+        private final Map<Long, UserSummary> cachedBefore = new HashMap<>();
+        private final Map<Long, UserSummary> committed = new HashMap<>();
+
+        private WriteThrough(Set<Long> userIdsInTransaction) {
+            this.userIdsInTransaction = userIdsInTransaction;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<Long> cached = new ArrayList<>();
+            for (Long userId : userIdsInTransaction) {
+                UserSummary summary = summaries.getIfPresent(userId);
+                if (summary != null) {
+                    cachedBefore.put(userId, summary);
+                    cached.add(userId);
+                }
+            }
+            // Settlement and subscription runs touch thousands of users; keep each IN list well below the bind limit.
+            for (int from = 0; from < cached.size(); from += SUMMARY_BATCH_SIZE) {
+                List<Long> batch = cached.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, cached.size()));
+                for (UserSummary summary : userRepository.findSummariesByIdIn(batch)) {
+                    committed.put(summary.getUserId(), summary);
+                }
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            for (Long userId : userIdsInTransaction) {
+                UserSummary expected = cachedBefore.get(userId);
+                UserSummary summary = committed.get(userId);
+                summaries.asMap().compute(userId, (id, current) ->
+                        expected != null && current == expected && summary != null ? summary : null);
+                cacheInvalidationBus.notifyPeers(CachedEntity.USER, userId);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserSummaryCache.this);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.assesment.lottofun.service.event;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.presentation.dto.response.DrawResponse;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import com.assesment.lottofun.service.cache.NodeMessageListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pushes draw lifecycle changes to Server-Sent Event subscribers on every node. Connections are held by
+ * the servlet container in async mode, so an idle subscriber costs a socket and an emitter but no thread.
+ * Events are serialized once after the transaction that produced them commits, sent to the local
+ * subscribers and relayed to the other nodes over the {@link CacheInvalidationBus}, whose nodes send them
+ * to their own subscribers.
+ * <p>
+ * Each subscriber has a bounded queue drained by a small pool of sender threads. A subscriber whose queue
+ * is full, or whose current write has been blocked for longer than {@code sendTimeoutMillis}, is
+ * disconnected instead of holding up the others; on reconnect it receives the open draw as its first event.
+ * A blocked write cannot be interrupted, so the pool gets one extra thread for every writer blocked past
+ * that timeout until its write returns.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DrawEventBroadcaster implements NodeMessageListener {
+
+    private static final long RECONNECT_MILLIS = 3000L;
+    private static final char TYPE_SEPARATOR = '|';
+
+    private final ObjectMapper objectMapper;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private ScheduledExecutorService heartbeats;
+    private ThreadPoolExecutor senders;
+
+    @PostConstruct
+    public void start() {
+        PrizeRulesConfig.Events events = prizeRulesConfig.getEvents();
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "draw-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, events.getHeartbeatSeconds(), events.getHeartbeatSeconds(),
+                TimeUnit.SECONDS);
+
+        heartbeats.scheduleWithFixedDelay(this::releaseStalledWriters, events.getSendTimeoutMillis(),
+                events.getSendTimeoutMillis(), TimeUnit.MILLISECONDS);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = new ThreadPoolExecutor(events.getSenderThreads(), events.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "draw-events-send-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a subscriber and, when a draw is open, sends it as the first event so clients do not need
+     * a separate request to learn the current state. The draw is read after the subscriber is registered
+     * and queued behind any event broadcast meanwhile, so the client ends up with the latest state.
+     */
+    public SseEmitter subscribe(Supplier<Optional<Draw>> activeDraw) {
+        long timeoutMillis = Duration.ofMinutes(prizeRulesConfig.getEvents().getEmitterTimeoutMinutes()).toMillis();
+        return subscribe(new SseEmitter(timeoutMillis), activeDraw);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Supplier<Optional<Draw>> activeDraw) {
+        Subscriber subscriber = register(emitter);
+        String data = activeDraw.get().map(this::serialize).orElse(null);
+        if (data != null) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                    .id(String.valueOf(eventIds.incrementAndGet()))
+                    .name(DrawEventType.DRAW_OPENED.name())
+                    .reconnectTime(RECONNECT_MILLIS)
+                    .data(data)
+                    .build();
+            if (!subscriber.offer(frame, stalledBefore())) {
+                drop(emitter);
+                subscriber.close();
+            }
+        }
+        return emitter;
+    }
+
+    Subscriber register(SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> {
+            // Ends the stream normally; EventSource clients reconnect after the advertised retry delay.
+            subscribers.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(emitter));
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.put(emitter, subscriber);
+        return subscriber;
+    }
+
+    /**
+     * Publishes the draw as it is now once the surrounding transaction commits; rolled back changes are
+     * never announced.
+     */
+    public void publish(DrawEventType type, Draw draw) {
+        String data = serialize(draw);
+        if (data == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    announce(type, data);
+                }
+            });
+        } else {
+            announce(type, data);
+        }
+    }
+
+    @Override
+    public String getChannel() {
+        return prizeRulesConfig.getEvents().getChannel();
+    }
+
+    /**
+     * Sends an event announced by another node to the subscribers of this one.
+     */
+    @Override
+    public void receive(String payload) {
+        int separator = payload.indexOf(TYPE_SEPARATOR);
+        DrawEventType type;
+        try {
+            type = DrawEventType.valueOf(payload.substring(0, Math.max(separator, 0)));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed draw event payload: {}", payload);
+            return;
+        }
+        broadcast(type, eventIds.incrementAndGet(), payload.substring(separator + 1));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void announce(DrawEventType type, String data) {
+        broadcast(type, eventIds.incrementAndGet(), data);
+        cacheInvalidationBus.send(getChannel(), type.name() + TYPE_SEPARATOR + data);
+    }
+
+    void broadcast(DrawEventType type, long id, String data) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(String.valueOf(id))
+                .name(type.name())
+                .data(data)
+                .build();
+        offerToAll(frame);
+    }
+
+    void heartbeat() {
+        offerToAll(SseEmitter.event().comment("heartbeat").build());
+    }
+
+    private void offerToAll(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        long stalledBefore = stalledBefore();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.offer(frame, stalledBefore)) {
+                log.debug("Disconnecting a draw event subscriber that is not keeping up");
+                drop(subscriber.emitter);
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * Disconnects the subscribers whose write has been blocked past {@code sendTimeoutMillis} and sizes the
+     * sender pool so that the blocked threads do not count against {@code senderThreads}.
+     */
+    void releaseStalledWriters() {
+        long stalledBefore = stalledBefore();
+        int stalled = 0;
+        for (Subscriber subscriber : writing) {
+            if (subscriber.isStalled(stalledBefore)) {
+                stalled++;
+                if (subscribers.remove(subscriber.emitter) != null) {
+                    log.debug("Disconnecting a draw event subscriber whose write is blocked");
+                    subscriber.close();
+                }
+            }
+        }
+
+        int poolSize = prizeRulesConfig.getEvents().getSenderThreads() + stalled;
+        if (poolSize > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(poolSize);
+            senders.setCorePoolSize(poolSize);
+        } else if (poolSize < senders.getCorePoolSize()) {
+            senders.setCorePoolSize(poolSize);
+            senders.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    private long stalledBefore() {
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(prizeRulesConfig.getEvents().getSendTimeoutMillis());
+    }
+
+    private void drop(SseEmitter emitter) {
+        subscribers.remove(emitter);
+    }
+
+    private String serialize(Draw draw) {
+        try {
+            return objectMapper.writeValueAsString(DrawResponse.fromEntity(draw));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize draw {} for subscribers", draw.getId(), e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (SseEmitter emitter : subscribers.keySet()) {
+            emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * The frames still to be written to one emitter. At most one sender thread drains a subscriber at a
+     * time, so its frames are written in order.
+     */
+    final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> frames;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long sendingSince;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.frames = new ArrayBlockingQueue<>(prizeRulesConfig.getEvents().getSubscriberQueueSize());
+        }
+
+        /**
+         * @return false when the subscriber is stalled or its queue is full
+         */
+        boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> frame, long stalledBefore) {
+            if (isStalled(stalledBefore) || !frames.offer(frame)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        boolean isStalled(long stalledBefore) {
+            long since = sendingSince;
+            return since != 0 && since - stalledBefore < 0;
+        }
+
+        /**
+         * Completes the emitter on a sender thread once its current write returns; completing it here would
+         * wait for the emitter's lock, which a blocked write holds.
+         */
+        void close() {
+            closed = true;
+            frames.clear();
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while (!closed && (frame = frames.poll()) != null) {
+                sendingSince = System.nanoTime();
+                writing.add(this);
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away or the emitter already completed; the container finishes the request.
+                    drop(emitter);
+                    frames.clear();
+                    return;
+                } finally {
+                    sendingSince = 0;
+                    writing.remove(this);
+                }
+            }
+            if (closed) {
+                emitter.complete();
+                return;
+            }
+            scheduled.set(false);
+            if (!frames.isEmpty() || closed) {
+                schedule();
+            }
+        }
+    }
+}
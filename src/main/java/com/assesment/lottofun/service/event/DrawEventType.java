@@ -0,0 +1,8 @@
+package com.assesment.lottofun.service.event;
+
+public enum DrawEventType {
+    DRAW_OPENED,
+    DRAW_CLOSED,
+    DRAW_EXTRACTED,
+    DRAW_FINALIZED
+}
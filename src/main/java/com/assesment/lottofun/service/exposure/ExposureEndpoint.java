@@ -0,0 +1,34 @@
+package com.assesment.lottofun.service.exposure;
+
+import com.assesment.lottofun.presentation.dto.response.ExposureResponse;
+import com.assesment.lottofun.service.ExposureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Liability of the active draw at {@code /actuator/exposure}. The report shows the house's worst case and
+ * each sweep costs seconds of CPU, so the endpoint is only served to the host itself.
+ */
+@Component
+@WebEndpoint(id = "exposure")
+@RequiredArgsConstructor
+public class ExposureEndpoint {
+
+    private final ExposureService exposureService;
+
+    @ReadOperation
+    public ExposureResponse exposure() {
+        return ExposureResponse.fromReport(exposureService.activeDrawExposure(false));
+    }
+
+    /**
+     * Reloads the ledger from the database before the sweep.
+     */
+    @WriteOperation
+    public ExposureResponse rebuild() {
+        return ExposureResponse.fromReport(exposureService.activeDrawExposure(true));
+    }
+}
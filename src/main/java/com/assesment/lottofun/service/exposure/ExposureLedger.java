@@ -0,0 +1,210 @@
+package com.assesment.lottofun.service.exposure;
+
+import com.assesment.lottofun.util.CombinationUtils;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.Getter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps, for every 2..5 number subset, how many played lines contain it. The
+ * number of lines matching exactly k numbers of any outcome can then be derived
+ * from the 26 subsets of that outcome instead of scanning the tickets.
+ */
+public class ExposureLedger {
+
+    public static final int POOL_SIZE = 49;
+    public static final int LINE_SIZE = 5;
+    private static final int MIN_PRIZE_MATCHES = 2;
+
+    @Getter
+    private final Long drawId;
+    private final AtomicIntegerArray[] subsetCounts = new AtomicIntegerArray[LINE_SIZE + 1];
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong tickets = new AtomicLong();
+
+    public ExposureLedger(Long drawId) {
+        this.drawId = drawId;
+        for (int size = MIN_PRIZE_MATCHES; size <= LINE_SIZE; size++) {
+            subsetCounts[size] = new AtomicIntegerArray((int) CombinationUtils.binomial(POOL_SIZE, size));
+        }
+    }
+
+    public void add(long numbersMask) {
+        int[] numbers = NumberUtils.bitmaskToNumbers(numbersMask);
+        int picked = numbers.length;
+        int[] subset = new int[LINE_SIZE];
+
+        for (int selector = 1; selector < (1 << picked); selector++) {
+            int size = Integer.bitCount(selector);
+            if (size < MIN_PRIZE_MATCHES || size > LINE_SIZE) {
+                continue;
+            }
+            int index = 0;
+            for (int i = 0; i < picked; i++) {
+                if ((selector & (1 << i)) != 0) {
+                    subset[index++] = numbers[i] - 1;
+                }
+            }
+            int linesContainingSubset = (int) CombinationUtils.binomial(picked - size, LINE_SIZE - size);
+            subsetCounts[size].addAndGet(CombinationUtils.rank(subset, size), linesContainingSubset);
+        }
+
+        lines.addAndGet(CombinationUtils.binomial(picked, LINE_SIZE));
+        tickets.incrementAndGet();
+    }
+
+    public long getLineCount() {
+        return lines.get();
+    }
+
+    public long getTicketCount() {
+        return tickets.get();
+    }
+
+    public long[] matchCounts(int... outcome) {
+        int a = outcome[0] - 1, b = outcome[1] - 1, c = outcome[2] - 1, d = outcome[3] - 1, e = outcome[4] - 1;
+        long[] counts = new long[LINE_SIZE + 1];
+        fillMatchCounts(a, b, c, d, e, counts);
+        return counts;
+    }
+
+    /**
+     * @param prizeCents      per-winner amount of fixed tiers, indexed by match count
+     * @param allocationCents pool allocation of pari-mutuel tiers, paid out in full once the tier has a winner
+     */
+    public ExposureReport sweep(ForkJoinPool pool, long[] prizeCents, long[] allocationCents) {
+        long startedAt = System.nanoTime();
+        WorstOutcome worst = pool.invoke(new SweepTask(0, POOL_SIZE - LINE_SIZE + 1, prizeCents, allocationCents));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        long outcomes = CombinationUtils.binomial(POOL_SIZE, LINE_SIZE);
+        int[] outcome = worst.toNumbers();
+        return ExposureReport.builder()
+                .drawId(drawId)
+                .ticketCount(getTicketCount())
+                .lineCount(getLineCount())
+                .outcomesEvaluated(outcomes)
+                .maxPayoutCents(worst.payoutCents)
+                .expectedPayoutCents(Math.round(worst.payoutSumCents / outcomes))
+                .worstOutcome(outcome)
+                .worstOutcomeMatchCounts(matchCounts(outcome))
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private void fillMatchCounts(int a, int b, int c, int d, int e, long[] counts) {
+        AtomicIntegerArray pairs = subsetCounts[2];
+        AtomicIntegerArray triples = subsetCounts[3];
+        AtomicIntegerArray quads = subsetCounts[4];
+
+        long s5 = subsetCounts[5].get(rank5(a, b, c, d, e));
+        long s4 = quads.get(rank4(a, b, c, d)) + quads.get(rank4(a, b, c, e)) + quads.get(rank4(a, b, d, e))
+                + quads.get(rank4(a, c, d, e)) + quads.get(rank4(b, c, d, e));
+        long s3 = triples.get(rank3(a, b, c)) + triples.get(rank3(a, b, d)) + triples.get(rank3(a, b, e))
+                + triples.get(rank3(a, c, d)) + triples.get(rank3(a, c, e)) + triples.get(rank3(a, d, e))
+                + triples.get(rank3(b, c, d)) + triples.get(rank3(b, c, e)) + triples.get(rank3(b, d, e))
+                + triples.get(rank3(c, d, e));
+        long s2 = pairs.get(rank2(a, b)) + pairs.get(rank2(a, c)) + pairs.get(rank2(a, d)) + pairs.get(rank2(a, e))
+                + pairs.get(rank2(b, c)) + pairs.get(rank2(b, d)) + pairs.get(rank2(b, e))
+                + pairs.get(rank2(c, d)) + pairs.get(rank2(c, e)) + pairs.get(rank2(d, e));
+
+        // A line matching exactly k numbers contains C(k, j) of the outcome's j-subsets.
+        counts[5] = s5;
+        counts[4] = s4 - 5 * counts[5];
+        counts[3] = s3 - 4 * counts[4] - 10 * counts[5];
+        counts[2] = s2 - 3 * counts[3] - 6 * counts[4] - 10 * counts[5];
+    }
+
+    private static int rank2(int a, int b) {
+        return (int) (a + CombinationUtils.binomial(b, 2));
+    }
+
+    private static int rank3(int a, int b, int c) {
+        return (int) (a + CombinationUtils.binomial(b, 2) + CombinationUtils.binomial(c, 3));
+    }
+
+    private static int rank4(int a, int b, int c, int d) {
+        return (int) (a + CombinationUtils.binomial(b, 2) + CombinationUtils.binomial(c, 3)
+                + CombinationUtils.binomial(d, 4));
+    }
+
+    private static int rank5(int a, int b, int c, int d, int e) {
+        return (int) (a + CombinationUtils.binomial(b, 2) + CombinationUtils.binomial(c, 3)
+                + CombinationUtils.binomial(d, 4) + CombinationUtils.binomial(e, 5));
+    }
+
+    private static final class WorstOutcome {
+        private long payoutCents = -1;
+        private double payoutSumCents;
+        private int a, b, c, d, e;
+
+        private int[] toNumbers() {
+            return new int[]{a + 1, b + 1, c + 1, d + 1, e + 1};
+        }
+
+        private WorstOutcome merge(WorstOutcome other) {
+            WorstOutcome worst = other.payoutCents > payoutCents ? other : this;
+            worst.payoutSumCents = payoutSumCents + other.payoutSumCents;
+            return worst;
+        }
+    }
+
+    private final class SweepTask extends RecursiveTask<WorstOutcome> {
+
+        private final int fromFirst;
+        private final int toFirst;
+        private final long[] prizeCents;
+        private final long[] allocationCents;
+
+        private SweepTask(int fromFirst, int toFirst, long[] prizeCents, long[] allocationCents) {
+            this.fromFirst = fromFirst;
+            this.toFirst = toFirst;
+            this.prizeCents = prizeCents;
+            this.allocationCents = allocationCents;
+        }
+
+        @Override
+        protected WorstOutcome compute() {
+            if (toFirst - fromFirst > 1) {
+                int middle = (fromFirst + toFirst) >>> 1;
+                SweepTask left = new SweepTask(fromFirst, middle, prizeCents, allocationCents);
+                left.fork();
+                WorstOutcome right = new SweepTask(middle, toFirst, prizeCents, allocationCents).compute();
+                return left.join().merge(right);
+            }
+            return sweepFirst(fromFirst);
+        }
+
+        private WorstOutcome sweepFirst(int a) {
+            WorstOutcome worst = new WorstOutcome();
+            long[] counts = new long[LINE_SIZE + 1];
+            for (int b = a + 1; b < POOL_SIZE - 3; b++) {
+                for (int c = b + 1; c < POOL_SIZE - 2; c++) {
+                    for (int d = c + 1; d < POOL_SIZE - 1; d++) {
+                        for (int e = d + 1; e < POOL_SIZE; e++) {
+                            fillMatchCounts(a, b, c, d, e, counts);
+                            long payout = 0;
+                            for (int k = MIN_PRIZE_MATCHES; k <= LINE_SIZE; k++) {
+                                payout += counts[k] * prizeCents[k] + (counts[k] > 0 ? allocationCents[k] : 0);
+                            }
+                            worst.payoutSumCents += payout;
+                            if (payout > worst.payoutCents) {
+                                worst.payoutCents = payout;
+                                worst.a = a;
+                                worst.b = b;
+                                worst.c = c;
+                                worst.d = d;
+                                worst.e = e;
+                            }
+                        }
+                    }
+                }
+            }
+            return worst;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.assesment.lottofun.service.exposure;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ExposureReport {
+    private Long drawId;
+    private long ticketCount;
+    private long lineCount;
+    private long outcomesEvaluated;
+    private long maxPayoutCents;
+    private long expectedPayoutCents;
+    private int[] worstOutcome;
+    private long[] worstOutcomeMatchCounts;
+    private long elapsedMillis;
+}
@@ -0,0 +1,40 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Out of service while more than {@code lottery.health.maxPoolWaiters} threads wait for a database connection:
+ * requests sent here would queue behind them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    private final DataSource dataSource;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            builder.unknown();
+            return;
+        }
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int waiting = pool.getThreadsAwaitingConnection();
+        builder.status(waiting > prizeRulesConfig.getHealth().getMaxPoolWaiters() ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("max", hikari.getMaximumPoolSize())
+                .withDetail("waiting", waiting);
+    }
+}
@@ -0,0 +1,64 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares the active draw this node serves from its caches with the database. A mismatch right after a
+ * draw closes is normal until the invalidation arrives; one that lasts longer than
+ * {@code lottery.health.maxCacheStalenessSeconds}, or a lost invalidation listener, takes the node out of
+ * service because its clients would keep seeing a draw that has closed.
+ */
+@Component
+@RequiredArgsConstructor
+public class DrawCacheHealthIndicator extends AbstractHealthIndicator {
+
+    private final DrawService drawService;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    private volatile long staleSinceNanos;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        Long cachedDrawId = drawService.findActiveDraw().map(Draw::getId).orElse(null);
+        List<Long> databaseDrawIds = jdbcTemplate.queryForList(
+                "SELECT id FROM draws WHERE status = 'DRAW_OPEN' ORDER BY draw_date LIMIT 1", Long.class);
+        Long databaseDrawId = databaseDrawIds.isEmpty() ? null : databaseDrawIds.get(0);
+
+        Duration staleFor = staleFor(!Objects.equals(cachedDrawId, databaseDrawId));
+        boolean listening = cacheInvalidationBus.isListening();
+        boolean stale = staleFor.toSeconds() > prizeRulesConfig.getHealth().getMaxCacheStalenessSeconds();
+
+        builder.status(stale || !listening ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("cachedActiveDrawId", String.valueOf(cachedDrawId))
+                .withDetail("databaseActiveDrawId", String.valueOf(databaseDrawId))
+                .withDetail("staleSeconds", staleFor.toSeconds())
+                .withDetail("invalidationListener", listening ? "listening" : "reconnecting");
+    }
+
+    private Duration staleFor(boolean mismatch) {
+        long now = System.nanoTime();
+        if (!mismatch) {
+            staleSinceNanos = 0;
+            return Duration.ZERO;
+        }
+        if (staleSinceNanos == 0) {
+            staleSinceNanos = now;
+        }
+        return Duration.ofNanos(now - staleSinceNanos);
+    }
+}
@@ -0,0 +1,59 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.repository.DrawRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.service.DrawService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * How far the draw lifecycle is behind schedule across all nodes: tickets of closed draws still waiting
+ * for settlement, and how long ago the oldest draw that is not finalized reached its draw date. Down when
+ * that lag exceeds {@code lottery.health.maxFinalizationLagSeconds}. Not part of readiness, because every
+ * node would report the same and draining all of them would not settle anything faster.
+ */
+@Component
+@RequiredArgsConstructor
+public class DrawScheduleHealthIndicator extends AbstractHealthIndicator {
+
+    /**
+     * Listed rather than negated so the lookup can use the status index: nearly every draw is finalized.
+     */
+    static final List<DrawStatus> UNFINALIZED_STATUSES = List.of(
+            DrawStatus.DRAW_OPEN, DrawStatus.DRAW_CLOSED, DrawStatus.DRAW_EXTRACTED, DrawStatus.PAYMENTS_PROCESSING);
+
+    private final DrawRepository drawRepository;
+    private final TicketRepository ticketRepository;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Draw> oldestUnfinalized = drawRepository
+                .findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(UNFINALIZED_STATUSES, now);
+        long waitingTickets = ticketRepository
+                .countByDrawStatusInAndStatus(DrawService.UNSETTLED_STATUSES, TicketStatus.WAITING_FOR_DRAW);
+
+        Duration lag = oldestUnfinalized.map(draw -> Duration.between(draw.getDrawDate(), now)).orElse(Duration.ZERO);
+        Duration maxLag = Duration.ofSeconds(prizeRulesConfig.getHealth().getMaxFinalizationLagSeconds());
+
+        builder.status(lag.compareTo(maxLag) > 0 ? Status.DOWN : Status.UP)
+                .withDetail("waitingTickets", waitingTickets)
+                .withDetail("finalizationLagSeconds", lag.toSeconds());
+        oldestUnfinalized.ifPresent(draw -> builder
+                .withDetail("oldestUnfinalizedDrawId", draw.getId())
+                .withDetail("oldestUnfinalizedDrawStatus", draw.getStatus()));
+    }
+}
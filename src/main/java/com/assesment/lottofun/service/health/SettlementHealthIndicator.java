@@ -0,0 +1,33 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.service.scheduling.DrawSettlementPipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Out of service while a settlement on this node has run longer than {@code lottery.health.maxSettlementSeconds},
+ * so the load balancer takes user traffic off the node that is stuck settling.
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementHealthIndicator extends AbstractHealthIndicator {
+
+    private final DrawSettlementPipeline settlementPipeline;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        Duration longest = settlementPipeline.getLongestInFlight();
+        Duration max = Duration.ofSeconds(prizeRulesConfig.getHealth().getMaxSettlementSeconds());
+
+        builder.status(longest.compareTo(max) > 0 ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("inFlight", settlementPipeline.getInFlightCount())
+                .withDetail("longestRunningSeconds", longest.toSeconds());
+    }
+}
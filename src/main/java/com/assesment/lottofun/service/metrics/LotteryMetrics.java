@@ -0,0 +1,118 @@
+package com.assesment.lottofun.service.metrics;
+
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the draw lifecycle and the purchase path. Durations are passed as the {@link System#nanoTime()}
+ * the measured work started at, so callers need no timer plumbing.
+ * <ul>
+ *     <li>{@code lottery.draw.phase}: close, extract, settle and finalize of each draw;</li>
+ *     <li>{@code lottery.draw.lag}: how long after its draw date a draw was closed and finalized;</li>
+ *     <li>{@code lottery.settlement.batch}, {@code lottery.settlement.tickets} and
+ *     {@code lottery.settlement.throughput}: ticket settlement progress and speed;</li>
+ *     <li>{@code lottery.ticket.purchase}: purchase latency by outcome.</li>
+ * </ul>
+ */
+@Component
+public class LotteryMetrics {
+
+    public static final String PHASE_CLOSE = "close";
+    public static final String PHASE_EXTRACT = "extract";
+    public static final String PHASE_SETTLE = "settle";
+    public static final String PHASE_FINALIZE = "finalize";
+
+    private final MeterRegistry registry;
+    private final Timer settlementBatches;
+    private final Counter settledTickets;
+    private final DistributionSummary settlementThroughput;
+    private final Timer successfulPurchases;
+
+    public LotteryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.settlementBatches = Timer.builder("lottery.settlement.batch")
+                .description("Time to settle one batch of tickets")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.settledTickets = Counter.builder("lottery.settlement.tickets")
+                .description("Tickets settled")
+                .baseUnit("tickets")
+                .register(registry);
+        this.settlementThroughput = DistributionSummary.builder("lottery.settlement.throughput")
+                .description("Tickets settled per second, per draw")
+                .baseUnit("tickets.per.second")
+                .register(registry);
+        this.successfulPurchases = purchaseTimer("success", "none");
+    }
+
+    public void recordDrawPhase(String phase, long startedNanos) {
+        Timer.builder("lottery.draw.phase")
+                .description("Duration of a draw lifecycle phase")
+                .tag("phase", phase)
+                .register(registry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param stage {@link #PHASE_CLOSE} or {@link #PHASE_FINALIZE}
+     */
+    public void recordDrawLag(String stage, LocalDateTime drawDate) {
+        Duration lag = Duration.between(drawDate, LocalDateTime.now());
+        Timer.builder("lottery.draw.lag")
+                .description("Time between a draw's draw date and the scheduler reaching the stage")
+                .tag("stage", stage)
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void recordSettlementBatch(int tickets, long startedNanos) {
+        settlementBatches.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        settledTickets.increment(tickets);
+    }
+
+    /**
+     * Records the settle phase of a draw and its tickets-per-second rate.
+     */
+    public void recordSettlement(long tickets, long startedNanos) {
+        long elapsed = System.nanoTime() - startedNanos;
+        recordDrawPhase(PHASE_SETTLE, startedNanos);
+        if (tickets > 0 && elapsed > 0) {
+            settlementThroughput.record(tickets * 1e9 / elapsed);
+        }
+    }
+
+    /**
+     * @param failure the exception the purchase failed with, or null when it succeeded
+     */
+    public void recordPurchase(long startedNanos, RuntimeException failure) {
+        long elapsed = System.nanoTime() - startedNanos;
+        Timer timer = failure == null ? successfulPurchases
+                : purchaseTimer(isRejection(failure) ? "rejected" : "error", failure.getClass().getSimpleName());
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Failures the exception handler answers with a client error, as opposed to server errors.
+     */
+    private static boolean isRejection(RuntimeException failure) {
+        return failure instanceof BusinessException || failure instanceof ResourceNotFoundException;
+    }
+
+    private Timer purchaseTimer(String outcome, String exception) {
+        return Timer.builder("lottery.ticket.purchase")
+                .description("Ticket purchase latency, including the commit")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
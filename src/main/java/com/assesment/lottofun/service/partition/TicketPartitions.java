@@ -0,0 +1,117 @@
+package com.assesment.lottofun.service.partition;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.repository.TicketPartitionRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketPartitionRepository.TicketPartition;
+import com.assesment.lottofun.service.scheduling.SchedulerLeadership;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the range partitions of the {@code tickets} table in step with the draws. A partition covers
+ * {@code drawsPerPartition} consecutive draw ids. The scheduler leader creates them {@code drawsAhead} draws
+ * ahead of the latest draw, outside the transactions that open draws, and periodically moves partitions whose
+ * draws are past the retention period to the archive schema.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketPartitions {
+
+    private final TicketPartitionRepository partitionRepository;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final SchedulerLeadership leadership;
+    private final TaskScheduler taskScheduler;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate partitionTransaction;
+    private volatile long coveredToDrawId;
+
+    @PostConstruct
+    public void init() {
+        partitionTransaction = new TransactionTemplate(transactionManager);
+        partitionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Duration interval = Duration.ofMinutes(prizeRulesConfig.getPartitioning().getArchiveIntervalMinutes());
+        taskScheduler.scheduleWithFixedDelay(this::archiveExpiredOnLeader, interval);
+    }
+
+    /**
+     * Makes sure tickets can be stored for the latest draw and the {@code drawsAhead} draws after it, in a short
+     * transaction of its own. Only looks at the attached partitions once the latest draw gets within
+     * {@code drawsAhead} of the last one covered.
+     */
+    public void ensureAhead() {
+        long latestDrawId = partitionRepository.findLatestDrawId();
+        long lastDrawId = latestDrawId + prizeRulesConfig.getPartitioning().getDrawsAhead();
+        if (lastDrawId < coveredToDrawId) {
+            return;
+        }
+        coveredToDrawId = partitionTransaction.execute(status -> ensurePartitions(latestDrawId, lastDrawId));
+    }
+
+    /**
+     * Creates the missing partitions for all draws in {@code [firstDrawId, lastDrawId]} in the caller's
+     * transaction, for bulk loads that insert draws directly.
+     *
+     * @return the first draw id past the partitions checked
+     */
+    public long ensurePartitions(long firstDrawId, long lastDrawId) {
+        long size = drawsPerPartition();
+        Set<Long> attached = partitionRepository.findAttached().stream()
+                .map(TicketPartition::getFromDrawId)
+                .collect(Collectors.toSet());
+        long from = Math.floorDiv(firstDrawId, size) * size;
+        for (; from <= lastDrawId; from += size) {
+            if (!attached.contains(from)) {
+                partitionRepository.create(from, from + size);
+                log.info("Created ticket partition for draws {} to {}", from, from + size - 1);
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Archives every partition whose draws were all finalized before the retention period and whose prizes
+     * were all claimed. Must be called outside a transaction.
+     *
+     * @return number of partitions archived
+     */
+    public int archiveExpired(LocalDateTime now) {
+        LocalDateTime finalizedBefore = now.minusDays(prizeRulesConfig.getPartitioning().getRetentionDays());
+        int archived = 0;
+        for (TicketPartition partition : partitionRepository.findAttached()) {
+            if (partitionRepository.isExpired(partition, finalizedBefore)) {
+                partitionRepository.archive(partition);
+                log.info("Archived ticket partition {} for draws {} to {}", partition.getName(),
+                        partition.getFromDrawId(), partition.getToDrawId() - 1);
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private void archiveExpiredOnLeader() {
+        try {
+            if (leadership.isLeader()) {
+                archiveExpired(LocalDateTime.now());
+            }
+        } catch (Exception ex) {
+            log.error("Archiving expired ticket partitions failed, retrying on the next run", ex);
+        }
+    }
+
+    private long drawsPerPartition() {
+        return prizeRulesConfig.getPartitioning().getDrawsPerPartition();
+    }
+}
@@ -0,0 +1,234 @@
+package com.assesment.lottofun.service.purchase;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.exception.DrawNotAvailableException;
+import com.assesment.lottofun.exception.DuplicateTicketException;
+import com.assesment.lottofun.exception.InsufficientBalanceException;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional purchase path that forces a purchase to the local journal and lets a single
+ * writer drain the journal into the database in batches: one multi-row insert and one
+ * aggregated balance debit per batch instead of one transaction per ticket. A purchase is
+ * acknowledged once its batch is committed, so a rejected purchase (draw closed,
+ * insufficient balance, duplicate numbers) fails the request that made it. Uncommitted
+ * journal records are replayed on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupCommitPurchasePipeline {
+
+    static final String JOURNAL_FILE = "purchase-journal.dat";
+
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final TicketBulkRepository ticketBulkRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final UserSummaryCache userSummaryCache;
+
+    private final Map<String, Boolean> pendingLines = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<PurchaseOutcome>> awaitingCommit = new ConcurrentHashMap<>();
+
+    private PurchaseJournal journal;
+    private ScheduledExecutorService writer;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() throws IOException {
+        PrizeRulesConfig.Purchase config = prizeRulesConfig.getPurchase();
+        if (!config.isGroupCommit()) {
+            return;
+        }
+
+        Path directory = Path.of(config.getJournalDirectory());
+        if (!directory.isAbsolute()) {
+            throw new IllegalStateException("lottery.purchase.journalDirectory must be an absolute path, configured: "
+                    + directory);
+        }
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        journal = new PurchaseJournal(journalPath, config.getJournalSlots());
+        long pending = journal.getLastSequence() - journal.getCommittedSequence();
+        if (pending > 0) {
+            log.info("Replaying {} journaled purchases from {}", pending, journalPath);
+            drain();
+        }
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "purchase-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drainSafely,
+                config.getFlushIntervalMillis(), config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Journals the purchase and waits until the batch holding it is committed. The balance is checked
+     * and debited in that commit, under a lock on the user's row.
+     *
+     * @throws InsufficientBalanceException when the balance did not cover the purchase at commit
+     * @throws DrawNotAvailableException    when the draw closed before the purchase was committed
+     * @throws BusinessException            when the numbers were already bought for the draw, the journal
+     *                                      is full, the database rejected the record or the commit did not
+     *                                      happen in time
+     */
+    public JournaledPurchase submit(User user, Long drawId, long numbersMask, Money price) {
+        String line = user.getId() + ":" + drawId + ":" + numbersMask;
+        if (pendingLines.putIfAbsent(line, Boolean.TRUE) != null) {
+            throw new DuplicateTicketException("You have already purchased a ticket with these numbers for the current draw");
+        }
+
+        JournaledPurchase purchase;
+        CompletableFuture<PurchaseOutcome> outcome = new CompletableFuture<>();
+        try {
+            // The writer reads the journal under the same lock, so it cannot see the record before the future.
+            synchronized (journal) {
+                purchase = journal.append(user.getId(), drawId, numbersMask, price.getCents(),
+                        System.currentTimeMillis(), ThreadLocalRandom.current().nextInt());
+                awaitingCommit.put(purchase.getSequence(), outcome);
+            }
+        } catch (IllegalStateException ex) {
+            pendingLines.remove(line);
+            throw new BusinessException("Too many pending purchases, please try again");
+        }
+
+        switch (awaitCommit(purchase, outcome)) {
+            case STORED -> {
+                return purchase;
+            }
+            case DRAW_CLOSED -> throw new DrawNotAvailableException("The current active draw is no longer accepting tickets");
+            case INSUFFICIENT_BALANCE -> throw new InsufficientBalanceException("Insufficient balance");
+            case REJECTED -> throw new BusinessException("The purchase " + purchase.getTicketNumber()
+                    + " could not be stored and was not charged");
+            default -> throw new DuplicateTicketException("You have already purchased a ticket with these numbers for the current draw");
+        }
+    }
+
+    private PurchaseOutcome awaitCommit(JournaledPurchase purchase, CompletableFuture<PurchaseOutcome> outcome) {
+        try {
+            return outcome.get(prizeRulesConfig.getPurchase().getCommitTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            awaitingCommit.remove(purchase.getSequence());
+            // The purchase stays journaled and may still be stored, so the client must not assume it failed.
+            throw new BusinessException("The purchase " + purchase.getTicketNumber()
+                    + " could not be confirmed yet, check your tickets before buying again");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            awaitingCommit.remove(purchase.getSequence());
+            throw new BusinessException("The purchase " + purchase.getTicketNumber()
+                    + " could not be confirmed yet, check your tickets before buying again");
+        }
+    }
+
+    /**
+     * Writes every journaled purchase to the database; called before a draw is closed so
+     * that no purchase admitted for it misses its draw.
+     */
+    public void flush() {
+        if (isEnabled()) {
+            drain();
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception ex) {
+            log.error("Failed to drain purchase journal, retrying on next tick", ex);
+        }
+    }
+
+    private synchronized void drain() {
+        int batchSize = prizeRulesConfig.getPurchase().getBatchSize();
+        List<JournaledPurchase> batch;
+        while (!(batch = journal.uncommitted(batchSize)).isEmpty()) {
+            List<JournaledPurchase> purchases = batch;
+            List<PurchaseOutcome> outcomes = commit(purchases);
+            journal.markCommitted(purchases.get(purchases.size() - 1).getSequence());
+
+            for (int i = 0; i < purchases.size(); i++) {
+                JournaledPurchase purchase = purchases.get(i);
+                PurchaseOutcome outcome = outcomes.get(i);
+                pendingLines.remove(purchase.getUserId() + ":" + purchase.getDrawId() + ":" + purchase.getNumbersMask());
+
+                CompletableFuture<PurchaseOutcome> waiting = awaitingCommit.remove(purchase.getSequence());
+                if (waiting != null) {
+                    waiting.complete(outcome);
+                } else if (outcome != PurchaseOutcome.STORED) {
+                    // Replayed after a restart or given up by its request; no client was told it succeeded.
+                    log.warn("Journaled purchase {} of user {} for draw {} was not stored: {}",
+                            purchase.getTicketNumber(), purchase.getUserId(), purchase.getDrawId(), outcome);
+                }
+            }
+        }
+    }
+
+    /**
+     * Commits the purchases in one transaction. When a record breaks a constraint of the database (for example
+     * its draw has no ticket partition), the batch is split in halves until that record is alone, and the record
+     * is rejected so that the purchases behind it are not held up forever.
+     */
+    private List<PurchaseOutcome> commit(List<JournaledPurchase> purchases) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<PurchaseOutcome> stored = ticketBulkRepository.insertJournaled(purchases);
+                purchases.stream().map(JournaledPurchase::getUserId).distinct()
+                        .forEach(userSummaryCache::writeThrough);
+                return stored;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (purchases.size() == 1) {
+                JournaledPurchase purchase = purchases.get(0);
+                log.error("Rejecting journaled purchase {} of user {} for draw {}",
+                        purchase.getTicketNumber(), purchase.getUserId(), purchase.getDrawId(), ex);
+                return List.of(PurchaseOutcome.REJECTED);
+            }
+            int half = purchases.size() / 2;
+            List<PurchaseOutcome> outcomes = new ArrayList<>(commit(purchases.subList(0, half)));
+            outcomes.addAll(commit(purchases.subList(half, purchases.size())));
+            return outcomes;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        writer.shutdown();
+        drainSafely();
+        journal.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.assesment.lottofun.service.purchase;
+
+import com.assesment.lottofun.entity.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class JournaledPurchase {
+
+    private final long sequence;
+    private final long userId;
+    private final long drawId;
+    private final long numbersMask;
+    private final long priceCents;
+    private final long purchasedAtMillis;
+    private final int ticketSuffix;
+
+    public String getTicketNumber() {
+        return Ticket.ticketNumber(drawId, purchasedAtMillis, ticketSuffix);
+    }
+}
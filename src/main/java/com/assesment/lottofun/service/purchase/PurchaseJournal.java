@@ -0,0 +1,164 @@
+package com.assesment.lottofun.service.purchase;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fixed-size ring of 64 byte purchase records in a memory-mapped file. A record is
+ * forced to disk before {@link #append} returns; the header keeps the highest sequence
+ * that has been committed to the database, so everything above it is replayed on open.
+ */
+public class PurchaseJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x4C4A524E;
+    private static final int RECORD_SIZE = 64;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_SLOTS = 4;
+    private static final int HEADER_COMMITTED = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    private long committedSequence;
+    private long lastSequence;
+
+    public PurchaseJournal(Path path, int slots) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+
+        if (buffer.getInt(HEADER_MAGIC) == MAGIC) {
+            if (buffer.getInt(HEADER_SLOTS) != slots) {
+                throw new IllegalStateException("Purchase journal " + path + " was created with "
+                        + buffer.getInt(HEADER_SLOTS) + " slots, configured: " + slots);
+            }
+            this.slots = slots;
+            this.committedSequence = buffer.getLong(HEADER_COMMITTED);
+            this.lastSequence = Math.max(committedSequence, highestRecordedSequence());
+        } else {
+            this.slots = slots;
+            buffer.putInt(HEADER_MAGIC, MAGIC);
+            buffer.putInt(HEADER_SLOTS, slots);
+            buffer.putLong(HEADER_COMMITTED, 0);
+            buffer.force(0, HEADER_SIZE);
+        }
+    }
+
+    public synchronized JournaledPurchase append(long userId, long drawId, long numbersMask, long priceCents,
+                                                 long purchasedAtMillis, int ticketSuffix) {
+        if (lastSequence - committedSequence >= slots) {
+            throw new IllegalStateException("Purchase journal is full");
+        }
+        long sequence = lastSequence + 1;
+        int offset = offsetOf(sequence);
+
+        buffer.putLong(offset + 8, userId);
+        buffer.putLong(offset + 16, drawId);
+        buffer.putLong(offset + 24, numbersMask);
+        buffer.putLong(offset + 32, priceCents);
+        buffer.putLong(offset + 40, purchasedAtMillis);
+        buffer.putInt(offset + 48, ticketSuffix);
+        buffer.putInt(offset + 52, checksum(sequence, userId, drawId, numbersMask, priceCents, purchasedAtMillis, ticketSuffix));
+        buffer.putLong(offset, sequence);
+        buffer.force(offset, RECORD_SIZE);
+
+        lastSequence = sequence;
+        return new JournaledPurchase(sequence, userId, drawId, numbersMask, priceCents, purchasedAtMillis, ticketSuffix);
+    }
+
+    public synchronized List<JournaledPurchase> uncommitted(int limit) {
+        List<JournaledPurchase> records = new ArrayList<>();
+        for (long sequence = committedSequence + 1; sequence <= lastSequence && records.size() < limit; sequence++) {
+            JournaledPurchase record = read(offsetOf(sequence));
+            if (record != null && record.getSequence() == sequence) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    public synchronized void markCommitted(long sequence) {
+        if (sequence <= committedSequence) {
+            return;
+        }
+        committedSequence = sequence;
+        buffer.putLong(HEADER_COMMITTED, sequence);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    public synchronized long getCommittedSequence() {
+        return committedSequence;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private long highestRecordedSequence() {
+        List<JournaledPurchase> records = new ArrayList<>();
+        for (int slot = 0; slot < slots; slot++) {
+            JournaledPurchase record = read(HEADER_SIZE + slot * RECORD_SIZE);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records.stream()
+                .map(JournaledPurchase::getSequence)
+                .max(Comparator.naturalOrder())
+                .orElse(0L);
+    }
+
+    private JournaledPurchase read(int offset) {
+        long sequence = buffer.getLong(offset);
+        if (sequence == 0) {
+            return null;
+        }
+        long userId = buffer.getLong(offset + 8);
+        long drawId = buffer.getLong(offset + 16);
+        long numbersMask = buffer.getLong(offset + 24);
+        long priceCents = buffer.getLong(offset + 32);
+        long purchasedAtMillis = buffer.getLong(offset + 40);
+        int ticketSuffix = buffer.getInt(offset + 48);
+        int checksum = buffer.getInt(offset + 52);
+
+        if (checksum != checksum(sequence, userId, drawId, numbersMask, priceCents, purchasedAtMillis, ticketSuffix)) {
+            return null;
+        }
+        return new JournaledPurchase(sequence, userId, drawId, numbersMask, priceCents, purchasedAtMillis, ticketSuffix);
+    }
+
+    private int offsetOf(long sequence) {
+        return HEADER_SIZE + (int) ((sequence - 1) % slots) * RECORD_SIZE;
+    }
+
+    private static int checksum(long sequence, long userId, long drawId, long numbersMask, long priceCents,
+                                long purchasedAtMillis, int ticketSuffix) {
+        long hash = sequence;
+        hash = 31 * hash + userId;
+        hash = 31 * hash + drawId;
+        hash = 31 * hash + numbersMask;
+        hash = 31 * hash + priceCents;
+        hash = 31 * hash + purchasedAtMillis;
+        hash = 31 * hash + ticketSuffix;
+        return Long.hashCode(hash);
+    }
+}
@@ -0,0 +1,13 @@
+package com.assesment.lottofun.service.purchase;
+
+/**
+ * What the group commit did with one journaled purchase.
+ */
+public enum PurchaseOutcome {
+    STORED,
+    DRAW_CLOSED,
+    INSUFFICIENT_BALANCE,
+    DUPLICATE,
+    /** The database refused the record itself, so it was dropped without a debit. */
+    REJECTED
+}
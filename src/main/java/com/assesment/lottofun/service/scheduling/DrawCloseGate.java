@@ -0,0 +1,79 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.exception.DrawNotAvailableException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process cut-over between purchases and the draw closer. The gate's epoch is the highest draw id
+ * closed on this node: a purchase is admitted only while its draw is above the epoch, and the closer
+ * raises the epoch and then waits for the purchases already admitted to finish. Purchases never lock;
+ * they pay one atomic increment and one read. Draws this node has not closed are always admitted, the
+ * database fence in the purchase transaction covers purchases racing a closer on another node.
+ */
+@Component
+public class DrawCloseGate {
+
+    private static final long DRAIN_POLL_NANOS = 100_000;
+
+    private final AtomicLong closedEpoch = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Admits a purchase for the draw until the current transaction completes, or until {@link #exit()}
+     * when called outside a transaction.
+     */
+    public void admit(Long drawId) {
+        inFlight.incrementAndGet();
+        if (drawId <= closedEpoch.get()) {
+            exit();
+            throw new DrawNotAvailableException("The current active draw is no longer accepting tickets");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    exit();
+                }
+            });
+        }
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Stops admitting purchases for the draw and every earlier one, then waits up to {@code drainTimeout}
+     * for admitted purchases to complete.
+     *
+     * @return false when purchases were still in flight after the timeout
+     */
+    public boolean close(Long drawId, Duration drainTimeout) {
+        closedEpoch.accumulateAndGet(drawId, Math::max);
+
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(DRAIN_POLL_NANOS);
+        }
+        return true;
+    }
+
+    public long getClosedEpoch() {
+        return closedEpoch.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,104 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts and settles closed draws on a fixed set of workers. With one worker draws are settled strictly
+ * one after another; in rapid-draw mode several consecutive draws are settled at the same time while the
+ * scheduler keeps closing new ones. At most one draw per worker is in flight, so nothing queues up
+ * behind a slow settlement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DrawSettlementPipeline {
+
+    private final DrawService drawService;
+    private final PrizeRulesConfig prizeRulesConfig;
+    private final LotteryMetrics lotteryMetrics;
+
+    private final Map<Long, Long> inFlightSince = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+    private int workerCount;
+
+    @PostConstruct
+    public void start() {
+        PrizeRulesConfig.Rapid rapid = prizeRulesConfig.getDraw().getRapid();
+        workerCount = rapid.isEnabled() ? rapid.getSettlementWorkers() : 1;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "draw-settlement-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Hands the oldest unsettled draws that are not already being settled to idle workers.
+     */
+    public void dispatch() {
+        int idle = workerCount - inFlightSince.size();
+        if (idle <= 0) {
+            return;
+        }
+
+        for (Draw draw : drawService.findUnsettledDraws(workerCount)) {
+            if (inFlightSince.size() >= workerCount) {
+                return;
+            }
+            Long drawId = draw.getId();
+            if (inFlightSince.putIfAbsent(drawId, System.nanoTime()) == null) {
+                workers.execute(() -> settle(drawId));
+            }
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlightSince.size();
+    }
+
+    /**
+     * How long the oldest settlement still running on this node has been running, zero when none is.
+     */
+    public Duration getLongestInFlight() {
+        long now = System.nanoTime();
+        return Duration.ofNanos(inFlightSince.values().stream().mapToLong(since -> now - since).max().orElse(0));
+    }
+
+    void settle(Long drawId) {
+        try {
+            long startedAt = System.nanoTime();
+            drawService.extract(drawId);
+            lotteryMetrics.recordDrawPhase(LotteryMetrics.PHASE_EXTRACT, startedAt);
+            drawService.settle(drawId);
+            log.info("Draw {} extracted and settled in {} ms", drawId, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception ex) {
+            log.error("Settlement of draw {} failed, retrying on the next poll", drawId, ex);
+        } finally {
+            inFlightSince.remove(drawId);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+}
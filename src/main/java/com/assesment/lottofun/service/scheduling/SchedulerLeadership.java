@@ -0,0 +1,92 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.jdbc.SessionConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Draw scheduler leadership backed by a session-level PostgreSQL advisory lock. The leader keeps the
+ * connection that holds the lock, opened outside the connection pool; when the leader dies its session
+ * ends, the lock is released and the next follower to poll takes over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLeadership {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final SessionConnectionFactory connectionFactory;
+    private final PrizeRulesConfig prizeRulesConfig;
+
+    private Connection lockConnection;
+
+    /**
+     * @return whether this node holds the scheduler lock, acquiring it if it is free
+     */
+    public synchronized boolean acquire() throws SQLException {
+        if (lockConnection != null) {
+            if (lockConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+            log.warn("Lost draw scheduler leadership, lock connection is no longer valid");
+            closeQuietly(lockConnection);
+            lockConnection = null;
+        }
+
+        Connection candidate = connectionFactory.open();
+        boolean acquired = false;
+        try (PreparedStatement statement = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, prizeRulesConfig.getScheduler().getLeaderLockKey());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                acquired = resultSet.next() && resultSet.getBoolean(1);
+            }
+        } finally {
+            if (!acquired) {
+                closeQuietly(candidate);
+            }
+        }
+
+        if (acquired) {
+            lockConnection = candidate;
+            log.info("Acquired draw scheduler leadership");
+        }
+        return acquired;
+    }
+
+    public synchronized boolean isLeader() {
+        return lockConnection != null;
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (lockConnection == null) {
+            return;
+        }
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, prizeRulesConfig.getScheduler().getLeaderLockKey());
+            statement.execute();
+        } catch (SQLException ex) {
+            log.warn("Failed to release draw scheduler lock", ex);
+        } finally {
+            closeQuietly(lockConnection);
+            lockConnection = null;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Failed to close scheduler lock connection", ex);
+        }
+    }
+}
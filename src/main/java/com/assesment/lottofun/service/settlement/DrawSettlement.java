@@ -0,0 +1,120 @@
+package com.assesment.lottofun.service.settlement;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawTierResult;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.configuration.PrizeTier;
+import com.assesment.lottofun.util.CombinationUtils;
+import com.assesment.lottofun.util.NumberUtils;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class DrawSettlement {
+
+    public static final int MAX_MATCHES = NumberUtils.LINE_NUMBER_COUNT;
+    public static final int MAX_PICKED = NumberUtils.MAX_SYSTEM_NUMBER_COUNT;
+
+    private final Money[] prizeByMatch;
+    private final Money[][] ticketPrizes;
+    private final List<DrawTierResult> tierResults;
+    private final Money totalPayout;
+    private final Money rolloverAmount;
+
+    private DrawSettlement(Money[] prizeByMatch, Money[][] ticketPrizes, List<DrawTierResult> tierResults,
+                           Money totalPayout, Money rolloverAmount) {
+        this.prizeByMatch = prizeByMatch;
+        this.ticketPrizes = ticketPrizes;
+        this.tierResults = tierResults;
+        this.totalPayout = totalPayout;
+        this.rolloverAmount = rolloverAmount;
+    }
+
+    /**
+     * @param ticketsByPickedAndMatch waiting tickets indexed by the amount of numbers played and
+     *                                the amount of those numbers that were drawn
+     */
+    public static DrawSettlement calculate(Draw draw, List<PrizeTier> tiers, long[][] ticketsByPickedAndMatch) {
+        long[] winnersByMatch = winningLinesByMatch(ticketsByPickedAndMatch);
+
+        Money prizePool = draw.getTotalPrizePool();
+        Money[] prizeByMatch = new Money[MAX_MATCHES + 1];
+        List<DrawTierResult> tierResults = new ArrayList<>();
+        Money totalPayout = Money.ZERO;
+        Money rollover = Money.ZERO;
+
+        for (PrizeTier tier : tiers) {
+            long winners = winnersByMatch[tier.getMatchCount()];
+            Money prizePerWinner = tier.prizePerWinner(winners, prizePool);
+            Money tierPayout = tier.tierPayout(winners, prizePool);
+
+            prizeByMatch[tier.getMatchCount()] = prizePerWinner;
+            totalPayout = totalPayout.plus(tierPayout);
+            rollover = rollover.plus(tier.poolAllocation(prizePool).minus(tierPayout).max(Money.ZERO));
+
+            tierResults.add(DrawTierResult.builder()
+                    .draw(draw)
+                    .matchCount(tier.getMatchCount())
+                    .tierType(tier.getType())
+                    .winnerCount(winners)
+                    .prizePerWinner(prizePerWinner)
+                    .tierPayout(tierPayout)
+                    .build());
+        }
+
+        return new DrawSettlement(prizeByMatch, ticketPrizes(prizeByMatch), tierResults, totalPayout, rollover);
+    }
+
+    // A system entry of k numbers with m drawn plays C(m, j) * C(k - m, 5 - j) lines matching j numbers.
+    private static long[] winningLinesByMatch(long[][] ticketsByPickedAndMatch) {
+        long[] lines = new long[MAX_MATCHES + 1];
+        for (int picked = MAX_MATCHES; picked < ticketsByPickedAndMatch.length; picked++) {
+            for (int matched = 0; matched <= MAX_MATCHES; matched++) {
+                long tickets = ticketsByPickedAndMatch[picked][matched];
+                if (tickets == 0) continue;
+                for (int lineMatches = 0; lineMatches <= matched; lineMatches++) {
+                    lines[lineMatches] += tickets * CombinationUtils.linesMatching(picked, matched, MAX_MATCHES, lineMatches);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Money[][] ticketPrizes(Money[] prizeByMatch) {
+        Money[][] prizes = new Money[MAX_PICKED + 1][MAX_MATCHES + 1];
+        for (int picked = MAX_MATCHES; picked <= MAX_PICKED; picked++) {
+            for (int matched = 0; matched <= MAX_MATCHES; matched++) {
+                Money prize = null;
+                for (int lineMatches = 0; lineMatches <= matched; lineMatches++) {
+                    long lines = CombinationUtils.linesMatching(picked, matched, MAX_MATCHES, lineMatches);
+                    if (lines > 0 && prizeByMatch[lineMatches] != null) {
+                        Money linePrize = prizeByMatch[lineMatches].times(lines);
+                        prize = prize != null ? prize.plus(linePrize) : linePrize;
+                    }
+                }
+                prizes[picked][matched] = prize;
+            }
+        }
+        return prizes;
+    }
+
+    public Money prizeFor(int matchCount) {
+        return prizeFor(MAX_MATCHES, matchCount);
+    }
+
+    public Money prizeFor(int pickedCount, int matchCount) {
+        Money prize = ticketPrizes[pickedCount][matchCount];
+        return prize != null ? prize : Money.ZERO;
+    }
+
+    public TicketStatus statusFor(int matchCount) {
+        return statusFor(MAX_MATCHES, matchCount);
+    }
+
+    public TicketStatus statusFor(int pickedCount, int matchCount) {
+        return ticketPrizes[pickedCount][matchCount] != null ? TicketStatus.WON : TicketStatus.NOT_WON;
+    }
+}
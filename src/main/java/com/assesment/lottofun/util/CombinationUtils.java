@@ -0,0 +1,47 @@
+package com.assesment.lottofun.util;
+
+public class CombinationUtils {
+
+    private CombinationUtils() {
+    }
+
+    private static final int MAX_N = 64;
+    private static final long[][] BINOMIAL = new long[MAX_N + 1][MAX_N + 1];
+
+    static {
+        for (int n = 0; n <= MAX_N; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    public static long binomial(int n, int k) {
+        if (n < 0 || k < 0 || k > n) {
+            return 0;
+        }
+        return BINOMIAL[n][k];
+    }
+
+    /**
+     * Number of {@code lineSize} lines of a {@code picked}-number system entry that match exactly
+     * {@code lineMatches} numbers, when {@code matched} of the picked numbers were drawn.
+     */
+    public static long linesMatching(int picked, int matched, int lineSize, int lineMatches) {
+        return binomial(matched, lineMatches) * binomial(picked - matched, lineSize - lineMatches);
+    }
+
+    /**
+     * Colexicographic rank of the first {@code size} values of a strictly ascending, zero-based combination
+     * (combinatorial number system), so every k-subset of {0..n-1} maps to a
+     * dense index in [0, C(n, k)).
+     */
+    public static int rank(int[] sortedValues, int size) {
+        long rank = 0;
+        for (int i = 0; i < size; i++) {
+            rank += BINOMIAL[sortedValues[i]][i + 1];
+        }
+        return (int) rank;
+    }
+}
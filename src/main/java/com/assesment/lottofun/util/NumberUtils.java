@@ -10,7 +10,8 @@ public class NumberUtils {
     private NumberUtils() {
     }
 
-    private static final int REQUIRED_NUMBER_COUNT = 5;
+    public static final int LINE_NUMBER_COUNT = 5;
+    public static final int MAX_SYSTEM_NUMBER_COUNT = 10;
     private static final int MIN_NUMBER = 1;
     private static final int MAX_NUMBER = 49;
     private static final String DELIMITER = ",";
@@ -55,10 +56,10 @@ public class NumberUtils {
             throw new BusinessException("Numbers cannot be null or empty");
         }
 
-        if (numbers.size() != REQUIRED_NUMBER_COUNT) {
+        if (numbers.size() < LINE_NUMBER_COUNT || numbers.size() > MAX_SYSTEM_NUMBER_COUNT) {
             throw new BusinessException(
-                    String.format("Exactly %d numbers must be selected, but got %d",
-                            REQUIRED_NUMBER_COUNT, numbers.size())
+                    String.format("Between %d and %d numbers must be selected, but got %d",
+                            LINE_NUMBER_COUNT, MAX_SYSTEM_NUMBER_COUNT, numbers.size())
             );
         }
 
@@ -75,6 +76,38 @@ public class NumberUtils {
         }
     }
 
+    public static long toBitmask(Set<Integer> numbers) {
+        long mask = 0L;
+        if (numbers == null) {
+            return mask;
+        }
+        for (Integer number : numbers) {
+            mask |= 1L << (number - 1);
+        }
+        return mask;
+    }
+
+    public static long toBitmask(String numbersString) {
+        return toBitmask(stringToNumbers(numbersString));
+    }
+
+    public static int[] bitmaskToNumbers(long mask) {
+        int[] numbers = new int[Long.bitCount(mask)];
+        int index = 0;
+        long remaining = mask;
+        while (remaining != 0) {
+            numbers[index++] = Long.numberOfTrailingZeros(remaining) + 1;
+            remaining &= remaining - 1;
+        }
+        return numbers;
+    }
+
+    public static String bitmaskToString(long mask) {
+        return Arrays.stream(bitmaskToNumbers(mask))
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(DELIMITER));
+    }
+
     public static int calculateMatches(String selectedNumbers, String winningNumbers) {
         Set<Integer> selectedSet = stringToNumbers(selectedNumbers);
         Set<Integer> winningSet = stringToNumbers(winningNumbers);
@@ -0,0 +1,79 @@
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255)   NOT NULL,
+    password   VARCHAR(255)   NOT NULL,
+    first_name VARCHAR(255)   NOT NULL,
+    last_name  VARCHAR(255)   NOT NULL,
+    balance    NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE draws (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    draw_date             TIMESTAMP(6) NOT NULL,
+    status                VARCHAR(255) NOT NULL,
+    winning_numbers       VARCHAR(255),
+    total_prize_pool      NUMERIC(12, 2),
+    total_payout          NUMERIC(14, 2),
+    rollover_amount       NUMERIC(12, 2),
+    executed_at           TIMESTAMP(6),
+    prizes_distributed_at TIMESTAMP(6),
+    created_at            TIMESTAMP(6),
+    updated_at            TIMESTAMP(6),
+    CONSTRAINT ck_draws_status CHECK (status IN
+        ('DRAW_OPEN', 'DRAW_CLOSED', 'DRAW_EXTRACTED', 'PAYMENTS_PROCESSING', 'DRAW_FINALIZED'))
+);
+
+CREATE TABLE draw_tier_results (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    draw_id          BIGINT         NOT NULL,
+    match_count      INTEGER        NOT NULL,
+    tier_type        VARCHAR(255)   NOT NULL,
+    winner_count     BIGINT         NOT NULL,
+    prize_per_winner NUMERIC(12, 2) NOT NULL,
+    tier_payout      NUMERIC(14, 2) NOT NULL,
+    CONSTRAINT uk_draw_tier UNIQUE (draw_id, match_count),
+    CONSTRAINT ck_draw_tier_results_tier_type CHECK (tier_type IN ('FIXED', 'PARI_MUTUEL')),
+    CONSTRAINT fk_draw_tier_results_draw FOREIGN KEY (draw_id) REFERENCES draws (id)
+);
+
+CREATE TABLE subscriptions (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT         NOT NULL,
+    selected_numbers VARCHAR(255)   NOT NULL,
+    numbers_mask     BIGINT         NOT NULL,
+    price_per_draw   NUMERIC(10, 2) NOT NULL,
+    total_draws      INTEGER        NOT NULL,
+    draws_remaining  INTEGER        NOT NULL,
+    last_draw_id     BIGINT,
+    status           VARCHAR(255)   NOT NULL,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT ck_subscriptions_status CHECK (status IN
+        ('ACTIVE', 'SUSPENDED_INSUFFICIENT_BALANCE', 'COMPLETED', 'CANCELLED')),
+    CONSTRAINT fk_subscriptions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tickets (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ticket_number      VARCHAR(255) NOT NULL,
+    user_id            BIGINT,
+    draw_id            BIGINT,
+    subscription_id    BIGINT,
+    selected_numbers   VARCHAR(255) NOT NULL,
+    numbers_mask       BIGINT,
+    purchase_price     NUMERIC(8, 2) NOT NULL,
+    purchase_timestamp TIMESTAMP(6),
+    status             VARCHAR(255) NOT NULL,
+    match_count        INTEGER,
+    prize_amount       NUMERIC(10, 2),
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT uk_tickets_ticket_number UNIQUE (ticket_number),
+    CONSTRAINT uk_user_draw_numbers UNIQUE (user_id, draw_id, selected_numbers),
+    CONSTRAINT ck_tickets_status CHECK (status IN ('WAITING_FOR_DRAW', 'WON', 'NOT_WON', 'PRIZE_CLAIMED')),
+    CONSTRAINT fk_tickets_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_tickets_draw FOREIGN KEY (draw_id) REFERENCES draws (id),
+    CONSTRAINT fk_tickets_subscription FOREIGN KEY (subscription_id) REFERENCES subscriptions (id)
+);
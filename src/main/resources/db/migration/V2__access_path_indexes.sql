@@ -0,0 +1,14 @@
+-- Scheduler: the oldest draw in a status that is due (getLockDueDraw, findFirstByStatus...OrderByDrawDateAsc).
+CREATE INDEX idx_draws_status_draw_date ON draws (status, draw_date);
+
+-- Draw history pages, newest first.
+CREATE INDEX idx_draws_draw_date ON draws (draw_date);
+
+-- Settlement: keyset walk over the tickets of a draw in one status, and the exposure/mask scans.
+CREATE INDEX idx_tickets_draw_status ON tickets (draw_id, status, id);
+
+-- A user's ticket list, newest first; also serves the per-user ticket count of the profile summary.
+CREATE INDEX idx_tickets_user_purchased ON tickets (user_id, purchase_timestamp DESC);
+
+-- Winning and claimable tickets of a user. Only a few percent of tickets win, so the index stays small.
+CREATE INDEX idx_tickets_user_won ON tickets (user_id, purchase_timestamp DESC) WHERE status = 'WON';
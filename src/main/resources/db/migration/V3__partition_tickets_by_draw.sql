@@ -0,0 +1,60 @@
+-- Tickets are partitioned by ranges of ${drawsPerPartition} draw ids. Queries filtered by draw only read the
+-- partition of that draw, and whole ranges of old draws can be detached without touching the rest.
+-- Partitions for new draws are created by the application when a draw is opened (TicketPartitions).
+
+CREATE SCHEMA IF NOT EXISTS ticket_archive;
+
+ALTER TABLE tickets RENAME TO tickets_unpartitioned;
+
+CREATE TABLE tickets (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ticket_number      VARCHAR(255) NOT NULL,
+    user_id            BIGINT,
+    draw_id            BIGINT       NOT NULL,
+    subscription_id    BIGINT,
+    selected_numbers   VARCHAR(255) NOT NULL,
+    numbers_mask       BIGINT,
+    purchase_price     NUMERIC(8, 2) NOT NULL,
+    purchase_timestamp TIMESTAMP(6),
+    status             VARCHAR(255) NOT NULL,
+    match_count        INTEGER,
+    prize_amount       NUMERIC(10, 2),
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT ck_tickets_status CHECK (status IN ('WAITING_FOR_DRAW', 'WON', 'NOT_WON', 'PRIZE_CLAIMED'))
+) PARTITION BY RANGE (draw_id);
+
+DO $$
+DECLARE
+    partition_size CONSTANT BIGINT := ${drawsPerPartition};
+    last_draw_id   BIGINT := (SELECT COALESCE(MAX(id), 0) FROM draws);
+    lower_bound    BIGINT := 0;
+BEGIN
+    WHILE lower_bound <= last_draw_id LOOP
+        EXECUTE format('CREATE TABLE tickets_%s PARTITION OF tickets FOR VALUES FROM (%s) TO (%s)',
+                       lower_bound, lower_bound, lower_bound + partition_size);
+        lower_bound := lower_bound + partition_size;
+    END LOOP;
+END $$;
+
+INSERT INTO tickets (id, ticket_number, user_id, draw_id, subscription_id, selected_numbers, numbers_mask,
+                     purchase_price, purchase_timestamp, status, match_count, prize_amount, updated_at)
+SELECT id, ticket_number, user_id, draw_id, subscription_id, selected_numbers, numbers_mask,
+       purchase_price, purchase_timestamp, status, match_count, prize_amount, updated_at
+FROM tickets_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('tickets', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM tickets;
+
+DROP TABLE tickets_unpartitioned;
+
+-- Unique constraints of a partitioned table have to contain the partition key.
+ALTER TABLE tickets
+    ADD CONSTRAINT pk_tickets PRIMARY KEY (id, draw_id),
+    ADD CONSTRAINT uk_tickets_ticket_number UNIQUE (ticket_number, draw_id),
+    ADD CONSTRAINT uk_user_draw_numbers UNIQUE (user_id, draw_id, selected_numbers),
+    ADD CONSTRAINT fk_tickets_user FOREIGN KEY (user_id) REFERENCES users (id),
+    ADD CONSTRAINT fk_tickets_draw FOREIGN KEY (draw_id) REFERENCES draws (id),
+    ADD CONSTRAINT fk_tickets_subscription FOREIGN KEY (subscription_id) REFERENCES subscriptions (id);
+
+CREATE INDEX idx_tickets_draw_status ON tickets (draw_id, status, id);
+CREATE INDEX idx_tickets_user_purchased ON tickets (user_id, purchase_timestamp DESC);
+CREATE INDEX idx_tickets_user_won ON tickets (user_id, purchase_timestamp DESC) WHERE status = 'WON';
@@ -3,7 +3,6 @@ package com.assesment.lottofun.entity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,7 +17,7 @@ class DrawTest {
                 .id(1L)
                 .status(DrawStatus.DRAW_OPEN)
                 .drawDate(LocalDateTime.now().plusHours(1))
-                .totalPrizePool(BigDecimal.valueOf(10000000.00))
+                .totalPrizePool(Money.of(10000000))
                 .build();
     }
 
@@ -109,8 +108,28 @@ class DrawTest {
     }
 
     @Test
-    void setAsFinalized_ShouldChangeStatusAndSetPrizesDistributedAt_WhenDrawIsExtracted() {
+    void setAsPaymentsProcessing_ShouldChangeStatus_WhenDrawIsExtracted() {
         draw.setStatus(DrawStatus.DRAW_EXTRACTED);
+
+        draw.setAsPaymentsProcessing();
+
+        assertEquals(DrawStatus.PAYMENTS_PROCESSING, draw.getStatus());
+    }
+
+    @Test
+    void setAsPaymentsProcessing_ShouldThrowException_WhenDrawIsNotExtracted() {
+        draw.setStatus(DrawStatus.DRAW_CLOSED);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            draw.setAsPaymentsProcessing();
+        });
+
+        assertTrue(exception.getMessage().contains("DRAW_CLOSED"));
+    }
+
+    @Test
+    void setAsFinalized_ShouldChangeStatusAndSetPrizesDistributedAt_WhenPaymentsAreProcessing() {
+        draw.setStatus(DrawStatus.PAYMENTS_PROCESSING);
         LocalDateTime beforeFinalization = LocalDateTime.now();
 
         draw.setAsFinalized();
@@ -122,14 +141,14 @@ class DrawTest {
     }
 
     @Test
-    void setAsFinalized_ShouldThrowException_WhenDrawIsNotExtracted() {
+    void setAsFinalized_ShouldThrowException_WhenPaymentsAreNotProcessing() {
         draw.setStatus(DrawStatus.DRAW_CLOSED);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
             draw.setAsFinalized();
         });
 
-        assertTrue(exception.getMessage().contains("Draw can only be finalized from DRAW_EXTRACTED status"));
+        assertTrue(exception.getMessage().contains("Draw can only be finalized from PAYMENTS_PROCESSING status"));
         assertTrue(exception.getMessage().contains("DRAW_CLOSED"));
     }
 
@@ -142,7 +161,7 @@ class DrawTest {
         assertNotNull(newDraw);
         assertEquals(scheduledDate, newDraw.getDrawDate());
         assertEquals(DrawStatus.DRAW_OPEN, newDraw.getStatus());
-        assertEquals(BigDecimal.valueOf(10_000_000.00), newDraw.getTotalPrizePool());
+        assertEquals(Money.of(10_000_000), newDraw.getTotalPrizePool());
         assertNull(newDraw.getId());
         assertNull(newDraw.getWinningNumbers());
         assertNull(newDraw.getExecutedAt());
@@ -199,6 +218,9 @@ class DrawTest {
         assertNotNull(draw.getWinningNumbers());
         assertNotNull(draw.getExecutedAt());
 
+        draw.setAsPaymentsProcessing();
+        assertEquals(DrawStatus.PAYMENTS_PROCESSING, draw.getStatus());
+
         draw.setAsFinalized();
         assertEquals(DrawStatus.DRAW_FINALIZED, draw.getStatus());
         assertNotNull(draw.getPrizesDistributedAt());
@@ -209,6 +231,6 @@ class DrawTest {
         Draw draw = Draw.builder().build();
 
         assertEquals(DrawStatus.DRAW_OPEN, draw.getStatus());
-        assertEquals(BigDecimal.ZERO, draw.getTotalPrizePool());
+        assertEquals(Money.ZERO, draw.getTotalPrizePool());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.assesment.lottofun.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_ShouldConvertBigDecimalToCents() {
+        assertEquals(1050, Money.of(new BigDecimal("10.50")).getCents());
+        assertEquals(1000, Money.of(BigDecimal.valueOf(10)).getCents());
+        assertNull(Money.of((BigDecimal) null));
+    }
+
+    @Test
+    void of_ShouldRejectFractionsOfCents() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void toBigDecimal_ShouldUseTwoDecimalPlaces() {
+        assertEquals(new BigDecimal("10.50"), Money.ofCents(1050).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+    }
+
+    @Test
+    void arithmetic_ShouldOperateOnCents() {
+        Money price = Money.of(10);
+
+        assertEquals(Money.of(30), price.times(3));
+        assertEquals(Money.of(20), price.plus(Money.of(10)));
+        assertEquals(Money.ofCents(750), price.minus(Money.ofCents(250)));
+        assertEquals(Money.ofCents(333), price.dividedBy(3));
+    }
+
+    @Test
+    void times_ShouldRoundShareDown() {
+        assertEquals(Money.ofCents(1_000_000_00), Money.of(10_000_000).times(new BigDecimal("0.10")));
+        assertEquals(Money.ofCents(33), Money.ofCents(100).times(new BigDecimal("0.3333")));
+    }
+
+    @Test
+    void arithmetic_ShouldFailOnOverflow() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+    }
+
+    @Test
+    void comparisons_ShouldFollowCents() {
+        Money ten = Money.of(10);
+
+        assertTrue(ten.isGreaterThanOrEqual(Money.ofCents(1000)));
+        assertFalse(ten.isGreaterThanOrEqual(Money.ofCents(1001)));
+        assertTrue(ten.isPositive());
+        assertFalse(Money.ZERO.isPositive());
+        assertEquals(ten, Money.ZERO.max(ten));
+        assertEquals("10.00", ten.toString());
+    }
+}
@@ -3,11 +3,15 @@ package com.assesment.lottofun.entity;
 import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.exception.BusinessException;
 import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.configuration.PrizeTier;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,18 +21,17 @@ class TicketTest {
     private Ticket ticket;
     private User user;
     private Draw draw;
+    private DrawSettlement settlement;
 
     @BeforeEach
     void setup() {
-        PrizeRulesConfig config = new PrizeRulesConfig();
-        new PrizeRules(config);
         
         user = User.builder()
                 .id(1L)
                 .email("furkan@email.com")
                 .firstName("Furkan")
                 .lastName("Yılmaz")
-                .balance(BigDecimal.valueOf(1000))
+                .balance(Money.of(1000))
                 .build();
 
         draw = Draw.builder()
@@ -37,11 +40,14 @@ class TicketTest {
                 .drawDate(LocalDateTime.now().plusHours(1))
                 .build();
 
+        List<PrizeTier> tiers = new PrizeRules(new PrizeRulesConfig()).getTiers();
+        settlement = DrawSettlement.calculate(draw, tiers, new long[DrawSettlement.MAX_PICKED + 1][DrawSettlement.MAX_MATCHES + 1]);
+
         ticket = Ticket.builder()
                 .id(1L)
                 .ticketNumber("TKT-12345")
                 .selectedNumbers("1,2,3,4,5")
-                .purchasePrice(BigDecimal.valueOf(100))
+                .purchasePrice(Money.of(100))
                 .status(TicketStatus.WAITING_FOR_DRAW)
                 .user(user)
                 .draw(draw)
@@ -51,7 +57,7 @@ class TicketTest {
     @Test
     void setAsClaimed_ShouldChangeStatusToClaimed_WhenTicketIsClaimable() {
         ticket.setStatus(TicketStatus.WON);
-        ticket.setPrizeAmount(BigDecimal.valueOf(500));
+        ticket.setPrizeAmount(Money.of(500));
 
         ticket.setAsClaimed();
 
@@ -112,12 +118,12 @@ class TicketTest {
         ticket.setStatus(TicketStatus.WAITING_FOR_DRAW);
         String winningNumbers = "1,2,6,7,8"; // 2 matches
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
         assertEquals(TicketStatus.WON, ticket.getStatus());
         assertEquals(Integer.valueOf(2), ticket.getMatchCount());
         assertNotNull(ticket.getPrizeAmount());
-        assertTrue(ticket.getPrizeAmount().compareTo(BigDecimal.ZERO) > 0);
+        assertTrue(ticket.getPrizeAmount().isPositive());
     }
 
     @Test
@@ -126,12 +132,12 @@ class TicketTest {
         ticket.setStatus(TicketStatus.WAITING_FOR_DRAW);
         String winningNumbers = "1,6,7,8,9"; // 1 match
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
         assertEquals(TicketStatus.NOT_WON, ticket.getStatus());
         assertEquals(Integer.valueOf(1), ticket.getMatchCount());
         assertNotNull(ticket.getPrizeAmount());
-        assertEquals(BigDecimal.ZERO, ticket.getPrizeAmount());
+        assertEquals(Money.ZERO, ticket.getPrizeAmount());
     }
 
     @Test
@@ -140,12 +146,12 @@ class TicketTest {
         ticket.setStatus(TicketStatus.WAITING_FOR_DRAW);
         String winningNumbers = "6,7,8,9,10"; // 0 matches
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
         assertEquals(TicketStatus.NOT_WON, ticket.getStatus());
         assertEquals(Integer.valueOf(0), ticket.getMatchCount());
         assertNotNull(ticket.getPrizeAmount());
-        assertEquals(BigDecimal.ZERO, ticket.getPrizeAmount());
+        assertEquals(Money.ZERO, ticket.getPrizeAmount());
     }
 
     @Test
@@ -154,12 +160,12 @@ class TicketTest {
         ticket.setStatus(TicketStatus.WAITING_FOR_DRAW);
         String winningNumbers = "1,2,3,4,5"; // 5 matches
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
         assertEquals(TicketStatus.WON, ticket.getStatus());
         assertEquals(Integer.valueOf(5), ticket.getMatchCount());
         assertNotNull(ticket.getPrizeAmount());
-        assertTrue(ticket.getPrizeAmount().compareTo(BigDecimal.ZERO) > 0);
+        assertTrue(ticket.getPrizeAmount().isPositive());
     }
 
     @Test
@@ -168,7 +174,7 @@ class TicketTest {
         String winningNumbers = "1,2,3,4,5";
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
-            ticket.calculateResult(winningNumbers);
+            ticket.calculateResult(winningNumbers, settlement);
         });
 
         assertTrue(exception.getMessage().contains("Ticket can only be marked as extracted from WAITING_FOR_DRAW status"));
@@ -178,7 +184,7 @@ class TicketTest {
     @Test
     void createNew_ShouldCreateTicketWithCorrectValues() {
         Set<Integer> selectedNumbers = Set.of(1, 2, 3, 4, 5);
-        BigDecimal purchasePrice = BigDecimal.valueOf(150);
+        Money purchasePrice = Money.of(150);
 
         Ticket newTicket = Ticket.createNew(user, draw, selectedNumbers, purchasePrice);
 
@@ -200,7 +206,7 @@ class TicketTest {
         String winningNumbers = "1,2,6,7,8";
 
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
 
         assertEquals(TicketStatus.WON, ticket.getStatus());
@@ -214,13 +220,53 @@ class TicketTest {
         String winningNumbers = "1,1,2,2,3";
 
 
-        ticket.calculateResult(winningNumbers);
+        ticket.calculateResult(winningNumbers, settlement);
 
 
         assertEquals(TicketStatus.WON, ticket.getStatus());
         assertEquals(Integer.valueOf(3), ticket.getMatchCount());
     }
 
+    @Test
+    void getLineCount_ShouldCountEveryFiveNumberLine_OfSystemEntry() {
+        Ticket single = Ticket.createNew(user, draw, Set.of(1, 2, 3, 4, 5), Money.of(10));
+        Ticket system = Ticket.createNew(user, draw, Set.of(1, 2, 3, 4, 5, 6, 7), Money.of(210));
+
+        assertEquals(1, single.getLineCount());
+        assertEquals(21, system.getLineCount());
+    }
+
+    @Test
+    void calculateResult_ShouldScoreEveryLine_OfSystemEntry() {
+        Ticket system = Ticket.createNew(user, draw, Set.of(1, 2, 3, 4, 5, 6, 7), Money.of(210));
+
+        system.calculateResult("1,2,3,8,9", settlement);
+
+        // 3 of 7 drawn: C(3,3)*C(4,2) = 6 lines with 3 matches, C(3,2)*C(4,3) = 12 lines with 2 matches
+        assertEquals(TicketStatus.WON, system.getStatus());
+        assertEquals(Integer.valueOf(3), system.getMatchCount());
+        assertEquals(Money.of(6 * 100 + 12 * 10), system.getPrizeAmount());
+    }
+
+    @Test
+    void calculateResult_ShouldSplitPariMutuelJackpot_BetweenWinnersOfTheDraw() {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        PrizeRulesConfig.Tier jackpot = new PrizeRulesConfig.Tier();
+        jackpot.setMatchCount(5);
+        jackpot.setType(PrizeTierType.PARI_MUTUEL);
+        jackpot.setPoolShare(new BigDecimal("0.10"));
+        config.getPrizes().getTiers().add(jackpot);
+        draw.setTotalPrizePool(Money.of(1_000_000));
+        long[][] ticketsByPickedAndMatch = new long[DrawSettlement.MAX_PICKED + 1][DrawSettlement.MAX_MATCHES + 1];
+        ticketsByPickedAndMatch[5][5] = 4;
+        DrawSettlement pariMutuel = DrawSettlement.calculate(draw, new PrizeRules(config).getTiers(), ticketsByPickedAndMatch);
+
+        ticket.calculateResult("1,2,3,4,5", pariMutuel);
+
+        assertEquals(TicketStatus.WON, ticket.getStatus());
+        assertEquals(Money.of(25_000), ticket.getPrizeAmount());
+    }
+
     @Test
     void ticket_ShouldHaveCorrectDefaultStatus() {
 
@@ -233,11 +279,11 @@ class TicketTest {
     @Test
     void ticketLifecycle_ShouldWorkCorrectly_FromCreationToClaim() {
         Set<Integer> numbers = Set.of(1, 2, 3, 4, 5);
-        Ticket newTicket = Ticket.createNew(user, draw, numbers, BigDecimal.valueOf(100));
+        Ticket newTicket = Ticket.createNew(user, draw, numbers, Money.of(100));
         assertEquals(TicketStatus.WAITING_FOR_DRAW, newTicket.getStatus());
 
 
-        newTicket.calculateResult("1,2,3,6,7");
+        newTicket.calculateResult("1,2,3,6,7", settlement);
         assertEquals(TicketStatus.WON, newTicket.getStatus());
         assertEquals(Integer.valueOf(3), newTicket.getMatchCount());
         assertTrue(newTicket.isClaimable());
@@ -250,9 +296,9 @@ class TicketTest {
     @Test
     void ticketLifecycle_ShouldWorkCorrectly_ForLosingTicket() {
         Set<Integer> numbers = Set.of(1, 2, 3, 4, 5);
-        Ticket newTicket = Ticket.createNew(user, draw, numbers, BigDecimal.valueOf(100));
+        Ticket newTicket = Ticket.createNew(user, draw, numbers, Money.of(100));
 
-        newTicket.calculateResult("6,7,8,9,10");
+        newTicket.calculateResult("6,7,8,9,10", settlement);
         assertEquals(TicketStatus.NOT_WON, newTicket.getStatus());
         assertEquals(Integer.valueOf(0), newTicket.getMatchCount());
         assertFalse(newTicket.isClaimable());
@@ -261,4 +307,22 @@ class TicketTest {
             newTicket.setAsClaimed();
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void ticketNumber_ShouldNotCollideAcrossDraws_ForTheSameTimeAndSuffix() {
+        Set<String> numbers = new HashSet<>();
+        long[] drawIds = {1, 11, 111, 1_000_000_000L};
+        long[] times = {1, 11, 1_700_000_000_000L};
+        int[] suffixes = {0, 0x11, 0xCAFE, -1};
+        for (long drawId : drawIds) {
+            for (long issuedAt : times) {
+                for (int suffix : suffixes) {
+                    assertTrue(numbers.add(Ticket.ticketNumber(drawId, issuedAt, suffix)));
+                }
+            }
+        }
+
+        assertEquals("TKT-7-1700000000000-0000CAFE", Ticket.ticketNumber(7, 1_700_000_000_000L, 0xCAFE));
+        assertNotEquals(Ticket.ticketNumber(1, 11, 0), Ticket.ticketNumber(11, 1, 0));
+    }
+}
@@ -3,7 +3,6 @@ package com.assesment.lottofun.entity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,7 +24,7 @@ class UserTest {
                 .email("test@email.com")
                 .firstName("Furkan")
                 .lastName("Yılmaz")
-                .balance(BigDecimal.valueOf(1000))
+                .balance(Money.of(1000))
                 .build();
 
         draw1 = Draw.builder()
@@ -47,7 +46,7 @@ class UserTest {
                 .ticketNumber("TKT-001")
                 .selectedNumbers("1,2,3,4,5")
                 .status(TicketStatus.WON)
-                .prizeAmount(BigDecimal.valueOf(500))
+                .prizeAmount(Money.of(500))
                 .draw(draw1)
                 .user(user)
                 .purchaseTimestamp(LocalDateTime.now().minusHours(2))
@@ -58,7 +57,7 @@ class UserTest {
                 .ticketNumber("TKT-002")
                 .selectedNumbers("6,7,8,9,10")
                 .status(TicketStatus.NOT_WON)
-                .prizeAmount(BigDecimal.ZERO)
+                .prizeAmount(Money.ZERO)
                 .draw(draw1)
                 .user(user)
                 .purchaseTimestamp(LocalDateTime.now().minusHours(1))
@@ -69,7 +68,7 @@ class UserTest {
                 .ticketNumber("TKT-003")
                 .selectedNumbers("11,12,13,14,15")
                 .status(TicketStatus.PRIZE_CLAIMED)
-                .prizeAmount(BigDecimal.valueOf(200))
+                .prizeAmount(Money.of(200))
                 .draw(draw2)
                 .user(user)
                 .purchaseTimestamp(LocalDateTime.now().minusHours(3))
@@ -83,7 +82,7 @@ class UserTest {
 
     @Test
     void hasSufficientBalance_ShouldReturnTrue_WhenBalanceIsGreaterThanAmount() {
-        BigDecimal amount = BigDecimal.valueOf(500);
+        Money amount = Money.of(500);
 
         boolean result = user.hasSufficientBalance(amount);
 
@@ -92,7 +91,7 @@ class UserTest {
 
     @Test
     void hasSufficientBalance_ShouldReturnTrue_WhenBalanceIsEqualToAmount() {
-        BigDecimal amount = BigDecimal.valueOf(1000);
+        Money amount = Money.of(1000);
 
         boolean result = user.hasSufficientBalance(amount);
 
@@ -101,7 +100,7 @@ class UserTest {
 
     @Test
     void hasSufficientBalance_ShouldReturnFalse_WhenBalanceIsLessThanAmount() {
-        BigDecimal amount = BigDecimal.valueOf(1500);
+        Money amount = Money.of(1500);
 
         boolean result = user.hasSufficientBalance(amount);
 
@@ -110,33 +109,33 @@ class UserTest {
 
     @Test
     void deductBalance_ShouldReduceBalance_WhenSufficientBalanceExists() {
-        BigDecimal initialBalance = user.getBalance();
-        BigDecimal deductionAmount = BigDecimal.valueOf(300);
+        Money initialBalance = user.getBalance();
+        Money deductionAmount = Money.of(300);
 
         user.deductBalance(deductionAmount);
 
-        BigDecimal expectedBalance = initialBalance.subtract(deductionAmount);
+        Money expectedBalance = initialBalance.minus(deductionAmount);
         assertEquals(expectedBalance, user.getBalance());
     }
 
     @Test
     void deductBalance_ShouldThrowException_WhenInsufficientBalance() {
-        BigDecimal deductionAmount = BigDecimal.valueOf(1500);
+        Money deductionAmount = Money.of(1500);
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             user.deductBalance(deductionAmount);
         });
         assertEquals("Insufficient balance", exception.getMessage());
-        assertEquals(BigDecimal.valueOf(1000), user.getBalance());
+        assertEquals(Money.of(1000), user.getBalance());
     }
 
     @Test
     void addBalance_ShouldIncreaseBalance() {
-        BigDecimal initialBalance = user.getBalance();
-        BigDecimal additionAmount = BigDecimal.valueOf(250);
+        Money initialBalance = user.getBalance();
+        Money additionAmount = Money.of(250);
 
         user.addBalance(additionAmount);
 
-        BigDecimal expectedBalance = initialBalance.add(additionAmount);
+        Money expectedBalance = initialBalance.plus(additionAmount);
         assertEquals(expectedBalance, user.getBalance());
     }
 
@@ -244,13 +243,13 @@ class UserTest {
                 .findFirst()
                 .orElseThrow();
         
-        BigDecimal initialBalance = user.getBalance();
-        BigDecimal prizeAmount = winningTicket.getPrizeAmount();
+        Money initialBalance = user.getBalance();
+        Money prizeAmount = winningTicket.getPrizeAmount();
 
         user.claimTicket(winningTicket);
 
         assertEquals(TicketStatus.PRIZE_CLAIMED, winningTicket.getStatus());
-        assertEquals(initialBalance.add(prizeAmount), user.getBalance());
+        assertEquals(initialBalance.plus(prizeAmount), user.getBalance());
     }
 
     @Test
@@ -259,24 +258,24 @@ class UserTest {
         User user = User.builder().build();
 
         // Then
-        assertEquals(BigDecimal.valueOf(1000.00), user.getBalance());
+        assertEquals(Money.of(1000), user.getBalance());
     }
 
     @Test
     void balanceOperations_ShouldWorkCorrectly_InSequence() {
-        user.setBalance(BigDecimal.valueOf(1000));
+        user.setBalance(Money.of(1000));
 
-        user.deductBalance(BigDecimal.valueOf(300));
-        assertEquals(BigDecimal.valueOf(700), user.getBalance());
+        user.deductBalance(Money.of(300));
+        assertEquals(Money.of(700), user.getBalance());
 
-        user.addBalance(BigDecimal.valueOf(150));
-        assertEquals(BigDecimal.valueOf(850), user.getBalance());
+        user.addBalance(Money.of(150));
+        assertEquals(Money.of(850), user.getBalance());
 
-        user.deductBalance(BigDecimal.valueOf(850));
-        assertEquals(BigDecimal.valueOf(0), user.getBalance());
+        user.deductBalance(Money.of(850));
+        assertEquals(Money.of(0), user.getBalance());
 
         assertThrows(IllegalArgumentException.class, () -> {
-            user.deductBalance(BigDecimal.valueOf(1));
+            user.deductBalance(Money.of(1));
         });
     }
 
@@ -0,0 +1,57 @@
+package com.assesment.lottofun.infrastructure.jdbc;
+
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SessionConnectionFactoryTest {
+
+    @Autowired
+    private SessionConnectionFactory connectionFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Test
+    void open_ShouldNotBorrowFromThePool() throws SQLException {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        int active = pool.getActiveConnections();
+
+        try (Connection connection = connectionFactory.open()) {
+            assertTrue(connection.isValid(1));
+            assertEquals(active, pool.getActiveConnections());
+        }
+    }
+
+    /**
+     * The scheduler may borrow a connection for a moment, so the pool only has to drain at some point.
+     */
+    @Test
+    void sessionHolders_ShouldNotPinPooledConnections() throws Exception {
+        for (int attempt = 0; attempt < 50 && !cacheInvalidationBus.isListening(); attempt++) {
+            Thread.sleep(100);
+        }
+        assertTrue(cacheInvalidationBus.isListening());
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        int fewestActive = Integer.MAX_VALUE;
+        for (int sample = 0; sample < 20 && fewestActive > 0; sample++) {
+            fewestActive = Math.min(fewestActive, pool.getActiveConnections());
+            Thread.sleep(50);
+        }
+        assertEquals(0, fewestActive);
+    }
+}
@@ -0,0 +1,86 @@
+package com.assesment.lottofun.infrastructure.profiling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    private Path recordingDirectory;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getProfiling().setRecordingDirectory(recordingDirectory.toString());
+        endpoint = new FlightRecorderEndpoint(config);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (String name : endpoint.recordings().keySet()) {
+            endpoint.stop(name);
+        }
+    }
+
+    @Test
+    void stop_ShouldWriteRecordingWithSettlementEvents() throws Exception {
+        assertEquals(200, endpoint.start("settlement", null).getStatus());
+
+        SettlementBatchEvent event = new SettlementBatchEvent();
+        event.begin();
+        event.commit(7L, 1000, 1_000_000, 2_000_000, 3_000_000);
+
+        WebEndpointResponse<Map<String, Object>> stopped = endpoint.stop("settlement");
+        Path file = Path.of((String) stopped.getBody().get("file"));
+        assertEquals(recordingDirectory, file.getParent());
+
+        List<RecordedEvent> batches = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("lottofun.SettlementBatch"))
+                .toList();
+        assertEquals(1, batches.size());
+        assertEquals(7L, batches.get(0).getLong("drawId"));
+        assertEquals(1000, batches.get(0).getInt("tickets"));
+        assertEquals(Duration.ofMillis(2), batches.get(0).getDuration("scoringTime"));
+        assertTrue(endpoint.recordings().isEmpty());
+    }
+
+    @Test
+    void dump_ShouldKeepRecordingRunning() throws Exception {
+        endpoint.start("purchases", "profile");
+
+        WebEndpointResponse<?> dump = endpoint.dump("purchases");
+
+        assertEquals(200, dump.getStatus());
+        assertEquals("RUNNING", String.valueOf(((Map<?, ?>) endpoint.recordings().get("purchases")).get("state")));
+    }
+
+    @Test
+    void start_ShouldRejectDuplicateNamesAndUnknownSettings() {
+        endpoint.start("settlement", null);
+
+        assertEquals(409, endpoint.start("settlement", null).getStatus());
+        assertEquals(400, endpoint.start("other", "no-such-settings").getStatus());
+        assertFalse(endpoint.recordings().containsKey("other"));
+    }
+
+    @Test
+    void dumpAndStop_ShouldReturnNotFound_ForUnknownRecordings() throws Exception {
+        assertEquals(404, endpoint.dump("missing").getStatus());
+        assertEquals(404, endpoint.stop("missing").getStatus());
+    }
+}
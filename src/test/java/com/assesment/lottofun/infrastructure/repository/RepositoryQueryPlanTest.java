@@ -0,0 +1,198 @@
+package com.assesment.lottofun.infrastructure.repository;
+
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.TicketResult;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.support.QueryCounter;
+import com.assesment.lottofun.support.QueryCounter.ExecutedStatement;
+import com.assesment.lottofun.support.QueryPlans;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries on tickets and draws against seeded tables and asserts their plans read them
+ * through an index, and that queries for one draw only read that draw's ticket partition. The seed, with its
+ * partitions, is written and analyzed inside the test transaction and rolled back with it.
+ */
+@SpringBootTest
+@Transactional
+class RepositoryQueryPlanTest {
+
+    private static final int USERS = 2_000;
+    private static final int DRAWS = 5_000;
+    private static final int TICKETS = 50_000;
+    private static final long MIN_GUARDED_ROWS = 1_000;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DrawRepository drawRepository;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TicketBulkRepository ticketBulkRepository;
+    @Autowired private TicketPartitions ticketPartitions;
+
+    private QueryPlans queryPlans;
+    private final List<String> sequentialScans = new ArrayList<>();
+
+    private String email;
+    private Long userId;
+    private Long drawId;
+    private Long ticketId;
+    private String ticketNumber;
+    private String drawPartition;
+
+    @BeforeEach
+    void seed() {
+        queryPlans = new QueryPlans(jdbcTemplate, Set.of("tickets", "draws"), MIN_GUARDED_ROWS);
+
+        long lastUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        long lastDrawId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM draws", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, balance, created_at, updated_at)
+                SELECT 'plan-' || g || '@lottofun.test', 'password', 'Plan', 'User', 1000, now(), now()
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO draws (draw_date, status, winning_numbers, total_prize_pool, created_at, updated_at)
+                SELECT now() - g * interval '40 minutes', 'DRAW_FINALIZED', '1,2,3,4,5', 10000000, now(), now()
+                FROM generate_series(1, ?) g
+                """, DRAWS);
+        long firstSeededDrawId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM draws WHERE id > ?", Long.class, lastDrawId);
+        ticketPartitions.ensurePartitions(firstSeededDrawId, firstSeededDrawId + DRAWS - 1);
+        jdbcTemplate.update("""
+                WITH u AS (SELECT array_agg(id ORDER BY id) AS ids FROM users WHERE id > ?),
+                     d AS (SELECT array_agg(id ORDER BY id) AS ids FROM draws WHERE id > ?)
+                INSERT INTO tickets (ticket_number, selected_numbers, numbers_mask, purchase_price, prize_amount,
+                                     match_count, status, purchase_timestamp, updated_at, user_id, draw_id)
+                SELECT 'PLAN-' || g, 'plan-' || g, g, 10,
+                       CASE WHEN g % 20 = 0 THEN 10 ELSE 0 END, g % 3,
+                       CASE WHEN g % 20 = 0 THEN 'WON' ELSE 'NOT_WON' END,
+                       now() - g * interval '1 minute', now(),
+                       u.ids[1 + g % cardinality(u.ids)], d.ids[1 + g % cardinality(d.ids)]
+                FROM generate_series(1, ?) g, u, d
+                """, lastUserId, lastDrawId, TICKETS);
+        jdbcTemplate.execute("ANALYZE users, draws, tickets");
+
+        email = "plan-1@lottofun.test";
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        ticketId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tickets WHERE user_id = ?", Long.class, userId);
+        drawId = jdbcTemplate.queryForObject("SELECT draw_id FROM tickets WHERE id = ?", Long.class, ticketId);
+        ticketNumber = jdbcTemplate.queryForObject("SELECT ticket_number FROM tickets WHERE id = ?", String.class, ticketId);
+        drawPartition = jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM tickets WHERE id = ?",
+                String.class, ticketId);
+    }
+
+    @AfterEach
+    void evictSeededEntities() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void drawQueries_ShouldNotScanLargeTables() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        explain(() -> drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN));
+        explain(() -> drawRepository.findFirstByStatusAndDrawDateLessThanEqualOrderByDrawDateAsc(DrawStatus.DRAW_OPEN, now));
+        explain(() -> drawRepository.findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(
+                List.of(DrawStatus.DRAW_OPEN, DrawStatus.DRAW_CLOSED, DrawStatus.DRAW_EXTRACTED, DrawStatus.PAYMENTS_PROCESSING), now));
+        explain(() -> drawRepository.findByStatusInOrderByDrawDateAsc(DrawService.UNSETTLED_STATUSES, PageRequest.of(0, 10)));
+        explain(() -> drawRepository.findAll(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "drawDate"))));
+        explain(() -> drawRepository.getLockDueDraw(DrawStatus.DRAW_OPEN, now));
+        explain(() -> drawRepository.getLockDrawById(drawId));
+        explain(() -> drawRepository.lockStatusForPurchase(drawId));
+        explain(() -> drawRepository.addToOpenDrawPrizePool(BigDecimal.ZERO));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void ticketQueries_ShouldNotScanLargeTables() throws Exception {
+        explain(() -> ticketRepository.findByDrawIdAndStatus(drawId, TicketStatus.NOT_WON, PageRequest.of(0, 100)));
+        explain(() -> {
+            try (Stream<Long> masks = ticketRepository.streamNumbersMasks(drawId, TicketStatus.NOT_WON)) {
+                masks.count();
+            }
+        });
+        explain(() -> ticketRepository.countByDrawStatusInAndStatus(DrawService.UNSETTLED_STATUSES, TicketStatus.WAITING_FOR_DRAW));
+        explain(() -> ticketRepository.findByIdAndUserEmail(ticketId, email));
+        explain(() -> ticketRepository.findTicketNumbersIn(drawId, List.of(ticketNumber)));
+        explain(() -> ticketBulkRepository.countByPickedAndMatches(drawId, 31L));
+        explain(() -> ticketBulkRepository.findUnsettled(drawId, 0L, 1000));
+        explain(() -> ticketBulkRepository.applyResults(drawId, List.of(new TicketResult(ticketId, 2, TicketStatus.WON, Money.of(10)))));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void userTicketQueries_ShouldNotScanLargeTables() throws Exception {
+        explain(() -> ticketRepository.findByUserEmailAndDrawId(email, drawId));
+        explain(() -> ticketRepository.findByUserEmailOrderByPurchaseTimestampDesc(email, PageRequest.of(1, 10)));
+        explain(() -> ticketRepository.findWonByUserEmail(email));
+        explain(() -> userRepository.existsTicket(email, drawId, "1,2,3,4,5"));
+        explain(() -> userRepository.findSummariesByIdIn(List.of(userId)));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void drawTicketQueries_ShouldOnlyReadThePartitionOfTheDraw() throws Exception {
+        assertReadsDrawPartition(() -> ticketRepository.findByDrawIdAndStatus(drawId, TicketStatus.NOT_WON, PageRequest.of(0, 100)));
+        assertReadsDrawPartition(() -> {
+            try (Stream<Long> masks = ticketRepository.streamNumbersMasks(drawId, TicketStatus.NOT_WON)) {
+                masks.count();
+            }
+        });
+        assertReadsDrawPartition(() -> ticketRepository.findByUserEmailAndDrawId(email, drawId));
+        assertReadsDrawPartition(() -> ticketRepository.findTicketNumbersIn(drawId, List.of(ticketNumber)));
+        assertReadsDrawPartition(() -> userRepository.existsTicket(email, drawId, "1,2,3,4,5"));
+        assertReadsDrawPartition(() -> ticketBulkRepository.countByPickedAndMatches(drawId, 31L));
+        assertReadsDrawPartition(() -> ticketBulkRepository.findUnsettled(drawId, 0L, 1000));
+        assertReadsDrawPartition(() -> ticketBulkRepository.applyResults(drawId, List.of(new TicketResult(ticketId, 2, TicketStatus.WON, Money.of(10)))));
+    }
+
+    private void assertReadsDrawPartition(QueryCounter.Action query) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        List<ExecutedStatement> statements = QueryCounter.measure(query);
+        List<ExecutedStatement> ticketStatements = statements.stream()
+                .filter(statement -> statement.sql().contains("tickets"))
+                .toList();
+        assertFalse(ticketStatements.isEmpty(), "The query did not read tickets");
+        assertEquals(Set.of(drawPartition), queryPlans.partitionsRead(ticketStatements, "tickets"),
+                () -> ticketStatements.get(0).sql());
+    }
+
+    private void explain(QueryCounter.Action query) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        List<ExecutedStatement> statements = QueryCounter.measure(query);
+        assertFalse(statements.isEmpty(), "The query ran no statement");
+        sequentialScans.addAll(queryPlans.sequentialScans(statements));
+    }
+
+    private void assertNoSequentialScans() {
+        assertTrue(sequentialScans.isEmpty(), () -> String.join("\n\n", sequentialScans));
+    }
+}
@@ -0,0 +1,212 @@
+package com.assesment.lottofun.presentation.controller;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.Subscription;
+import com.assesment.lottofun.entity.SubscriptionStatus;
+import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.infrastructure.repository.DrawRepository;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.cache.CachedEntity;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.service.exposure.ExposureEndpoint;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.support.QueryCounter;
+import com.assesment.lottofun.support.QueryCounter.ExecutedStatement;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the API endpoints, measured with every cache cold. The user owns tickets in three
+ * draws, so a lazy load per ticket or per draw exceeds the budget. Raise a budget only together with the
+ * change that needs the extra statements.
+ */
+@SpringBootTest
+class EndpointQueryBudgetTest {
+
+    private static final int TICKETS_PER_DRAW = 3;
+
+    @Autowired private WebApplicationContext context;
+    @Autowired private DrawService drawService;
+    @Autowired private DrawRepository drawRepository;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private SubscriptionRepository subscriptionRepository;
+    @Autowired private TicketPartitions ticketPartitions;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CacheManager cacheManager;
+    @Autowired private UserSummaryCache userSummaryCache;
+    @Autowired private ExposureEndpoint exposureEndpoint;
+
+    private MockMvc mockMvc;
+    private String email;
+    private String token;
+    private Draw activeDraw;
+    private Long wonTicketId;
+    private Long subscriptionId;
+    private Long suspendedSubscriptionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        activeDraw = awaitActiveDraw();
+
+        email = "budget-" + UUID.randomUUID() + "@lottofun.test";
+        String registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registerJson(email)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(registered, "$.data.token");
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Draw finalized = Draw.createNew(LocalDateTime.now().minusHours(i + 1));
+            finalized.setStatus(DrawStatus.DRAW_FINALIZED);
+            finalized.setWinningNumbers("1,2,3,4,5");
+            finalized = drawRepository.save(finalized);
+            ticketPartitions.ensureAhead();
+            for (int t = 0; t < TICKETS_PER_DRAW; t++) {
+                Ticket ticket = Ticket.createNew(user, finalized, Set.of(1, 2, 10 + t, 20 + t, 30 + t), Money.of(10));
+                ticket.setStatus(TicketStatus.WON);
+                ticket.setMatchCount(2);
+                ticket.setPrizeAmount(Money.of(10));
+                tickets.add(ticket);
+            }
+        }
+        for (int t = 0; t < TICKETS_PER_DRAW; t++) {
+            tickets.add(Ticket.createNew(user, activeDraw, Set.of(5, 15 + t, 25, 35, 45), Money.of(10)));
+        }
+        ticketRepository.saveAll(tickets);
+        wonTicketId = tickets.get(0).getId();
+
+        subscriptionId = subscriptionRepository.save(
+                Subscription.createNew(user, Set.of(7, 8, 9, 10, 11), Money.of(10), 3)).getId();
+        Subscription suspended = Subscription.createNew(user, Set.of(6, 8, 9, 10, 11), Money.of(10), 3);
+        suspended.setStatus(SubscriptionStatus.SUSPENDED_INSUFFICIENT_BALANCE);
+        suspendedSubscriptionId = subscriptionRepository.save(suspended).getId();
+    }
+
+    @Test
+    void authEndpoints_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(2, post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(registerJson("budget-" + UUID.randomUUID() + "@lottofun.test")));
+        assertWithinBudget(1, post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"));
+    }
+
+    @Test
+    void drawEndpoints_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(2, authorized(get("/api/draw/active")));
+        assertWithinBudget(3, authorized(get("/api/draw/history")));
+        assertWithinBudget(2, authorized(get("/api/draw/events")));
+    }
+
+    // Actuator is served on the management port, which MockMvc does not reach.
+    @Test
+    void exposureEndpoint_ShouldStayWithinStatementBudget() throws Exception {
+        evictCaches();
+        List<ExecutedStatement> statements = QueryCounter.measure(exposureEndpoint::exposure);
+
+        assertTrue(statements.size() <= 3, () -> "/actuator/exposure ran " + statements.size()
+                + " statements, budget 3:\n" + statements.stream().map(ExecutedStatement::sql).collect(Collectors.joining("\n")));
+    }
+
+    @Test
+    void ticketEndpoints_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(8, authorized(post("/api/ticket/purchase"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"selectedNumbers\":[40,41,42,43,44]}"));
+        assertWithinBudget(2, authorized(get("/api/ticket/{ticketId}", wonTicketId)));
+    }
+
+    @Test
+    void userEndpoints_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(3, authorized(get("/api/user/profile")));
+        assertWithinBudget(2, authorized(get("/api/user/{drawId}/tickets", activeDraw.getId())));
+        assertWithinBudget(2, authorized(get("/api/user/tickets")));
+        assertWithinBudget(2, authorized(get("/api/user/tickets/won")));
+        assertWithinBudget(2, authorized(get("/api/user/tickets/claimable")));
+        assertWithinBudget(6, authorized(post("/api/user/tickets/{ticketId}/claim", wonTicketId)));
+    }
+
+    @Test
+    void subscriptionEndpoints_ShouldStayWithinStatementBudget() throws Exception {
+        assertWithinBudget(4, authorized(post("/api/subscription"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"selectedNumbers\":[12,13,14,15,16],\"draws\":2}"));
+        assertWithinBudget(3, authorized(get("/api/subscription")));
+        assertWithinBudget(4, authorized(post("/api/subscription/{id}/cancel", subscriptionId)));
+        assertWithinBudget(4, authorized(post("/api/subscription/{id}/resume", suspendedSubscriptionId)));
+    }
+
+    private void assertWithinBudget(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        evictCaches();
+        List<ExecutedStatement> statements = QueryCounter.measure(() ->
+                mockMvc.perform(request).andExpect(status().is2xxSuccessful()));
+
+        MockHttpServletRequest sent = request.buildRequest(context.getServletContext());
+        String executed = statements.stream().map(ExecutedStatement::sql).collect(Collectors.joining("\n"));
+        assertTrue(statements.size() <= budget, () -> sent.getMethod() + " " + sent.getRequestURI() + " ran "
+                + statements.size() + " statements, budget " + budget + ":\n" + executed);
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        userSummaryCache.invalidate(CachedEntity.USER, null);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private Draw awaitActiveDraw() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var draw = drawService.findActiveDraw();
+            if (draw.isPresent()) {
+                return draw.get();
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("The scheduler opened no draw");
+    }
+
+    private static String registerJson(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"password123\",\"firstName\":\"Budget\",\"lastName\":\"Test\"}";
+    }
+}
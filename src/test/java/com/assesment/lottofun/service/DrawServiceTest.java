@@ -3,19 +3,30 @@ package com.assesment.lottofun.service;
 import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.entity.Draw;
 import com.assesment.lottofun.entity.DrawStatus;
-import com.assesment.lottofun.entity.Ticket;
-import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.entity.DrawTierResult;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.PrizeTierType;
+import com.assesment.lottofun.exception.DrawNotAvailableException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
 import com.assesment.lottofun.infrastructure.repository.DrawRepository;
-import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.infrastructure.repository.DrawTierResultRepository;
 import com.assesment.lottofun.presentation.dto.common.PageResponse;
 import com.assesment.lottofun.presentation.dto.response.DrawResponse;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import com.assesment.lottofun.service.cache.CachedEntity;
+import com.assesment.lottofun.service.cache.CacheManagerInvalidationListener;
+import com.assesment.lottofun.service.cache.SingleFlightRegistry;
+import com.assesment.lottofun.service.event.DrawEventBroadcaster;
+import com.assesment.lottofun.service.event.DrawEventType;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
@@ -38,7 +49,29 @@ class DrawServiceTest {
     private PrizeRulesConfig prizeRulesConfig;
 
     @Mock
-    private TicketRepository ticketRepository;
+    private SettlementService settlementService;
+
+    @Mock
+    private DrawTierResultRepository drawTierResultRepository;
+
+    @Mock
+    private SubscriptionService subscriptionService;
+
+    @Mock
+    private DrawEventBroadcaster drawEventBroadcaster;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Spy
+    private SingleFlightRegistry singleFlights = new SingleFlightRegistry();
+
+    @Spy
+    private CacheManagerInvalidationListener derivedCaches =
+            new CacheManagerInvalidationListener(new ConcurrentMapCacheManager("drawHistory"));
+
+    @Mock
+    private LotteryMetrics lotteryMetrics;
 
     @InjectMocks
     private DrawService drawService;
@@ -52,13 +85,14 @@ class DrawServiceTest {
                 .id(1L)
                 .drawDate(LocalDateTime.now().plusHours(1))
                 .status(DrawStatus.DRAW_OPEN)
-                .totalPrizePool(BigDecimal.valueOf(10_000_000.00))
+                .totalPrizePool(Money.of(10_000_000))
                 .createdAt(LocalDateTime.now())
                 .build();
 
         drawConfig = new PrizeRulesConfig.Draw();
         drawConfig.setFrequencyMinutes(60);
         drawConfig.setProcessingBatchSize(1000);
+        drawConfig.setBasePrizePool(BigDecimal.valueOf(10_000_000.00));
     }
 
     @Test
@@ -92,6 +126,18 @@ class DrawServiceTest {
 
 
 
+    @Test
+    void getActiveDrawResponse_ShouldMapActiveDraw_AndCountExecution() {
+        when(drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN))
+                .thenReturn(Optional.of(sampleDraw));
+
+        DrawResponse response = drawService.getActiveDrawResponse();
+
+        assertEquals(sampleDraw.getId(), response.getId());
+        assertEquals("DRAW_OPEN", response.getStatus());
+        assertEquals(1, singleFlights.flight("draw.active").getExecutions());
+    }
+
     @Test
     void newDraw_ShouldThrowIllegalStateException_WhenActiveDrawAlreadyExists() {
         when(drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN))
@@ -107,30 +153,154 @@ class DrawServiceTest {
     }
 
     @Test
-    void process_ShouldProcessDraw_WhenDrawIsEligible() {
-        Draw eligibleDraw = Draw.builder()
+    void closeNextDueDraw_ShouldCloseDueDraw_AndOpenNextInSameCall() {
+        LocalDateTime now = LocalDateTime.now();
+        Draw dueDraw = Draw.builder()
                 .id(1L)
                 .status(DrawStatus.DRAW_OPEN)
-                .drawDate(LocalDateTime.now().plusHours(1))
+                .drawDate(now.minusSeconds(1))
                 .build();
 
+        when(drawRepository.getLockDueDraw(DrawStatus.DRAW_OPEN, now)).thenReturn(Optional.of(dueDraw));
+        when(drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)).thenReturn(Optional.empty());
         when(prizeRulesConfig.getDraw()).thenReturn(drawConfig);
-        when(ticketRepository.findByDrawIdAndStatus(eq(1L), eq(TicketStatus.WAITING_FOR_DRAW), any(Pageable.class)))
-                .thenReturn(Page.empty());
         when(drawRepository.save(any(Draw.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
+        assertTrue(drawService.closeNextDueDraw(now));
 
-        drawService.process(eligibleDraw);
+        assertEquals(DrawStatus.DRAW_CLOSED, dueDraw.getStatus());
+        assertNull(dueDraw.getWinningNumbers());
+        verify(subscriptionService).generateTickets(argThat(draw -> draw.getStatus() == DrawStatus.DRAW_OPEN));
+        verify(settlementService, never()).settle(any(Draw.class));
+        verify(drawEventBroadcaster).publish(DrawEventType.DRAW_CLOSED, dueDraw);
+        verify(cacheInvalidationBus).publish(CachedEntity.DRAW, 1L);
+        verify(drawEventBroadcaster).publish(eq(DrawEventType.DRAW_OPENED),
+                argThat(draw -> draw.getStatus() == DrawStatus.DRAW_OPEN));
+    }
+
+    @Test
+    void closeNextDueDraw_ShouldReturnFalse_WhenNoDrawIsDue() {
+        LocalDateTime now = LocalDateTime.now();
+        when(drawRepository.getLockDueDraw(DrawStatus.DRAW_OPEN, now)).thenReturn(Optional.empty());
 
+        assertFalse(drawService.closeNextDueDraw(now));
 
-        assertEquals(DrawStatus.DRAW_FINALIZED, eligibleDraw.getStatus());
-        assertNotNull(eligibleDraw.getWinningNumbers());
-        assertNotNull(eligibleDraw.getExecutedAt());
-        assertNotNull(eligibleDraw.getPrizesDistributedAt());
-        verify(drawRepository, times(3)).save(eligibleDraw);
+        verify(drawRepository, never()).save(any(Draw.class));
+    }
+
+    @Test
+    void extract_ShouldDrawNumbers_AndMoveToPaymentsProcessing() {
+        Draw closedDraw = Draw.builder().id(1L).status(DrawStatus.DRAW_CLOSED).build();
+        when(drawRepository.getLockDrawById(1L)).thenReturn(Optional.of(closedDraw));
+
+        drawService.extract(1L);
+
+        assertEquals(DrawStatus.PAYMENTS_PROCESSING, closedDraw.getStatus());
+        assertNotNull(closedDraw.getWinningNumbers());
+        assertNotNull(closedDraw.getExecutedAt());
+        verify(drawRepository).save(closedDraw);
+        verify(drawEventBroadcaster).publish(DrawEventType.DRAW_EXTRACTED, closedDraw);
+    }
+
+    @Test
+    void settle_ShouldFinalizeDraw_AndCreditRolloverToOpenDraw() {
+        Draw processingDraw = Draw.builder()
+                .id(1L)
+                .status(DrawStatus.PAYMENTS_PROCESSING)
+                .drawDate(LocalDateTime.now().minusMinutes(1))
+                .winningNumbers("1,2,3,4,5")
+                .build();
+
+        when(drawRepository.getLockDrawById(1L)).thenReturn(Optional.of(processingDraw));
+        when(settlementService.settle(processingDraw)).thenAnswer(invocation -> {
+            processingDraw.recordSettlement(Money.ZERO, Money.of(1_000_000));
+            return null;
+        });
+        when(drawRepository.addToOpenDrawPrizePool(new BigDecimal("1000000.00"))).thenReturn(1);
+
+        drawService.settle(1L);
+
+        assertEquals(DrawStatus.DRAW_FINALIZED, processingDraw.getStatus());
+        verify(drawRepository).addToOpenDrawPrizePool(new BigDecimal("1000000.00"));
+        verify(drawRepository).save(processingDraw);
+        verify(drawEventBroadcaster).publish(DrawEventType.DRAW_FINALIZED, processingDraw);
+        verify(cacheInvalidationBus).publish(CachedEntity.DRAW, 1L);
+        verify(cacheInvalidationBus).publish(CachedEntity.DRAW, null);
     }
 
+    @Test
+    void settle_ShouldNotTouchOpenDraw_WhenNothingRollsOver() {
+        Draw processingDraw = Draw.builder()
+                .id(1L)
+                .status(DrawStatus.PAYMENTS_PROCESSING)
+                .winningNumbers("1,2,3,4,5")
+                .build();
+
+        when(drawRepository.getLockDrawById(1L)).thenReturn(Optional.of(processingDraw));
+        when(settlementService.settle(processingDraw)).thenAnswer(invocation -> {
+            processingDraw.recordSettlement(Money.of(100), Money.ZERO);
+            return null;
+        });
 
+        drawService.settle(1L);
+
+        assertEquals(DrawStatus.DRAW_FINALIZED, processingDraw.getStatus());
+        verify(drawRepository, never()).addToOpenDrawPrizePool(any());
+    }
+
+    @Test
+    void settle_ShouldSkip_WhenDrawIsNotProcessingPayments() {
+        Draw finalizedDraw = Draw.builder().id(1L).status(DrawStatus.DRAW_FINALIZED).build();
+        when(drawRepository.getLockDrawById(1L)).thenReturn(Optional.of(finalizedDraw));
+
+        drawService.settle(1L);
+
+        verify(settlementService, never()).settle(any(Draw.class));
+        verify(drawRepository, never()).save(any(Draw.class));
+        verifyNoInteractions(drawEventBroadcaster);
+    }
+
+    @Test
+    void newDraw_ShouldUseSecondFrequency_InRapidMode() {
+        drawConfig.getRapid().setEnabled(true);
+        drawConfig.getRapid().setFrequencySeconds(30);
+        when(drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)).thenReturn(Optional.empty());
+        when(prizeRulesConfig.getDraw()).thenReturn(drawConfig);
+        when(drawRepository.save(any(Draw.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Draw result = drawService.newDraw();
+
+        assertTrue(result.getDrawDate().isBefore(LocalDateTime.now().plusSeconds(31)));
+        assertTrue(result.getDrawDate().isAfter(LocalDateTime.now().plusSeconds(28)));
+    }
+
+    @Test
+    void fenceOpenDraw_ShouldPass_WhenDrawIsStillOpen() {
+        when(drawRepository.lockStatusForPurchase(1L)).thenReturn("DRAW_OPEN");
+
+        assertDoesNotThrow(() -> drawService.fenceOpenDraw(1L));
+    }
+
+    @Test
+    void fenceOpenDraw_ShouldReject_WhenDrawClosedMeanwhile() {
+        when(drawRepository.lockStatusForPurchase(1L)).thenReturn("DRAW_CLOSED");
+
+        assertThrows(DrawNotAvailableException.class, () -> drawService.fenceOpenDraw(1L));
+    }
+
+    @Test
+    void newDraw_ShouldStartFromBasePrizePool() {
+        when(drawRepository.findFirstByStatusOrderByDrawDateAsc(DrawStatus.DRAW_OPEN)).thenReturn(Optional.empty());
+        when(prizeRulesConfig.getDraw()).thenReturn(drawConfig);
+        when(drawRepository.save(any(Draw.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Draw result = drawService.newDraw();
+
+        assertEquals(Money.of(10_000_000), result.getTotalPrizePool());
+        assertEquals(DrawStatus.DRAW_OPEN, result.getStatus());
+        verify(drawRepository).save(result);
+        verify(subscriptionService).generateTickets(result);
+    }
 
     @Test
     void filter_ShouldReturnPagedDrawResponses() {
@@ -139,7 +309,7 @@ class DrawServiceTest {
                 .id(1L)
                 .drawDate(LocalDateTime.now())
                 .status(DrawStatus.DRAW_OPEN)
-                .totalPrizePool(BigDecimal.valueOf(10_000_000.00))
+                .totalPrizePool(Money.of(10_000_000))
                 .createdAt(LocalDateTime.now())
                 .build();
 
@@ -147,7 +317,7 @@ class DrawServiceTest {
                 .id(2L)
                 .drawDate(LocalDateTime.now().plusHours(1))
                 .status(DrawStatus.DRAW_FINALIZED)
-                .totalPrizePool(BigDecimal.valueOf(15_000_000.00))
+                .totalPrizePool(Money.of(15_000_000))
                 .createdAt(LocalDateTime.now())
                 .build();
 
@@ -165,6 +335,38 @@ class DrawServiceTest {
         verify(drawRepository).findAll(any(Pageable.class));
     }
 
+    @Test
+    void filter_ShouldAttachPersistedTierResults_WithSingleQuery() {
+        Draw finalizedDraw = Draw.builder()
+                .id(3L)
+                .drawDate(LocalDateTime.now().minusHours(1))
+                .status(DrawStatus.DRAW_FINALIZED)
+                .winningNumbers("1,2,3,4,5")
+                .totalPayout(Money.of(1_010))
+                .rolloverAmount(Money.of(1_000_000))
+                .build();
+
+        DrawTierResult tierResult = DrawTierResult.builder()
+                .draw(finalizedDraw)
+                .matchCount(4)
+                .tierType(PrizeTierType.FIXED)
+                .winnerCount(1L)
+                .prizePerWinner(Money.of(1_000))
+                .tierPayout(Money.of(1_000))
+                .build();
+
+        when(drawRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(finalizedDraw)));
+        when(drawTierResultRepository.findByDrawIds(List.of(3L))).thenReturn(List.of(tierResult));
+
+        PageResponse<DrawResponse> result = drawService.filter(0, 10, "desc");
+
+        DrawResponse response = result.getContent().get(0);
+        assertEquals(new BigDecimal("1000000.00"), response.getRolloverAmount());
+        assertEquals(1, response.getTiers().size());
+        assertEquals(4, response.getTiers().get(0).getMatchCount());
+        verify(drawTierResultRepository, times(1)).findByDrawIds(anyCollection());
+    }
+
     @Test
     void filter_ShouldHandleAscendingSort() {
 
@@ -178,4 +380,31 @@ class DrawServiceTest {
         assertTrue(result.getContent().isEmpty());
         verify(drawRepository).findAll(any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void filter_ShouldServeTheCachedPage_UntilADrawChanges() {
+        when(drawRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        drawService.filter(0, 10, "desc");
+        drawService.filter(0, 10, "DESC");
+        derivedCaches.invalidate(CachedEntity.DRAW, 1L);
+        drawService.filter(0, 10, "desc");
+
+        verify(drawRepository, times(2)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void filter_ShouldNotCacheAPage_LoadedWhileADrawChanged() {
+        when(drawRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            // The draw change commits and clears the cache while this page is being read.
+            derivedCaches.invalidate(CachedEntity.DRAW, 1L);
+            return Page.empty();
+        }).thenReturn(Page.empty());
+
+        drawService.filter(0, 10, "desc");
+        drawService.filter(0, 10, "desc");
+        drawService.filter(0, 10, "desc");
+
+        verify(drawRepository, times(2)).findAll(any(Pageable.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.Ticket;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExposureServiceTest {
+
+    @Mock private DrawService drawService;
+    @Mock private TicketRepository ticketRepository;
+    @Mock private PrizeRules prizeRules;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ExposureService exposureService;
+    private Draw draw;
+    private Ticket loaded;
+    private Ticket committedDuringLoad;
+
+    @BeforeEach
+    void setUp() {
+        exposureService = new ExposureService(drawService, ticketRepository, prizeRules, transactionManager);
+        exposureService.init();
+
+        draw = Draw.builder()
+                .id(1L)
+                .drawDate(LocalDateTime.now().plusHours(1))
+                .status(DrawStatus.DRAW_OPEN)
+                .totalPrizePool(Money.of(1_000_000))
+                .build();
+        User user = User.builder().id(1L).balance(Money.of(1000)).build();
+        loaded = ticket(user, "TKT-1", Set.of(1, 2, 3, 4, 5));
+        committedDuringLoad = ticket(user, "TKT-2", Set.of(6, 7, 8, 9, 10));
+        when(drawService.getActiveDraw()).thenReturn(draw);
+    }
+
+    @Test
+    void rebuild_ShouldAddPurchasesCommittedAfterTheSnapshot() {
+        when(ticketRepository.streamNumbersMasks(1L, TicketStatus.WAITING_FOR_DRAW)).thenAnswer(invocation -> {
+            exposureService.record(committedDuringLoad);
+            return Stream.of(loaded.getNumbersMask());
+        });
+        when(ticketRepository.findTicketNumbersIn(eq(1L), anyCollection())).thenReturn(List.of());
+
+        assertEquals(2, exposureService.activeDrawExposure(true).getTicketCount());
+
+        exposureService.record(ticket(User.builder().id(2L).build(), "TKT-3", Set.of(11, 12, 13, 14, 15)));
+        assertEquals(3, exposureService.activeDrawExposure(false).getTicketCount());
+    }
+
+    @Test
+    void rebuild_ShouldNotCountPurchasesTheSnapshotAlreadyContains() {
+        when(ticketRepository.streamNumbersMasks(1L, TicketStatus.WAITING_FOR_DRAW)).thenAnswer(invocation -> {
+            exposureService.record(committedDuringLoad);
+            return Stream.of(loaded.getNumbersMask(), committedDuringLoad.getNumbersMask());
+        });
+        when(ticketRepository.findTicketNumbersIn(1L, List.of("TKT-2"))).thenReturn(List.of("TKT-2"));
+
+        assertEquals(2, exposureService.activeDrawExposure(true).getTicketCount());
+    }
+
+    private Ticket ticket(User user, String ticketNumber, Set<Integer> numbers) {
+        Ticket ticket = Ticket.createNew(user, draw, numbers, Money.of(10));
+        ticket.setTicketNumber(ticketNumber);
+        return ticket;
+    }
+}
@@ -1,19 +1,28 @@
 package com.assesment.lottofun.service;
 
+import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.entity.Draw;
 import com.assesment.lottofun.entity.DrawStatus;
-import com.assesment.lottofun.exception.BusinessException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.service.purchase.GroupCommitPurchasePipeline;
+import com.assesment.lottofun.service.scheduling.DrawCloseGate;
+import com.assesment.lottofun.service.scheduling.DrawSettlementPipeline;
+import com.assesment.lottofun.service.scheduling.SchedulerLeadership;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.TaskScheduler;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +37,27 @@ class ScheduleServiceTest {
     @Mock
     private TaskScheduler taskScheduler;
 
+    @Mock
+    private GroupCommitPurchasePipeline purchasePipeline;
+
+    @Mock
+    private SchedulerLeadership leadership;
+
+    @Mock
+    private PrizeRulesConfig prizeRulesConfig;
+
+    @Mock
+    private DrawSettlementPipeline settlementPipeline;
+
+    @Mock
+    private DrawCloseGate closeGate;
+
+    @Mock
+    private LotteryMetrics lotteryMetrics;
+
+    @Mock
+    private TicketPartitions ticketPartitions;
+
     @InjectMocks
     private ScheduleService scheduleService;
 
@@ -43,101 +73,129 @@ class ScheduleServiceTest {
     }
 
     @Test
-    void init_ShouldUseExistingActiveDraw_WhenActiveDrawExists() {
-        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+    void init_ShouldPollWithConfiguredInterval() {
+        PrizeRulesConfig.Scheduler schedulerConfig = new PrizeRulesConfig.Scheduler();
+        schedulerConfig.setPollIntervalMillis(250L);
+        when(prizeRulesConfig.getScheduler()).thenReturn(schedulerConfig);
 
         scheduleService.init();
 
-        verify(drawService).getActiveDraw();
-        verify(drawService, never()).newDraw();
-        verify(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofMillis(250)));
+        verifyNoInteractions(drawService);
+    }
+
+    @Test
+    void tick_ShouldDoNothing_WhenNotLeader() throws SQLException {
+        when(leadership.acquire()).thenReturn(false);
+
+        scheduleService.tick();
+
+        verifyNoInteractions(drawService, purchasePipeline);
     }
 
     @Test
-    void init_ShouldCreateNewDraw_WhenNoActiveDrawExists() {
+    void tick_ShouldCreateDraw_WhenLeaderAndNoActiveDrawExists() throws SQLException {
+        when(leadership.acquire()).thenReturn(true);
+        when(drawService.findDueDraw(any(LocalDateTime.class))).thenReturn(Optional.empty());
         when(drawService.getActiveDraw()).thenThrow(new ResourceNotFoundException("No active draw"));
-        when(drawService.newDraw()).thenReturn(sampleDraw);
 
-        scheduleService.init();
+        scheduleService.tick();
 
-        verify(drawService).getActiveDraw();
         verify(drawService).newDraw();
-        verify(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        verify(drawService, never()).closeNextDueDraw(any());
     }
 
     @Test
-    void init_ShouldThrowBusinessException_WhenGetActiveDrawFailsWithNonResourceNotFound() {
-        when(drawService.getActiveDraw()).thenThrow(new RuntimeException("Database error"));
+    void tick_ShouldKeepActiveDraw_WhenItIsNotDue() throws SQLException {
+        when(leadership.acquire()).thenReturn(true);
+        when(drawService.findDueDraw(any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
 
-        BusinessException exception = assertThrows(BusinessException.class, () -> {
-            scheduleService.init();
-        });
+        scheduleService.tick();
 
-        assertEquals("Failed to initialize first draw", exception.getMessage());
-        verify(drawService).getActiveDraw();
         verify(drawService, never()).newDraw();
-        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Date.class));
+        verify(settlementPipeline).dispatch();
+        verifyNoInteractions(purchasePipeline);
     }
 
     @Test
-    void init_ShouldHandleResourceNotFoundAndCreateNewDraw() {
-        when(drawService.getActiveDraw()).thenThrow(new ResourceNotFoundException("No active draw found"));
-        when(drawService.newDraw()).thenReturn(sampleDraw);
-
-        assertDoesNotThrow(() -> scheduleService.init());
+    void runDueDraws_ShouldCatchUpAllOverdueDraws_BeforeStartingSettlement() {
+        LocalDateTime now = LocalDateTime.now();
+        Draw secondDue = Draw.builder().id(2L).status(DrawStatus.DRAW_OPEN).build();
+        when(prizeRulesConfig.getScheduler()).thenReturn(new PrizeRulesConfig.Scheduler());
+        when(drawService.findDueDraw(now)).thenReturn(Optional.of(sampleDraw), Optional.of(secondDue), Optional.empty());
+        when(closeGate.close(anyLong(), any(Duration.class))).thenReturn(true);
+        when(drawService.closeNextDueDraw(now)).thenReturn(true);
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
 
-        verify(drawService).getActiveDraw();
-        verify(drawService).newDraw();
-        verify(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        scheduleService.runDueDraws(now);
+
+        InOrder inOrder = inOrder(ticketPartitions, closeGate, purchasePipeline, drawService, settlementPipeline);
+        inOrder.verify(ticketPartitions).ensureAhead();
+        inOrder.verify(closeGate).close(eq(1L), any(Duration.class));
+        inOrder.verify(purchasePipeline).flush();
+        inOrder.verify(drawService).closeNextDueDraw(now);
+        inOrder.verify(closeGate).close(eq(2L), any(Duration.class));
+        inOrder.verify(purchasePipeline).flush();
+        inOrder.verify(drawService).closeNextDueDraw(now);
+        inOrder.verify(settlementPipeline).dispatch();
+        verify(drawService, never()).newDraw();
     }
 
     @Test
-    void init_ShouldScheduleTask_WhenValidDrawExists() {
+    void runDueDraws_ShouldStillClose_WhenGateDrainTimesOut() {
+        LocalDateTime now = LocalDateTime.now();
+        when(prizeRulesConfig.getScheduler()).thenReturn(new PrizeRulesConfig.Scheduler());
+        when(drawService.findDueDraw(now)).thenReturn(Optional.of(sampleDraw), Optional.empty());
+        when(closeGate.close(eq(1L), any(Duration.class))).thenReturn(false);
+        when(drawService.closeNextDueDraw(now)).thenReturn(true);
         when(drawService.getActiveDraw()).thenReturn(sampleDraw);
 
-        scheduleService.init();
+        scheduleService.runDueDraws(now);
 
-        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Date.class));
+        verify(drawService).closeNextDueDraw(now);
     }
 
     @Test
-    void init_ShouldCallDrawService_ToGetActiveDraw() {
+    void runDueDraws_ShouldStillClose_WhenCreatingPartitionsAheadFails() {
+        LocalDateTime now = LocalDateTime.now();
+        doThrow(new IllegalStateException("Lock timeout")).when(ticketPartitions).ensureAhead();
+        when(prizeRulesConfig.getScheduler()).thenReturn(new PrizeRulesConfig.Scheduler());
+        when(drawService.findDueDraw(now)).thenReturn(Optional.of(sampleDraw), Optional.empty());
+        when(closeGate.close(eq(1L), any(Duration.class))).thenReturn(true);
+        when(drawService.closeNextDueDraw(now)).thenReturn(true);
         when(drawService.getActiveDraw()).thenReturn(sampleDraw);
 
-        scheduleService.init();
+        scheduleService.runDueDraws(now);
 
-        verify(drawService, times(1)).getActiveDraw();
+        verify(drawService).closeNextDueDraw(now);
+        verify(settlementPipeline).dispatch();
     }
 
     @Test
-    void init_ShouldHandlePastDrawDate_Gracefully() {
-        Draw pastDraw = Draw.builder()
-                .id(1L)
-                .drawDate(LocalDateTime.now().minusHours(1))
-                .status(DrawStatus.DRAW_OPEN)
-                .build();
-        
-        when(drawService.getActiveDraw()).thenReturn(pastDraw);
+    void tick_ShouldSurviveFailures_AndRetryOnNextPoll() throws SQLException {
+        when(leadership.acquire()).thenReturn(true);
+        when(prizeRulesConfig.getScheduler()).thenReturn(new PrizeRulesConfig.Scheduler());
+        when(drawService.findDueDraw(any(LocalDateTime.class))).thenReturn(Optional.of(sampleDraw));
+        when(closeGate.close(anyLong(), any(Duration.class))).thenReturn(true);
+        when(drawService.closeNextDueDraw(any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("Close failed"))
+                .thenReturn(false);
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
 
-        assertDoesNotThrow(() -> scheduleService.init());
+        assertDoesNotThrow(() -> scheduleService.tick());
+        assertDoesNotThrow(() -> scheduleService.tick());
 
-        verify(drawService).getActiveDraw();
-        verify(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        verify(drawService, times(2)).closeNextDueDraw(any(LocalDateTime.class));
+        verify(drawService, times(1)).getActiveDraw();
     }
 
     @Test
-    void init_ShouldHandleFutureDrawDate_Gracefully() {
-        Draw futureDraw = Draw.builder()
-                .id(1L)
-                .drawDate(LocalDateTime.now().plusDays(1))
-                .status(DrawStatus.DRAW_OPEN)
-                .build();
-        
-        when(drawService.getActiveDraw()).thenReturn(futureDraw);
+    void tick_ShouldSurviveLeadershipFailure() throws SQLException {
+        when(leadership.acquire()).thenThrow(new SQLException("Connection refused"));
 
-        assertDoesNotThrow(() -> scheduleService.init());
+        assertDoesNotThrow(() -> scheduleService.tick());
 
-        verify(drawService).getActiveDraw();
-        verify(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        verifyNoInteractions(drawService);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.DrawTierResult;
+import com.assesment.lottofun.entity.PrizeTierType;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.repository.DrawTierResultRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.TicketResult;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository.UnsettledTicket;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import com.assesment.lottofun.service.settlement.DrawSettlement;
+import com.assesment.lottofun.util.NumberUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementServiceTest {
+
+    @Mock
+    private TicketBulkRepository ticketBulkRepository;
+
+    @Mock
+    private DrawTierResultRepository drawTierResultRepository;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SettlementService settlementService;
+    private Draw extractedDraw;
+    private long winningMask;
+
+    @BeforeEach
+    void setup() {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getDraw().setProcessingBatchSize(2);
+        config.getPrizes().getTiers().add(tier(5, PrizeTierType.PARI_MUTUEL, null, BigDecimal.valueOf(0.10)));
+        config.getPrizes().getTiers().add(tier(4, PrizeTierType.FIXED, BigDecimal.valueOf(1000.00), null));
+        config.getPrizes().getTiers().add(tier(3, PrizeTierType.FIXED, BigDecimal.valueOf(100.00), null));
+        config.getPrizes().getTiers().add(tier(2, PrizeTierType.FIXED, BigDecimal.valueOf(10.00), null));
+
+        settlementService = new SettlementService(ticketBulkRepository, drawTierResultRepository,
+                new PrizeRules(config), config, new LotteryMetrics(meterRegistry), userSummaryCache);
+
+        extractedDraw = Draw.builder()
+                .id(1L)
+                .status(DrawStatus.PAYMENTS_PROCESSING)
+                .drawDate(LocalDateTime.now().minusMinutes(1))
+                .winningNumbers("1,2,3,4,5")
+                .totalPrizePool(Money.of(10_000_000))
+                .build();
+        winningMask = NumberUtils.toBitmask("1,2,3,4,5");
+    }
+
+    @Test
+    void settle_ShouldSplitPariMutuelTierBetweenWinners() {
+        when(ticketBulkRepository.countByPickedAndMatches(1L, winningMask)).thenReturn(singleLines(0, 0, 0, 0, 0, 2));
+        when(ticketBulkRepository.findUnsettled(eq(1L), anyLong(), anyInt())).thenReturn(List.of());
+
+        DrawSettlement settlement = settlementService.settle(extractedDraw);
+
+        assertEquals(Money.of(500000), settlement.prizeFor(5));
+        assertEquals(Money.of(1000000), settlement.getTotalPayout());
+        assertEquals(Money.ZERO, settlement.getRolloverAmount());
+        assertEquals(settlement.getTotalPayout(), extractedDraw.getTotalPayout());
+    }
+
+    @Test
+    void settle_ShouldRollOverPariMutuelAllocation_WhenTierHasNoWinners() {
+        when(ticketBulkRepository.countByPickedAndMatches(1L, winningMask)).thenReturn(singleLines(3, 0, 1, 0, 1, 0));
+        when(ticketBulkRepository.findUnsettled(eq(1L), anyLong(), anyInt())).thenReturn(List.of());
+
+        DrawSettlement settlement = settlementService.settle(extractedDraw);
+
+        assertEquals(Money.of(1000000), settlement.getRolloverAmount());
+        assertEquals(Money.of(1010), settlement.getTotalPayout());
+        assertEquals(TicketStatus.NOT_WON, settlement.statusFor(1));
+        assertEquals(TicketStatus.WON, settlement.statusFor(2));
+        assertEquals(Money.of(1000000), extractedDraw.getRolloverAmount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void settle_ShouldApplyResultsInKeysetBatches_AndPersistTierSummary() {
+        long jackpotMask = NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5));
+        long fourMatchMask = NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 49));
+        long losingMask = NumberUtils.toBitmask(Set.of(10, 20, 30, 40, 49));
+
+        when(ticketBulkRepository.countByPickedAndMatches(1L, winningMask)).thenReturn(singleLines(1, 0, 0, 0, 1, 1));
+        when(ticketBulkRepository.findUnsettled(1L, 0L, 2)).thenReturn(List.of(
+                new UnsettledTicket(10L, 100L, jackpotMask), new UnsettledTicket(11L, 101L, fourMatchMask)));
+        when(ticketBulkRepository.findUnsettled(1L, 11L, 2)).thenReturn(List.of(
+                new UnsettledTicket(12L, 102L, losingMask)));
+
+        settlementService.settle(extractedDraw);
+
+        ArgumentCaptor<List<TicketResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(ticketBulkRepository, times(2)).applyResults(eq(1L), results.capture());
+
+        TicketResult jackpot = results.getAllValues().get(0).get(0);
+        assertEquals(5, jackpot.getMatchCount());
+        assertEquals(TicketStatus.WON, jackpot.getStatus());
+        assertEquals(Money.of(1000000), jackpot.getPrizeAmount());
+
+        TicketResult losing = results.getAllValues().get(1).get(0);
+        assertEquals(0, losing.getMatchCount());
+        assertEquals(TicketStatus.NOT_WON, losing.getStatus());
+        assertEquals(Money.ZERO, losing.getPrizeAmount());
+
+        verify(userSummaryCache).writeThrough(100L);
+        verify(userSummaryCache).writeThrough(101L);
+        verifyNoMoreInteractions(userSummaryCache);
+
+        ArgumentCaptor<List<DrawTierResult>> tiers = ArgumentCaptor.forClass(List.class);
+        verify(drawTierResultRepository).saveAll(tiers.capture());
+        assertEquals(4, tiers.getValue().size());
+        assertEquals(5, tiers.getValue().get(0).getMatchCount());
+        assertEquals(1L, tiers.getValue().get(0).getWinnerCount());
+
+        assertEquals(3.0, meterRegistry.get("lottery.settlement.tickets").counter().count());
+        assertEquals(2, meterRegistry.get("lottery.settlement.batch").timer().count());
+        assertEquals(1, meterRegistry.get("lottery.draw.phase").tag("phase", "settle").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void settle_ShouldScoreSystemEntryLines_WithoutExpandingThem() {
+        long systemMask = NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5, 6));
+        long[][] tickets = singleLines(0, 0, 0, 0, 0, 1);
+        tickets[6][5] = 1;
+
+        when(ticketBulkRepository.countByPickedAndMatches(1L, winningMask)).thenReturn(tickets);
+        when(ticketBulkRepository.findUnsettled(1L, 0L, 2)).thenReturn(List.of(new UnsettledTicket(10L, 100L, systemMask)));
+
+        DrawSettlement settlement = settlementService.settle(extractedDraw);
+
+        // 5 of 6 drawn: 1 jackpot line and C(5,4) * C(1,1) = 5 four-match lines, jackpot shared with the single line
+        assertEquals(Money.of(500_000), settlement.prizeFor(5));
+        assertEquals(Money.of(500_000 + 5 * 1_000), settlement.prizeFor(6, 5));
+        assertEquals(TicketStatus.NOT_WON, settlement.statusFor(6, 1));
+        assertEquals(TicketStatus.WON, settlement.statusFor(6, 2));
+        assertEquals(Money.of(1_000_000 + 5 * 1_000), settlement.getTotalPayout());
+
+        ArgumentCaptor<List<TicketResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(ticketBulkRepository).applyResults(eq(1L), results.capture());
+        assertEquals(Money.of(505_000), results.getValue().get(0).getPrizeAmount());
+
+        ArgumentCaptor<List<DrawTierResult>> tiers = ArgumentCaptor.forClass(List.class);
+        verify(drawTierResultRepository).saveAll(tiers.capture());
+        assertEquals(2L, tiers.getValue().get(0).getWinnerCount());
+        assertEquals(5L, tiers.getValue().get(1).getWinnerCount());
+    }
+
+    private long[][] singleLines(long... ticketsByMatch) {
+        long[][] tickets = new long[DrawSettlement.MAX_PICKED + 1][DrawSettlement.MAX_MATCHES + 1];
+        tickets[DrawSettlement.MAX_MATCHES] = ticketsByMatch;
+        return tickets;
+    }
+
+    private PrizeRulesConfig.Tier tier(int matchCount, PrizeTierType type, BigDecimal amount, BigDecimal poolShare) {
+        PrizeRulesConfig.Tier tier = new PrizeRulesConfig.Tier();
+        tier.setMatchCount(matchCount);
+        tier.setType(type);
+        tier.setAmount(amount);
+        tier.setPoolShare(poolShare);
+        return tier;
+    }
+}
@@ -0,0 +1,116 @@
+package com.assesment.lottofun.service;
+
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.Subscription;
+import com.assesment.lottofun.entity.SubscriptionStatus;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionBulkRepository;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionBulkRepository.GeneratedTickets;
+import com.assesment.lottofun.infrastructure.repository.SubscriptionRepository;
+import com.assesment.lottofun.presentation.dto.request.SubscriptionRequest;
+import com.assesment.lottofun.presentation.dto.response.SubscriptionResponse;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionServiceTest {
+
+    @Mock private SubscriptionRepository subscriptionRepository;
+    @Mock private SubscriptionBulkRepository subscriptionBulkRepository;
+    @Mock private UserService userService;
+    @Mock private PrizeRules prizeRules;
+    @Mock private UserSummaryCache userSummaryCache;
+
+    @InjectMocks
+    private SubscriptionService subscriptionService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = User.builder()
+                .id(1L)
+                .email("test@email.com")
+                .balance(Money.of(1000))
+                .build();
+    }
+
+    @Test
+    void subscribe_ShouldPriceEveryLine_AndStartWithAllDrawsRemaining() {
+        SubscriptionRequest request = new SubscriptionRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5, 6));
+        request.setDraws(10);
+
+        when(userService.getUserByEmail("test@email.com")).thenReturn(user);
+        when(prizeRules.getTicketPrice()).thenReturn(Money.of(10));
+        when(subscriptionRepository.save(any(Subscription.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SubscriptionResponse response = subscriptionService.subscribe("test@email.com", request);
+
+        assertEquals(new BigDecimal("60.00"), response.getPricePerDraw());
+        assertEquals(10, response.getTotalDraws());
+        assertEquals(10, response.getDrawsRemaining());
+        assertEquals(SubscriptionStatus.ACTIVE.name(), response.getStatus());
+    }
+
+    @Test
+    void subscribe_ShouldReject_WhenSameNumbersAlreadySubscribed() {
+        SubscriptionRequest request = new SubscriptionRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5));
+        request.setDraws(3);
+
+        when(userService.getUserByEmail("test@email.com")).thenReturn(user);
+        when(subscriptionRepository.existsByUserIdAndNumbersMaskAndStatusIn(eq(1L), eq(31L), anyCollection()))
+                .thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> subscriptionService.subscribe("test@email.com", request));
+        verify(subscriptionRepository, never()).save(any());
+    }
+
+    @Test
+    void resume_ShouldOnlyReactivateSuspendedSubscription() {
+        Subscription suspended = Subscription.createNew(user, Set.of(1, 2, 3, 4, 5), Money.of(10), 5);
+        suspended.setStatus(SubscriptionStatus.SUSPENDED_INSUFFICIENT_BALANCE);
+        Subscription cancelled = Subscription.createNew(user, Set.of(6, 7, 8, 9, 10), Money.of(10), 5);
+        cancelled.setStatus(SubscriptionStatus.CANCELLED);
+
+        when(userService.getUserByEmail("test@email.com")).thenReturn(user);
+        when(subscriptionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(suspended));
+        when(subscriptionRepository.findByIdAndUserId(2L, 1L)).thenReturn(Optional.of(cancelled));
+
+        assertEquals(SubscriptionStatus.ACTIVE.name(), subscriptionService.resume("test@email.com", 1L).getStatus());
+        assertThrows(BusinessException.class, () -> subscriptionService.resume("test@email.com", 2L));
+    }
+
+    @Test
+    void generateTickets_ShouldWriteThroughEveryDebitedSubscriber() {
+        Draw draw = Draw.builder().id(7L).build();
+        when(subscriptionBulkRepository.generateTickets(7L)).thenReturn(List.of(
+                new GeneratedTickets(1L, 30, 0), new GeneratedTickets(2L, 10, 1), new GeneratedTickets(3L, 0, 2)));
+
+        int generated = subscriptionService.generateTickets(draw);
+
+        assertEquals(40, generated);
+        verify(subscriptionBulkRepository).generateTickets(7L);
+        verify(userSummaryCache).writeThrough(1L);
+        verify(userSummaryCache).writeThrough(2L);
+        verifyNoMoreInteractions(userSummaryCache);
+    }
+}
@@ -1,23 +1,32 @@
 package com.assesment.lottofun.service;
 
-import com.assesment.lottofun.config.PrizeRulesConfig;
 import com.assesment.lottofun.presentation.dto.request.TicketPurchaseRequest;
 import com.assesment.lottofun.presentation.dto.response.TicketBasicResponse;
 import com.assesment.lottofun.presentation.dto.response.TicketDetailResponse;
 import com.assesment.lottofun.entity.*;
 import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.exception.DrawNotAvailableException;
+import com.assesment.lottofun.exception.InsufficientBalanceException;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.configuration.PrizeRules;
 import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.service.purchase.GroupCommitPurchasePipeline;
+import com.assesment.lottofun.service.purchase.JournaledPurchase;
+import com.assesment.lottofun.service.scheduling.DrawCloseGate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,14 +39,18 @@ class TicketServiceTest {
     @Mock private TicketRepository ticketRepository;
     @Mock private DrawService drawService;
     @Mock private UserService userService;
-    @Mock private PrizeRulesConfig prizeRulesConfig;
+    @Mock private PrizeRules prizeRules;
+    @Mock private ExposureService exposureService;
+    @Mock private GroupCommitPurchasePipeline purchasePipeline;
+    @Mock private DrawCloseGate closeGate;
+    @Mock private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private TicketService ticketService;
 
     private User sampleUser;
     private Draw sampleDraw;
-    private PrizeRulesConfig.Ticket ticketConfig;
+    private final Money ticketPrice = Money.of(10);
 
     @BeforeEach
     void setup() {
@@ -46,7 +59,7 @@ class TicketServiceTest {
                 .email("test@email.com")
                 .firstName("Test")
                 .lastName("User")
-                .balance(BigDecimal.valueOf(1000))
+                .balance(Money.of(1000))
                 .build();
 
         sampleDraw = Draw.builder()
@@ -55,8 +68,8 @@ class TicketServiceTest {
                 .status(DrawStatus.DRAW_OPEN)
                 .build();
 
-        ticketConfig = new PrizeRulesConfig.Ticket();
-        ticketConfig.setPrice(BigDecimal.valueOf(10.00));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -67,10 +80,10 @@ class TicketServiceTest {
         request.setSelectedNumbers(numbers);
 
         when(drawService.getActiveDraw()).thenReturn(sampleDraw);
-        when(userService.getUserByEmail(email)).thenReturn(sampleUser);
-        when(prizeRulesConfig.getTicket()).thenReturn(ticketConfig);
+        when(userService.getUserByEmailForUpdate(email)).thenReturn(sampleUser);
+        when(prizeRules.getTicketPrice()).thenReturn(ticketPrice);
 
-        Ticket savedTicket = Ticket.createNew(sampleUser, sampleDraw, numbers, ticketConfig.getPrice());
+        Ticket savedTicket = Ticket.createNew(sampleUser, sampleDraw, numbers, ticketPrice);
         savedTicket.setId(1L);
         savedTicket.setTicketNumber("TKT-12345-TEST");
         when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
@@ -80,10 +93,110 @@ class TicketServiceTest {
         assertNotNull(result);
         assertNotNull(result.getTicketNumber());
         verify(drawService).getActiveDraw();
-        verify(userService).getUserByEmail(email);
+        verify(userService).getUserByEmailForUpdate(email);
         verify(userService).save(sampleUser);
         verify(ticketRepository).save(any(Ticket.class));
         verify(drawService).save(sampleDraw);
+        verify(exposureService).record(savedTicket);
+        InOrder inOrder = inOrder(closeGate, drawService, userService);
+        inOrder.verify(closeGate).admit(1L);
+        inOrder.verify(drawService).fenceOpenDraw(1L);
+        inOrder.verify(userService).save(sampleUser);
+    }
+
+    @Test
+    void purchase_ShouldReject_WhenCloseGateHasClosedTheDraw() {
+        TicketPurchaseRequest request = new TicketPurchaseRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5));
+
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+        doThrow(new DrawNotAvailableException("The current active draw is no longer accepting tickets"))
+                .when(closeGate).admit(1L);
+
+        assertThrows(DrawNotAvailableException.class, () -> ticketService.purchase("test@email.com", request));
+
+        verify(userService, never()).getUserByEmail(anyString());
+        verify(ticketRepository, never()).save(any());
+    }
+
+    @Test
+    void purchase_ShouldNotDebit_WhenDrawClosedBehindTheFence() {
+        String email = "test@email.com";
+        TicketPurchaseRequest request = new TicketPurchaseRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5));
+
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+        when(userService.getUserByEmailForUpdate(email)).thenReturn(sampleUser);
+        when(prizeRules.getTicketPrice()).thenReturn(ticketPrice);
+        doThrow(new DrawNotAvailableException("The current active draw is no longer accepting tickets"))
+                .when(drawService).fenceOpenDraw(1L);
+
+        assertThrows(DrawNotAvailableException.class, () -> ticketService.purchase(email, request));
+
+        assertEquals(Money.of(1000), sampleUser.getBalance());
+        verify(ticketRepository, never()).save(any());
+    }
+
+    @Test
+    void purchase_ShouldChargeEveryLine_OfSystemEntry() {
+        String email = "test@email.com";
+        Set<Integer> numbers = Set.of(1, 2, 3, 4, 5, 6, 7, 8);
+        TicketPurchaseRequest request = new TicketPurchaseRequest();
+        request.setSelectedNumbers(numbers);
+
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+        when(userService.getUserByEmailForUpdate(email)).thenReturn(sampleUser);
+        when(prizeRules.getTicketPrice()).thenReturn(ticketPrice);
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketBasicResponse result = ticketService.purchase(email, request);
+
+        assertEquals(56L, result.getLineCount());
+        assertEquals(0, result.getPurchasePrice().compareTo(BigDecimal.valueOf(560)));
+        assertEquals(Money.of(1000 - 560), sampleUser.getBalance());
+    }
+
+    @Test
+    void purchase_ShouldAcknowledgeFromJournal_WhenGroupCommitIsEnabled() {
+        String email = "test@email.com";
+        TicketPurchaseRequest request = new TicketPurchaseRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5));
+
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+        when(userService.getUserByEmail(email)).thenReturn(sampleUser);
+        when(prizeRules.getTicketPrice()).thenReturn(ticketPrice);
+        when(purchasePipeline.isEnabled()).thenReturn(true);
+        when(purchasePipeline.submit(sampleUser, 1L, 31L, ticketPrice))
+                .thenReturn(new JournaledPurchase(1L, 1L, 1L, 31L, 1000L, 1_700_000_000_000L, 0xCAFE));
+
+        TicketBasicResponse result = ticketService.purchase(email, request);
+
+        assertEquals("TKT-1-1700000000000-0000CAFE", result.getTicketNumber());
+        assertEquals(Money.of(1000), sampleUser.getBalance());
+        verify(ticketRepository, never()).save(any());
+        verify(userService, never()).save(any());
+        verify(exposureService).record(any(Ticket.class));
+        verify(closeGate).exit();
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void purchase_ShouldFail_WhenGroupCommitRejectsThePurchase() {
+        String email = "test@email.com";
+        TicketPurchaseRequest request = new TicketPurchaseRequest();
+        request.setSelectedNumbers(Set.of(1, 2, 3, 4, 5));
+
+        when(drawService.getActiveDraw()).thenReturn(sampleDraw);
+        when(userService.getUserByEmail(email)).thenReturn(sampleUser);
+        when(prizeRules.getTicketPrice()).thenReturn(ticketPrice);
+        when(purchasePipeline.isEnabled()).thenReturn(true);
+        when(purchasePipeline.submit(sampleUser, 1L, 31L, ticketPrice))
+                .thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        assertThrows(InsufficientBalanceException.class, () -> ticketService.purchase(email, request));
+
+        verify(exposureService, never()).record(any());
+        verify(closeGate).exit();
     }
 
     @Test
@@ -123,15 +236,14 @@ class TicketServiceTest {
                 .user(sampleUser)
                 .build();
 
-        sampleUser.setTickets(List.of(ticket));
-        when(userService.getUserByEmail(email)).thenReturn(sampleUser);
+        when(ticketRepository.findByIdAndUserEmail(ticketId, email)).thenReturn(Optional.of(ticket));
 
         TicketDetailResponse response = ticketService.ticketDetail(email, ticketId);
 
         assertNotNull(response);
         assertEquals("TKT-12345", response.getTicketNumber());
         assertEquals(TicketStatus.WAITING_FOR_DRAW.name(), response.getTicketStatus());
-        verify(userService).getUserByEmail(email);
+        verify(userService, never()).getUserByEmail(anyString());
     }
 
     @Test
@@ -139,15 +251,13 @@ class TicketServiceTest {
         String email = "test@email.com";
         Long ticketId = 999L;
 
-        sampleUser.setTickets(List.of());
-        when(userService.getUserByEmail(email)).thenReturn(sampleUser);
+        when(ticketRepository.findByIdAndUserEmail(ticketId, email)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             ticketService.ticketDetail(email, ticketId);
         });
 
         assertTrue(exception.getMessage().contains("Ticket not found"));
-        verify(userService).getUserByEmail(email);
     }
 
 }
@@ -6,13 +6,17 @@ import com.assesment.lottofun.presentation.dto.response.TicketDetailResponse;
 import com.assesment.lottofun.presentation.dto.response.UserProfileResponse;
 import com.assesment.lottofun.entity.*;
 import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
 import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import com.assesment.lottofun.service.cache.UserSummary;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -31,6 +35,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -45,7 +55,7 @@ class UserServiceTest {
                 .email("test@email.com")
                 .firstName("John")
                 .lastName("Doe")
-                .balance(BigDecimal.valueOf(1000))
+                .balance(Money.of(1000))
                 .build();
 
         sampleDraw = Draw.builder()
@@ -59,7 +69,7 @@ class UserServiceTest {
                 .ticketNumber("TKT-12345")
                 .selectedNumbers("1,2,3,4,5")
                 .status(TicketStatus.WON)
-                .prizeAmount(BigDecimal.valueOf(100))
+                .prizeAmount(Money.of(100))
                 .purchaseTimestamp(LocalDateTime.now())
                 .draw(sampleDraw)
                 .user(sampleUser)
@@ -70,7 +80,8 @@ class UserServiceTest {
     void profile_ShouldReturnUserProfile_WhenUserExists() {
         // Given
         String email = "test@email.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(sampleUser));
+        when(userSummaryCache.get(email)).thenReturn(new UserSummary(1L, email, "John", "Doe",
+                Money.of(1000), LocalDateTime.now(), 3L, 1L));
 
         // When
         UserProfileResponse response = userService.profile(email);
@@ -80,14 +91,16 @@ class UserServiceTest {
         assertEquals(email, response.getEmail());
         assertEquals("John", response.getFirstName());
         assertEquals("Doe", response.getLastName());
-        verify(userRepository).findByEmail(email);
+        assertEquals(3L, response.getTicketCount());
+        assertEquals(1L, response.getClaimableTicketCount());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void profile_ShouldThrowResourceNotFoundException_WhenUserNotFound() {
         // Given
         String email = "nonexistent@email.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userSummaryCache.get(email)).thenThrow(new ResourceNotFoundException("User not found with email: " + email));
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -95,7 +108,6 @@ class UserServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("User not found"));
-        verify(userRepository).findByEmail(email);
     }
 
     @Test
@@ -105,7 +117,7 @@ class UserServiceTest {
         Long ticketId = 1L;
         
         sampleUser.setTickets(List.of(sampleTicket));
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(sampleUser));
+        when(userRepository.findByEmailForUpdate(email)).thenReturn(Optional.of(sampleUser));
 
         // When
         ClaimTicketResponse response = userService.claimTicket(email, ticketId);
@@ -114,9 +126,10 @@ class UserServiceTest {
         assertNotNull(response);
         assertEquals(ticketId, response.getTicketId());
         assertEquals("TKT-12345", response.getTicketNumber());
-        assertEquals(BigDecimal.valueOf(100), response.getClaimedAmount());
-        verify(userRepository).findByEmail(email);
+        assertEquals(new BigDecimal("100.00"), response.getClaimedAmount());
+        verify(userRepository).findByEmailForUpdate(email);
         verify(userRepository).save(sampleUser);
+        verify(userSummaryCache).writeThrough(sampleUser.getId());
     }
 
     @Test
@@ -125,7 +138,7 @@ class UserServiceTest {
         Long ticketId = 999L;
 
         sampleUser.setTickets(List.of()); // Empty tickets
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(sampleUser));
+        when(userRepository.findByEmailForUpdate(email)).thenReturn(Optional.of(sampleUser));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -133,7 +146,7 @@ class UserServiceTest {
         });
 
         assertEquals("Ticket not found for user", exception.getMessage());
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findByEmailForUpdate(email);
         verify(userRepository, never()).save(any());
     }
 
@@ -160,15 +173,16 @@ class UserServiceTest {
                 .draw(sampleDraw)
                 .build();
 
-        sampleUser.setTickets(List.of(ticket1, ticket2));
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(sampleUser));
+        when(ticketRepository.findByUserEmailOrderByPurchaseTimestampDesc(email, pageable))
+                .thenReturn(new PageImpl<>(List.of(ticket2, ticket1), pageable, 2));
 
         PageResponse<TicketDetailResponse> result = userService.userAllTickets(email, pageable);
 
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
         assertEquals(2, result.getTotalElements());
-        verify(userRepository).findByEmail(email);
+        assertEquals("TKT-2", result.getContent().get(0).getTicketNumber());
+        verify(ticketRepository).findByUserEmailOrderByPurchaseTimestampDesc(email, pageable);
     }
 
     @Test
@@ -180,20 +194,19 @@ class UserServiceTest {
                 .ticketNumber("TKT-WINNER")
                 .selectedNumbers("1,2,3,4,5")
                 .status(TicketStatus.WON)
-                .prizeAmount(BigDecimal.valueOf(1000))
+                .prizeAmount(Money.of(1000))
                 .purchaseTimestamp(LocalDateTime.now())
                 .draw(sampleDraw)
                 .build();
 
-        sampleUser.setTickets(List.of(winningTicket));
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(sampleUser));
+        when(ticketRepository.findWonByUserEmail(email)).thenReturn(List.of(winningTicket));
 
         List<TicketDetailResponse> result = userService.winningTickets(email);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("TKT-WINNER", result.get(0).getTicketNumber());
-        verify(userRepository).findByEmail(email);
+        verify(ticketRepository).findWonByUserEmail(email);
     }
 
     @Test
@@ -0,0 +1,138 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.jdbc.SessionConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private SessionConnectionFactory connectionFactory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationListener listener;
+
+    @Mock
+    private NodeMessageListener messageListener;
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("listener", listener);
+        beanFactory.registerSingleton("messageListener", messageListener);
+        bus = new CacheInvalidationBus(connectionFactory, jdbcTemplate, new PrizeRulesConfig(),
+                beanFactory.getBeanProvider(CacheInvalidationListener.class),
+                beanFactory.getBeanProvider(NodeMessageListener.class));
+    }
+
+    @Test
+    void publish_ShouldInvalidateLocallyAfterCommit_AndNotifyOtherNodesInOneBatch() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CachedEntity.USER, 7L);
+            bus.publish(CachedEntity.DRAW, 3L);
+            verifyNoInteractions(listener);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(listener).invalidate(CachedEntity.USER, 7L);
+        verify(listener).invalidate(CachedEntity.DRAW, 3L);
+
+        bus.flush();
+        bus.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(1)).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("lottofun_cache"), payload.capture());
+        assertEquals(bus.getNodeId() + "|DRAW:3|USER:7", payload.getValue());
+    }
+
+    @Test
+    void flush_ShouldSplitManyIdsAcrossNotifications_InsteadOfWildcarding() {
+        int users = CacheInvalidationBus.MAX_IDS_PER_NOTIFY * 2 + 1;
+        for (long id = 1; id <= users; id++) {
+            bus.publish(CachedEntity.USER, 1_000_000_000_000_000_000L + id);
+        }
+
+        bus.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(3)).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("lottofun_cache"), payload.capture());
+        int received = 0;
+        for (Object sent : payload.getAllValues()) {
+            CacheInvalidationMessage message = CacheInvalidationMessage.decode((String) sent);
+            assertTrue(message.getWildcards().isEmpty());
+            received += message.getIds().get(CachedEntity.USER).size();
+        }
+        assertEquals(users, received);
+    }
+
+    @Test
+    void publish_ShouldNotInvalidate_WhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CachedEntity.USER, 7L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        bus.flush();
+
+        verifyNoInteractions(listener, jdbcTemplate);
+    }
+
+    @Test
+    void receive_ShouldApplyRemoteChanges_AndIgnoreOwnNotifications() {
+        bus.receive("other|DRAW:4|USER:*");
+        bus.receive(bus.getNodeId() + "|DRAW:9");
+
+        verify(listener).invalidate(CachedEntity.DRAW, 4L);
+        verify(listener).invalidate(CachedEntity.USER, null);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void receive_ShouldIgnoreMalformedPayload() {
+        bus.receive("other|TICKET:1");
+
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void deliver_ShouldPassMessagesFromOtherNodesToTheChannelListener() {
+        when(messageListener.getChannel()).thenReturn("lottofun_draw_events");
+
+        bus.deliver("lottofun_draw_events", "other|DRAW_CLOSED|{}");
+        bus.deliver("lottofun_draw_events", bus.getNodeId() + "|DRAW_OPENED|{}");
+        bus.deliver("another_channel", "other|DRAW_OPENED|{}");
+
+        verify(messageListener).receive("DRAW_CLOSED|{}");
+        verify(messageListener, never()).receive("DRAW_OPENED|{}");
+    }
+}
@@ -0,0 +1,55 @@
+package com.assesment.lottofun.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationMessageTest {
+
+    @Test
+    void encode_ShouldRoundTripIdsAndWildcards() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage("node-1");
+        message.add(CachedEntity.DRAW, 4L);
+        message.add(CachedEntity.DRAW, 5L);
+        message.add(CachedEntity.USER, null);
+
+        String payload = message.encode();
+        CacheInvalidationMessage decoded = CacheInvalidationMessage.decode(payload);
+
+        assertEquals("node-1|DRAW:4,5|USER:*", payload);
+        assertEquals("node-1", decoded.getOrigin());
+        assertEquals(Set.of(4L, 5L), decoded.getIds().get(CachedEntity.DRAW));
+        assertEquals(Set.of(CachedEntity.USER), decoded.getWildcards());
+    }
+
+    @Test
+    void add_ShouldDropIds_OnceEntityIsWildcarded() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage("node-1");
+        message.add(CachedEntity.USER, 1L);
+        message.add(CachedEntity.USER, null);
+        message.add(CachedEntity.USER, 2L);
+
+        assertEquals("node-1|USER:*", message.encode());
+    }
+
+    @Test
+    void encode_ShouldFallBackToWildcard_WhenIdsExceedPayloadLimit() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage("node-1");
+        message.add(CachedEntity.DRAW, 1L);
+        for (long id = 1_000_000; id < 1_002_000; id++) {
+            message.add(CachedEntity.USER, id);
+        }
+
+        String payload = message.encode();
+
+        assertTrue(payload.length() <= CacheInvalidationMessage.MAX_PAYLOAD_LENGTH);
+        assertEquals("node-1|DRAW:*|USER:*", payload);
+    }
+
+    @Test
+    void isEmpty_ShouldBeTrue_WithoutChanges() {
+        assertTrue(new CacheInvalidationMessage("node-1").isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.entity.Draw;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HibernateCacheInvalidationListenerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private HibernateCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // SessionFactory is an EntityManagerFactory too, so the listener is wired by hand.
+        listener = new HibernateCacheInvalidationListener(entityManagerFactory);
+    }
+
+    @Test
+    void invalidate_ShouldEvictDrawAndActiveDrawQuery() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        listener.invalidate(CachedEntity.DRAW, 4L);
+
+        verify(cache).evictEntityData(Draw.class, 4L);
+        verify(cache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void invalidate_ShouldEvictAllDraws_WhenIdIsUnknown() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        listener.invalidate(CachedEntity.DRAW, null);
+
+        verify(cache).evictEntityData(Draw.class);
+    }
+
+    @Test
+    void invalidate_ShouldIgnoreOtherEntities() {
+        listener.invalidate(CachedEntity.USER, 4L);
+
+        verifyNoInteractions(entityManagerFactory);
+    }
+}
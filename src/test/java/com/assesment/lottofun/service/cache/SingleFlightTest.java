@@ -0,0 +1,116 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test");
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneComputation_BetweenConcurrentCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        Future<String> leader = callers.submit(() -> flight.execute("page", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(callers.submit(() -> flight.execute("page", () -> {
+                computations.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        awaitCollapsed(5);
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, flight.getExecutions());
+        assertEquals(5, flight.getCollapsed());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void execute_ShouldRethrowLeaderFailure_ToCollapsedCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = callers.submit(() -> flight.execute("active", () -> {
+            started.countDown();
+            await(release);
+            throw new ResourceNotFoundException("No active draw available");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = callers.submit(() -> flight.execute("active", () -> "unused"));
+        awaitCollapsed(1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(ResourceNotFoundException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void execute_ShouldComputeAgain_OnceThePreviousCallFinished() {
+        assertEquals("first", flight.execute("page", () -> "first"));
+        assertEquals("second", flight.execute("page", () -> "second"));
+
+        assertEquals(2, flight.getExecutions());
+        assertEquals(0, flight.getCollapsed());
+    }
+
+    @Test
+    void execute_ShouldNotCollapseDifferentKeys() {
+        assertEquals("a", flight.execute("0:10:desc", () -> "a"));
+        assertEquals("b", flight.execute("1:10:desc", () -> "b"));
+
+        assertEquals(2, flight.getExecutions());
+    }
+
+    private void awaitCollapsed(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (flight.getCollapsed() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, flight.getCollapsed());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
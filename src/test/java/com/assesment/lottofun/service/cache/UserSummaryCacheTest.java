@@ -0,0 +1,160 @@
+package com.assesment.lottofun.service.cache;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.exception.ResourceNotFoundException;
+import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryCacheTest {
+
+    private static final String EMAIL = "test@email.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private UserSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSummaryCache(userRepository, cacheInvalidationBus, new PrizeRulesConfig());
+        cache.init();
+    }
+
+    @Test
+    void get_ShouldLoadOnce_AndServeLaterReadsFromMemory() {
+        when(userRepository.findIdByEmail(EMAIL)).thenReturn(Optional.of(1L));
+        when(userRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary(1000)));
+
+        UserSummary first = cache.get(EMAIL);
+        UserSummary second = cache.get(EMAIL);
+
+        assertSame(first, second);
+        verify(userRepository).findIdByEmail(EMAIL);
+        verify(userRepository).findSummariesByIdIn(List.of(1L));
+    }
+
+    @Test
+    void get_ShouldThrowResourceNotFoundException_WhenUserDoesNotExist() {
+        when(userRepository.findIdByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.get(EMAIL));
+    }
+
+    @Test
+    void writeThrough_ShouldReplaceCachedSummaryAfterCommit_AndNotifyOtherNodes() {
+        cacheSummary(summary(1000));
+        UserSummary afterPurchase = summary(990);
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(afterPurchase));
+
+        commit(() -> {
+            cache.writeThrough(1L);
+            cache.writeThrough(1L);
+        }, () -> {
+        });
+
+        assertSame(afterPurchase, cache.get(EMAIL));
+        verify(userRepository, times(2)).findSummariesByIdIn(anyCollection());
+        verify(cacheInvalidationBus).notifyPeers(CachedEntity.USER, 1L);
+    }
+
+    @Test
+    void writeThrough_ShouldOnlyNotifyOtherNodes_ForUsersNotCachedHere() {
+        commit(() -> {
+            cache.writeThrough(2L);
+            cache.writeThrough(3L);
+        }, () -> {
+        });
+
+        verifyNoInteractions(userRepository);
+        verify(cacheInvalidationBus).notifyPeers(CachedEntity.USER, 2L);
+        verify(cacheInvalidationBus).notifyPeers(CachedEntity.USER, 3L);
+    }
+
+    @Test
+    void writeThrough_ShouldDropEntry_WhenAnotherChangeReplacedItBeforeCommit() {
+        cacheSummary(summary(1000));
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(summary(990)));
+
+        commit(() -> cache.writeThrough(1L), () -> {
+            cache.invalidate(CachedEntity.USER, 1L);
+            cache.get(EMAIL);
+        });
+
+        cache.get(EMAIL);
+        verify(userRepository, times(4)).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void writeThrough_ShouldLeaveCacheUntouched_WhenTransactionRollsBack() {
+        UserSummary cached = summary(1000);
+        cacheSummary(cached);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.writeThrough(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertSame(cached, cache.get(EMAIL));
+        assertNull(TransactionSynchronizationManager.getResource(cache));
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void invalidate_ShouldDropUserEntries_AndIgnoreOtherEntities() {
+        cacheSummary(summary(1000));
+
+        cache.invalidate(CachedEntity.DRAW, null);
+        cache.get(EMAIL);
+        cache.invalidate(CachedEntity.USER, null);
+        cache.get(EMAIL);
+
+        verify(userRepository, times(2)).findSummariesByIdIn(List.of(1L));
+    }
+
+    private void cacheSummary(UserSummary summary) {
+        when(userRepository.findIdByEmail(EMAIL)).thenReturn(Optional.of(1L));
+        when(userRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary));
+        cache.get(EMAIL);
+    }
+
+    private void commit(Runnable work, Runnable beforeAfterCommit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            beforeAfterCommit.run();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static UserSummary summary(long balance) {
+        return new UserSummary(1L, EMAIL, "John", "Doe", Money.of(balance), LocalDateTime.now(), 1L, 0L);
+    }
+}
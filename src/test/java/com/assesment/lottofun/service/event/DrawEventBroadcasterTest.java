@@ -0,0 +1,253 @@
+package com.assesment.lottofun.service.event;
+
+import com.assesment.lottofun.config.JacksonConfig;
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DrawEventBroadcasterTest {
+
+    private static final int QUEUE_SIZE = 2;
+
+    private DrawEventBroadcaster broadcaster;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private Draw draw;
+
+    @BeforeEach
+    void setUp() {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getEvents().setSubscriberQueueSize(QUEUE_SIZE);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        broadcaster = new DrawEventBroadcaster(new JacksonConfig().objectMapper(), config, cacheInvalidationBus);
+        broadcaster.start();
+        draw = Draw.builder()
+                .id(3L)
+                .status(DrawStatus.DRAW_CLOSED)
+                .drawDate(LocalDateTime.now())
+                .totalPrizePool(Money.of(1000))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    void publish_ShouldDeliverSerializedDrawToEverySubscriber() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(1);
+        RecordingEmitter second = new RecordingEmitter(1);
+        broadcaster.register(first);
+        broadcaster.register(second);
+
+        broadcaster.publish(DrawEventType.DRAW_CLOSED, draw);
+
+        assertTrue(first.await());
+        assertTrue(second.await());
+        String frame = first.frames.get(0);
+        assertTrue(frame.contains("event:DRAW_CLOSED"));
+        assertTrue(frame.contains("\"status\":\"DRAW_CLOSED\""));
+        assertEquals(frame, second.frames.get(0));
+        verify(cacheInvalidationBus).send(eq("lottofun_draw_events"), startsWith("DRAW_CLOSED|{"));
+    }
+
+    @Test
+    void receive_ShouldDeliverEventsAnnouncedByOtherNodes_WithoutRelayingThemAgain() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(1);
+        broadcaster.register(subscriber);
+
+        broadcaster.receive("DRAW_FINALIZED|{\"id\":3}");
+        broadcaster.receive("NOT_AN_EVENT|{}");
+
+        assertTrue(subscriber.await());
+        assertTrue(subscriber.frames.get(0).contains("event:DRAW_FINALIZED"));
+        assertTrue(subscriber.frames.get(0).contains("data:{\"id\":3}"));
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void broadcast_ShouldDisconnectSlowSubscriber_WithoutDelayingTheOthers() throws Exception {
+        BlockedEmitter slow = new BlockedEmitter();
+        RecordingEmitter fast = new RecordingEmitter(QUEUE_SIZE + 3);
+        broadcaster.register(slow);
+        broadcaster.register(fast);
+
+        broadcaster.broadcast(DrawEventType.DRAW_CLOSED, 1L, "{}");
+        assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+        for (int id = 2; id <= QUEUE_SIZE + 3; id++) {
+            assertTrue(fast.awaitFrames(id - 1));
+            broadcaster.broadcast(DrawEventType.DRAW_CLOSED, id, "{}");
+        }
+
+        assertTrue(fast.await());
+        assertEquals(1, broadcaster.getSubscriberCount());
+        slow.release.countDown();
+    }
+
+    @Test
+    void broadcast_ShouldKeepDeliveringToOthers_WhenWritersBlockEverySenderThread() throws Exception {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getEvents().setSenderThreads(1);
+        config.getEvents().setSendTimeoutMillis(100L);
+        DrawEventBroadcaster singleSender = new DrawEventBroadcaster(new JacksonConfig().objectMapper(), config,
+                cacheInvalidationBus);
+        singleSender.start();
+        BlockedEmitter blocked = new BlockedEmitter();
+        RecordingEmitter other = new RecordingEmitter(2);
+        try {
+            singleSender.register(blocked);
+            singleSender.broadcast(DrawEventType.DRAW_CLOSED, 1L, "{}");
+            assertTrue(blocked.writing.await(5, TimeUnit.SECONDS));
+
+            singleSender.register(other);
+            singleSender.broadcast(DrawEventType.DRAW_EXTRACTED, 2L, "{}");
+            singleSender.broadcast(DrawEventType.DRAW_FINALIZED, 3L, "{}");
+
+            assertTrue(other.await());
+            assertEquals(1, singleSender.getSubscriberCount());
+        } finally {
+            blocked.release.countDown();
+            singleSender.stop();
+        }
+    }
+
+    @Test
+    void publish_ShouldWaitForCommit_InsideTransaction() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(1);
+        broadcaster.register(subscriber);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            broadcaster.publish(DrawEventType.DRAW_CLOSED, draw);
+            draw.setStatus(DrawStatus.DRAW_EXTRACTED);
+            assertFalse(subscriber.await(100));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(subscriber.await());
+        assertTrue(subscriber.frames.get(0).contains("\"status\":\"DRAW_CLOSED\""));
+    }
+
+    @Test
+    void broadcast_ShouldDropSubscribersThatFailToReceive() throws Exception {
+        RecordingEmitter recording = new RecordingEmitter(1);
+        broadcaster.register(recording);
+        broadcaster.register(new FailingEmitter());
+        assertEquals(2, broadcaster.getSubscriberCount());
+
+        broadcaster.broadcast(DrawEventType.DRAW_FINALIZED, 1L, "{}");
+
+        assertTrue(recording.await());
+        for (int attempt = 0; attempt < 50 && broadcaster.getSubscriberCount() > 1; attempt++) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_ShouldRegisterNewEmitter() {
+        broadcaster.subscribe(() -> Optional.of(draw));
+        broadcaster.subscribe(Optional::empty);
+
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_ShouldQueueTheOpenDraw_BehindEventsBroadcastWhileItIsRead() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(2);
+
+        broadcaster.subscribe(subscriber, () -> {
+            broadcaster.receive("DRAW_CLOSED|{}");
+            return Optional.of(draw);
+        });
+
+        assertTrue(subscriber.await());
+        assertTrue(subscriber.frames.get(0).startsWith("id:1\nevent:DRAW_CLOSED\n"));
+        assertTrue(subscriber.frames.get(1).startsWith("id:2\nevent:DRAW_OPENED\n"));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+
+        private RecordingEmitter(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            StringBuilder frame = new StringBuilder();
+            items.forEach(part -> frame.append(part.getData()));
+            frames.add(frame.toString());
+            received.countDown();
+        }
+
+        private boolean await() throws InterruptedException {
+            return await(5000);
+        }
+
+        private boolean await(long millis) throws InterruptedException {
+            return received.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        private boolean awaitFrames(int count) throws InterruptedException {
+            for (int attempt = 0; attempt < 250 && frames.size() < count; attempt++) {
+                Thread.sleep(20);
+            }
+            return frames.size() >= count;
+        }
+    }
+
+    private static class FailingEmitter extends SseEmitter {
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+
+    /**
+     * A client that stopped reading: its first write blocks until the test releases it.
+     */
+    private static class BlockedEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            writing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.assesment.lottofun.service.event;
+
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relays a draw event through PostgreSQL as another node would send it.
+ */
+@SpringBootTest
+class DrawEventRelayTest {
+
+    @Autowired
+    private DrawEventBroadcaster broadcaster;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eventFromAnotherNode_ShouldReachLocalSubscribers() throws Exception {
+        for (int attempt = 0; attempt < 50 && !cacheInvalidationBus.isListening(); attempt++) {
+            Thread.sleep(100);
+        }
+        CountDownLatch received = new CountDownLatch(1);
+        List<String> frames = new CopyOnWriteArrayList<>();
+        SseEmitter subscriber = new SseEmitter() {
+            @Override
+            public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+                StringBuilder frame = new StringBuilder();
+                items.forEach(part -> frame.append(part.getData()));
+                frames.add(frame.toString());
+                received.countDown();
+            }
+        };
+        broadcaster.register(subscriber);
+
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+        }, broadcaster.getChannel(), "othernode|DRAW_EXTRACTED|{\"id\":42}");
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertTrue(frames.get(0).contains("event:DRAW_EXTRACTED"));
+        assertTrue(frames.get(0).contains("data:{\"id\":42}"));
+        subscriber.complete();
+    }
+}
@@ -0,0 +1,128 @@
+package com.assesment.lottofun.service.exposure;
+
+import com.assesment.lottofun.util.NumberUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExposureLedgerTest {
+
+    private static final long[] PRIZE_CENTS = {0, 0, 1_000, 10_000, 100_000, 100_000_000};
+    private static final long[] NO_ALLOCATION = new long[6];
+
+    private ExposureLedger ledger;
+    private List<Long> ticketMasks;
+
+    @BeforeEach
+    void setup() {
+        ledger = new ExposureLedger(1L);
+        ticketMasks = new ArrayList<>();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Set<Integer> numbers = new TreeSet<>();
+            while (numbers.size() < 5) {
+                numbers.add(random.nextInt(49) + 1);
+            }
+            long mask = NumberUtils.toBitmask(numbers);
+            ticketMasks.add(mask);
+            ledger.add(mask);
+        }
+    }
+
+    @Test
+    void matchCounts_ShouldEqualBruteForceCounts_ForAnyOutcome() {
+        int[][] outcomes = {{1, 2, 3, 4, 5}, {7, 14, 21, 28, 35}, {45, 46, 47, 48, 49}, {3, 9, 17, 30, 44}};
+
+        for (int[] outcome : outcomes) {
+            long[] expected = bruteForceMatchCounts(toMask(outcome));
+
+            long[] actual = ledger.matchCounts(outcome);
+
+            for (int matches = 2; matches <= 5; matches++) {
+                assertEquals(expected[matches], actual[matches], "matches=" + matches);
+            }
+        }
+    }
+
+    @Test
+    void matchCounts_ShouldCountJackpot_WhenOutcomeEqualsTicket() {
+        ledger.add(NumberUtils.toBitmask(Set.of(10, 20, 30, 40, 49)));
+
+        long[] counts = ledger.matchCounts(10, 20, 30, 40, 49);
+
+        assertTrue(counts[5] >= 1);
+    }
+
+    @Test
+    void sweep_ShouldFindWorstCaseOutcome_MatchingBruteForce() {
+        ExposureReport report = ledger.sweep(ForkJoinPool.commonPool(), PRIZE_CENTS, NO_ALLOCATION);
+
+        long expectedWorst = bruteForcePayout(toMask(report.getWorstOutcome()));
+        assertEquals(expectedWorst, report.getMaxPayoutCents());
+        assertEquals(1_906_884L, report.getOutcomesEvaluated());
+        assertEquals(200L, report.getTicketCount());
+
+        for (long mask : ticketMasks.subList(0, 20)) {
+            assertTrue(bruteForcePayout(mask) <= report.getMaxPayoutCents());
+        }
+    }
+
+    @Test
+    void sweep_ShouldReturnAnalyticExpectedPayout_ForFixedTiers() {
+        ExposureReport report = ledger.sweep(ForkJoinPool.commonPool(), PRIZE_CENTS, NO_ALLOCATION);
+
+        double outcomes = 1_906_884d;
+        double perLine = 0;
+        long[] linesWithMatches = {0, 0, 10 * 13_244, 10 * 946, 5 * 44, 1};
+        for (int matches = 2; matches <= 5; matches++) {
+            perLine += linesWithMatches[matches] / outcomes * PRIZE_CENTS[matches];
+        }
+
+        assertEquals(Math.round(perLine * 200), report.getExpectedPayoutCents(), 1);
+    }
+
+    @Test
+    void sweep_ShouldPayPariMutuelAllocationOnce_WhenTierHasWinners() {
+        long[] jackpotAllocation = {0, 0, 0, 0, 0, 50_000_000};
+        long[] noFixedPrizes = new long[6];
+
+        ExposureReport report = ledger.sweep(ForkJoinPool.commonPool(), noFixedPrizes, jackpotAllocation);
+
+        assertEquals(50_000_000L, report.getMaxPayoutCents());
+        assertTrue(report.getWorstOutcomeMatchCounts()[5] >= 1);
+    }
+
+    private long[] bruteForceMatchCounts(long outcomeMask) {
+        long[] counts = new long[6];
+        for (long mask : ticketMasks) {
+            counts[Long.bitCount(mask & outcomeMask)]++;
+        }
+        return counts;
+    }
+
+    private long bruteForcePayout(long outcomeMask) {
+        long[] counts = bruteForceMatchCounts(outcomeMask);
+        long payout = 0;
+        for (int matches = 2; matches <= 5; matches++) {
+            payout += counts[matches] * PRIZE_CENTS[matches];
+        }
+        return payout;
+    }
+
+    private long toMask(int[] numbers) {
+        long mask = 0;
+        for (int number : numbers) {
+            mask |= 1L << (number - 1);
+        }
+        return mask;
+    }
+}
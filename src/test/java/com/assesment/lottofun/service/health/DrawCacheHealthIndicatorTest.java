@@ -0,0 +1,87 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DrawCacheHealthIndicatorTest {
+
+    @Mock
+    private DrawService drawService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private PrizeRulesConfig prizeRulesConfig;
+    private DrawCacheHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        prizeRulesConfig = new PrizeRulesConfig();
+        indicator = new DrawCacheHealthIndicator(drawService, jdbcTemplate, cacheInvalidationBus, prizeRulesConfig);
+    }
+
+    @Test
+    void health_ShouldBeUp_WhenCachedActiveDrawMatchesDatabase() {
+        givenActiveDraws(2L, 2L);
+        when(cacheInvalidationBus.isListening()).thenReturn(true);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(0L, health.getDetails().get("staleSeconds"));
+    }
+
+    @Test
+    void health_ShouldTolerateBriefMismatch_ButNotLastingStaleness() {
+        givenActiveDraws(1L, 2L);
+        when(cacheInvalidationBus.isListening()).thenReturn(true);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        prizeRulesConfig.getHealth().setMaxCacheStalenessSeconds(-1L);
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("1", health.getDetails().get("cachedActiveDrawId"));
+        assertEquals("2", health.getDetails().get("databaseActiveDrawId"));
+    }
+
+    @Test
+    void health_ShouldBeOutOfService_WhileInvalidationListenerIsReconnecting() {
+        givenActiveDraws(2L, 2L);
+        when(cacheInvalidationBus.isListening()).thenReturn(false);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("reconnecting", health.getDetails().get("invalidationListener"));
+    }
+
+    private void givenActiveDraws(Long cachedId, Long databaseId) {
+        when(drawService.findActiveDraw())
+                .thenReturn(Optional.of(Draw.builder().id(cachedId).status(DrawStatus.DRAW_OPEN).build()));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(databaseId));
+    }
+}
@@ -0,0 +1,80 @@
+package com.assesment.lottofun.service.health;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.TicketStatus;
+import com.assesment.lottofun.infrastructure.repository.DrawRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketRepository;
+import com.assesment.lottofun.service.DrawService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DrawScheduleHealthIndicatorTest {
+
+    @Mock
+    private DrawRepository drawRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private DrawScheduleHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        indicator = new DrawScheduleHealthIndicator(drawRepository, ticketRepository, new PrizeRulesConfig());
+        when(ticketRepository.countByDrawStatusInAndStatus(DrawService.UNSETTLED_STATUSES, TicketStatus.WAITING_FOR_DRAW))
+                .thenReturn(25_000L);
+    }
+
+    @Test
+    void health_ShouldBeUp_WhileSettlementIsWithinTheAllowedLag() {
+        when(drawRepository.findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(eq(DrawScheduleHealthIndicator.UNFINALIZED_STATUSES), any()))
+                .thenReturn(Optional.of(draw(LocalDateTime.now().minusSeconds(30))));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(25_000L, health.getDetails().get("waitingTickets"));
+        assertEquals(7L, health.getDetails().get("oldestUnfinalizedDrawId"));
+    }
+
+    @Test
+    void health_ShouldBeDown_WhenADrawIsNotFinalizedLongAfterItsDrawDate() {
+        when(drawRepository.findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(eq(DrawScheduleHealthIndicator.UNFINALIZED_STATUSES), any()))
+                .thenReturn(Optional.of(draw(LocalDateTime.now().minusMinutes(20))));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertTrue((Long) health.getDetails().get("finalizationLagSeconds") >= 1200);
+    }
+
+    @Test
+    void health_ShouldReportNoLag_WhenEveryDueDrawIsFinalized() {
+        when(drawRepository.findFirstByStatusInAndDrawDateLessThanEqualOrderByDrawDateAsc(eq(DrawScheduleHealthIndicator.UNFINALIZED_STATUSES), any()))
+                .thenReturn(Optional.empty());
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(0L, health.getDetails().get("finalizationLagSeconds"));
+    }
+
+    private static Draw draw(LocalDateTime drawDate) {
+        return Draw.builder().id(7L).status(DrawStatus.PAYMENTS_PROCESSING).drawDate(drawDate).build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.assesment.lottofun.service.metrics;
+
+import com.assesment.lottofun.exception.InsufficientBalanceException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LotteryMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LotteryMetrics metrics = new LotteryMetrics(registry);
+
+    @Test
+    void recordPurchase_ShouldSplitLatencyByOutcome() {
+        long startedAt = System.nanoTime();
+
+        metrics.recordPurchase(startedAt, null);
+        metrics.recordPurchase(startedAt, null);
+        metrics.recordPurchase(startedAt, new InsufficientBalanceException("Insufficient balance"));
+        metrics.recordPurchase(startedAt, new IllegalStateException("Connection refused"));
+
+        assertEquals(2, purchases("success", "none").count());
+        assertEquals(1, purchases("rejected", "InsufficientBalanceException").count());
+        assertEquals(1, purchases("error", "IllegalStateException").count());
+    }
+
+    @Test
+    void recordSettlement_ShouldRecordSettlePhase_AndThroughput() {
+        metrics.recordSettlementBatch(1000, System.nanoTime());
+        metrics.recordSettlementBatch(500, System.nanoTime());
+        metrics.recordSettlement(1500, System.nanoTime() - TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(1500.0, registry.get("lottery.settlement.tickets").counter().count());
+        assertEquals(2, registry.get("lottery.settlement.batch").timer().count());
+        assertEquals(1, registry.get("lottery.draw.phase").tag("phase", "settle").timer().count());
+        double throughput = registry.get("lottery.settlement.throughput").summary().max();
+        assertTrue(throughput > 400 && throughput <= 500, "tickets per second: " + throughput);
+    }
+
+    @Test
+    void recordDrawLag_ShouldMeasureFromDrawDate_AndNeverGoNegative() {
+        metrics.recordDrawLag(LotteryMetrics.PHASE_CLOSE, LocalDateTime.now().minusSeconds(90));
+        metrics.recordDrawLag(LotteryMetrics.PHASE_FINALIZE, LocalDateTime.now().plusMinutes(1));
+
+        Timer close = registry.get("lottery.draw.lag").tag("stage", "close").timer();
+        assertTrue(close.max(TimeUnit.SECONDS) >= 90);
+        assertEquals(0, registry.get("lottery.draw.lag").tag("stage", "finalize").timer().max(TimeUnit.SECONDS));
+    }
+
+    private Timer purchases(String outcome, String exception) {
+        return registry.get("lottery.ticket.purchase").tag("outcome", outcome).tag("exception", exception).timer();
+    }
+}
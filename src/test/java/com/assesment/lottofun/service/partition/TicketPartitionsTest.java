@@ -0,0 +1,105 @@
+package com.assesment.lottofun.service.partition;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.repository.TicketPartitionRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketPartitionRepository.TicketPartition;
+import com.assesment.lottofun.service.scheduling.SchedulerLeadership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketPartitionsTest {
+
+    @Mock
+    private TicketPartitionRepository partitionRepository;
+
+    @Mock
+    private SchedulerLeadership leadership;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketPartitions ticketPartitions;
+
+    @BeforeEach
+    void setUp() {
+        ticketPartitions = new TicketPartitions(partitionRepository, new PrizeRulesConfig(), leadership, taskScheduler,
+                transactionManager);
+        ticketPartitions.init();
+    }
+
+    @Test
+    void ensureAhead_ShouldCreateTheRangesOfTheNextDraws_InItsOwnTransaction() {
+        when(partitionRepository.findLatestDrawId()).thenReturn(150L);
+        when(partitionRepository.findAttached()).thenReturn(List.of(partition(0), partition(100)));
+
+        ticketPartitions.ensureAhead();
+
+        verify(partitionRepository).create(200, 300);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        verifyNoMoreInteractions(ignoreStubs(partitionRepository));
+    }
+
+    @Test
+    void ensureAhead_ShouldSkipThePartitionLookup_WhileDrawsAreCovered() {
+        when(partitionRepository.findLatestDrawId()).thenReturn(150L, 180L, 200L);
+        when(partitionRepository.findAttached()).thenReturn(List.of(partition(0), partition(100), partition(200)));
+
+        ticketPartitions.ensureAhead();
+        ticketPartitions.ensureAhead();
+        ticketPartitions.ensureAhead();
+
+        verify(partitionRepository, times(2)).findAttached();
+        verify(partitionRepository).create(300, 400);
+    }
+
+    @Test
+    void ensurePartitions_ShouldCreateEveryMissingRangeOfABulkLoad() {
+        when(partitionRepository.findAttached()).thenReturn(List.of(partition(100)));
+
+        ticketPartitions.ensurePartitions(42, 310);
+
+        verify(partitionRepository).create(0, 100);
+        verify(partitionRepository).create(200, 300);
+        verify(partitionRepository).create(300, 400);
+        verify(partitionRepository, never()).create(eq(100L), anyLong());
+    }
+
+    @Test
+    void archiveExpired_ShouldOnlyArchivePartitionsPastRetention() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        TicketPartition expired = partition(0);
+        TicketPartition retained = partition(100);
+        when(partitionRepository.findAttached()).thenReturn(List.of(expired, retained));
+        when(partitionRepository.isExpired(expired, now.minusDays(365))).thenReturn(true);
+        when(partitionRepository.isExpired(retained, now.minusDays(365))).thenReturn(false);
+
+        int archived = ticketPartitions.archiveExpired(now);
+
+        assertEquals(1, archived);
+        verify(partitionRepository).archive(expired);
+        verify(partitionRepository, never()).archive(retained);
+    }
+
+    private static TicketPartition partition(long from) {
+        return new TicketPartition(TicketPartitionRepository.partitionName(from), from, from + 100, false);
+    }
+}
@@ -0,0 +1,230 @@
+package com.assesment.lottofun.service.purchase;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.entity.Money;
+import com.assesment.lottofun.entity.User;
+import com.assesment.lottofun.exception.BusinessException;
+import com.assesment.lottofun.exception.DrawNotAvailableException;
+import com.assesment.lottofun.exception.InsufficientBalanceException;
+import com.assesment.lottofun.infrastructure.repository.DrawRepository;
+import com.assesment.lottofun.infrastructure.repository.TicketBulkRepository;
+import com.assesment.lottofun.infrastructure.repository.UserRepository;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.cache.UserSummaryCache;
+import com.assesment.lottofun.service.partition.TicketPartitions;
+import com.assesment.lottofun.util.NumberUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the group-commit pipeline against the database. The pipeline is created by the test, so the
+ * application context keeps its default purchase path.
+ */
+@SpringBootTest
+class GroupCommitPurchasePipelineTest {
+
+    private static final int BUYERS = 20;
+    private static final int AFFORDABLE = 5;
+
+    @TempDir
+    Path journalDirectory;
+
+    @Autowired private TicketBulkRepository ticketBulkRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserSummaryCache userSummaryCache;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DrawRepository drawRepository;
+    @Autowired private DrawService drawService;
+    @Autowired private TicketPartitions ticketPartitions;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private GroupCommitPurchasePipeline pipeline;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        config.getPurchase().setGroupCommit(true);
+        config.getPurchase().setJournalDirectory(journalDirectory.toString());
+        config.getPurchase().setJournalSlots(64);
+        pipeline = new GroupCommitPurchasePipeline(config, ticketBulkRepository, transactionManager, userSummaryCache);
+        pipeline.start();
+
+        user = userRepository.save(User.builder()
+                .email("pipeline-" + UUID.randomUUID() + "@lottofun.test")
+                .password("password")
+                .firstName("Pipeline")
+                .lastName("Test")
+                .balance(Money.of(10L * AFFORDABLE))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pipeline.stop();
+    }
+
+    @Test
+    void submit_ShouldNotOverdraw_WhenOneUserBuysConcurrently() throws Exception {
+        Long drawId = awaitActiveDraw().getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+        List<Future<JournaledPurchase>> purchases = new ArrayList<>();
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                long mask = NumberUtils.toBitmask(Set.of(1, 2, 3, 10 + i, 40));
+                purchases.add(buyers.submit(() -> {
+                    start.await();
+                    return pipeline.submit(user, drawId, mask, Money.of(10));
+                }));
+            }
+            start.countDown();
+
+            int stored = 0;
+            int rejected = 0;
+            for (Future<JournaledPurchase> purchase : purchases) {
+                try {
+                    purchase.get();
+                    stored++;
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    assertInstanceOf(InsufficientBalanceException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+
+            assertEquals(AFFORDABLE, stored);
+            assertEquals(BUYERS - AFFORDABLE, rejected);
+        } finally {
+            buyers.shutdownNow();
+        }
+
+        assertEquals(Money.ZERO, userRepository.findById(user.getId()).orElseThrow().getBalance());
+        assertEquals(AFFORDABLE, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void submit_ShouldFailWithoutDebit_WhenTheDrawClosedBeforeTheCommit() {
+        Draw closed = Draw.createNew(LocalDateTime.now().minusMinutes(1));
+        closed.setStatus(DrawStatus.DRAW_CLOSED);
+        closed = drawRepository.save(closed);
+        ticketPartitions.ensureAhead();
+        Long closedId = closed.getId();
+
+        assertThrows(DrawNotAvailableException.class, () ->
+                pipeline.submit(user, closedId, NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5)), Money.of(10)));
+
+        assertEquals(Money.of(10L * AFFORDABLE), userRepository.findById(user.getId()).orElseThrow().getBalance());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void submit_ShouldStoreTheOtherPurchases_WhenOneRecordBreaksAConstraint() throws Exception {
+        Long drawId = awaitActiveDraw().getId();
+        jdbcTemplate.update("UPDATE users SET balance = ? WHERE id = ?", 2_000_000, user.getId());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(AFFORDABLE + 1);
+        try {
+            // purchase_price is NUMERIC(8, 2), so the insert of this record fails with a numeric overflow.
+            Future<JournaledPurchase> poison = buyers.submit(() -> {
+                start.await();
+                return pipeline.submit(user, drawId, NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5)), Money.of(1_000_000));
+            });
+            List<Future<JournaledPurchase>> purchases = new ArrayList<>();
+            for (int i = 0; i < AFFORDABLE; i++) {
+                long mask = NumberUtils.toBitmask(Set.of(1, 2, 3, 10 + i, 40));
+                purchases.add(buyers.submit(() -> {
+                    start.await();
+                    return pipeline.submit(user, drawId, mask, Money.of(10));
+                }));
+            }
+            start.countDown();
+
+            var failure = assertThrows(java.util.concurrent.ExecutionException.class, poison::get);
+            assertInstanceOf(BusinessException.class, failure.getCause());
+            for (Future<JournaledPurchase> purchase : purchases) {
+                assertNotNull(purchase.get());
+            }
+        } finally {
+            buyers.shutdownNow();
+        }
+
+        assertEquals(Money.of(2_000_000 - 10L * AFFORDABLE),
+                userRepository.findById(user.getId()).orElseThrow().getBalance());
+        assertEquals(AFFORDABLE, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void insertJournaled_ShouldNotCountSkippedPurchases_AgainstTheBalance() throws Exception {
+        long drawId = awaitActiveDraw().getId();
+        long now = System.currentTimeMillis();
+        long repeated = NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5));
+        List<JournaledPurchase> batch = List.of(
+                new JournaledPurchase(1, user.getId(), drawId, repeated, 1_000, now, 1),
+                new JournaledPurchase(2, user.getId(), drawId, repeated, 1_000, now, 2),
+                new JournaledPurchase(3, user.getId(), drawId, NumberUtils.toBitmask(Set.of(6, 7, 8, 9, 10)),
+                        10L * AFFORDABLE * 100, now, 3),
+                new JournaledPurchase(4, user.getId(), drawId, NumberUtils.toBitmask(Set.of(11, 12, 13, 14, 15)),
+                        1_000L * (AFFORDABLE - 1), now, 4));
+
+        List<PurchaseOutcome> outcomes = new TransactionTemplate(transactionManager)
+                .execute(status -> ticketBulkRepository.insertJournaled(batch));
+
+        assertEquals(List.of(PurchaseOutcome.STORED, PurchaseOutcome.DUPLICATE,
+                PurchaseOutcome.INSUFFICIENT_BALANCE, PurchaseOutcome.STORED), outcomes);
+        assertEquals(Money.ZERO, userRepository.findById(user.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void insertJournaled_ShouldStoreAnAffordablePurchase_AfterAnAlreadyStoredOne() throws Exception {
+        long drawId = awaitActiveDraw().getId();
+        long now = System.currentTimeMillis();
+        JournaledPurchase stored = new JournaledPurchase(1, user.getId(), drawId,
+                NumberUtils.toBitmask(Set.of(1, 2, 3, 4, 5)), 1_000, now, 1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.execute(status -> ticketBulkRepository.insertJournaled(List.of(stored)));
+        JournaledPurchase affordable = new JournaledPurchase(2, user.getId(), drawId,
+                NumberUtils.toBitmask(Set.of(6, 7, 8, 9, 10)), 1_000L * (AFFORDABLE - 1), now, 2);
+
+        List<PurchaseOutcome> outcomes = transaction.execute(status ->
+                ticketBulkRepository.insertJournaled(List.of(stored, affordable)));
+
+        assertEquals(List.of(PurchaseOutcome.DUPLICATE, PurchaseOutcome.STORED), outcomes);
+        assertEquals(Money.ZERO, userRepository.findById(user.getId()).orElseThrow().getBalance());
+    }
+
+    private Draw awaitActiveDraw() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var draw = drawService.findActiveDraw();
+            if (draw.isPresent()) {
+                return draw.get();
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("The scheduler opened no draw");
+    }
+}
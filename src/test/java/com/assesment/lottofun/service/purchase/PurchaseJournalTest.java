@@ -0,0 +1,85 @@
+package com.assesment.lottofun.service.purchase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PurchaseJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldAssignIncreasingSequences() throws IOException {
+        try (PurchaseJournal journal = new PurchaseJournal(directory.resolve("journal.dat"), 8)) {
+            JournaledPurchase first = journal.append(1L, 10L, 31L, 1000, 1_700_000_000_000L, 0xCAFE);
+            JournaledPurchase second = journal.append(2L, 10L, 62L, 2000, 1_700_000_000_001L, 0xBEEF);
+
+            assertEquals(1, first.getSequence());
+            assertEquals(2, second.getSequence());
+            assertEquals("TKT-10-1700000000000-0000CAFE", first.getTicketNumber());
+            assertEquals(2, journal.uncommitted(10).size());
+        }
+    }
+
+    @Test
+    void reopen_ShouldReplayOnlyUncommittedRecords() throws IOException {
+        Path path = directory.resolve("journal.dat");
+        try (PurchaseJournal journal = new PurchaseJournal(path, 8)) {
+            journal.append(1L, 10L, 31L, 1000, 1L, 1);
+            journal.append(1L, 10L, 62L, 1000, 2L, 2);
+            journal.append(2L, 10L, 124L, 1000, 3L, 3);
+            journal.markCommitted(1);
+        }
+
+        try (PurchaseJournal reopened = new PurchaseJournal(path, 8)) {
+            List<JournaledPurchase> pending = reopened.uncommitted(10);
+
+            assertEquals(1, reopened.getCommittedSequence());
+            assertEquals(3, reopened.getLastSequence());
+            assertEquals(List.of(2L, 3L), pending.stream().map(JournaledPurchase::getSequence).toList());
+            assertEquals(124L, pending.get(1).getNumbersMask());
+        }
+    }
+
+    @Test
+    void reopen_ShouldIgnoreTornRecord() throws IOException {
+        Path path = directory.resolve("journal.dat");
+        try (PurchaseJournal journal = new PurchaseJournal(path, 8)) {
+            journal.append(1L, 10L, 31L, 1000, 1L, 1);
+            journal.append(1L, 10L, 62L, 1000, 2L, 2);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, 999L), 64 + 64 + 32);
+        }
+
+        try (PurchaseJournal reopened = new PurchaseJournal(path, 8)) {
+            assertEquals(1, reopened.uncommitted(10).size());
+        }
+    }
+
+    @Test
+    void append_ShouldReject_WhenRingIsFullOfUncommittedRecords() throws IOException {
+        try (PurchaseJournal journal = new PurchaseJournal(directory.resolve("journal.dat"), 2)) {
+            journal.append(1L, 10L, 31L, 1000, 1L, 1);
+            journal.append(1L, 10L, 62L, 1000, 2L, 2);
+
+            assertThrows(IllegalStateException.class, () -> journal.append(1L, 10L, 124L, 1000, 3L, 3));
+
+            journal.markCommitted(2);
+            JournaledPurchase wrapped = journal.append(1L, 10L, 124L, 1000, 3L, 3);
+            assertEquals(3, wrapped.getSequence());
+            assertEquals(List.of(wrapped.getSequence()),
+                    journal.uncommitted(10).stream().map(JournaledPurchase::getSequence).toList());
+        }
+    }
+}
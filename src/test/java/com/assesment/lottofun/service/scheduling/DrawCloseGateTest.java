@@ -0,0 +1,71 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.exception.DrawNotAvailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrawCloseGateTest {
+
+    private final DrawCloseGate gate = new DrawCloseGate();
+
+    @Test
+    void admit_ShouldRejectClosedDrawAndEarlierOnes_ButAdmitLaterDraws() {
+        assertTrue(gate.close(5L, Duration.ZERO));
+
+        assertThrows(DrawNotAvailableException.class, () -> gate.admit(5L));
+        assertThrows(DrawNotAvailableException.class, () -> gate.admit(4L));
+        assertDoesNotThrow(() -> gate.admit(6L));
+
+        assertEquals(5L, gate.getClosedEpoch());
+        assertEquals(1, gate.getInFlightCount());
+    }
+
+    @Test
+    void close_ShouldNotLowerEpoch() {
+        gate.close(7L, Duration.ZERO);
+        gate.close(3L, Duration.ZERO);
+
+        assertEquals(7L, gate.getClosedEpoch());
+    }
+
+    @Test
+    void close_ShouldWaitForAdmittedPurchases() throws Exception {
+        gate.admit(1L);
+
+        CompletableFuture<Boolean> closing = CompletableFuture.supplyAsync(() -> gate.close(1L, Duration.ofSeconds(5)));
+        Thread.sleep(50);
+        assertFalse(closing.isDone());
+
+        gate.exit();
+        assertTrue(closing.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void close_ShouldGiveUp_AfterDrainTimeout() {
+        gate.admit(1L);
+
+        assertFalse(gate.close(1L, Duration.ofMillis(20)));
+    }
+
+    @Test
+    void admit_ShouldReleaseWhenTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gate.admit(1L);
+            assertEquals(1, gate.getInFlightCount());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(0, gate.getInFlightCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
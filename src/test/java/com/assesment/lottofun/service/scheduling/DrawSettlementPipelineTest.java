@@ -0,0 +1,104 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.entity.Draw;
+import com.assesment.lottofun.entity.DrawStatus;
+import com.assesment.lottofun.service.DrawService;
+import com.assesment.lottofun.service.metrics.LotteryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DrawSettlementPipelineTest {
+
+    @Mock
+    private DrawService drawService;
+
+    private PrizeRulesConfig prizeRulesConfig;
+    private DrawSettlementPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        prizeRulesConfig = new PrizeRulesConfig();
+        pipeline = new DrawSettlementPipeline(drawService, prizeRulesConfig, new LotteryMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void dispatch_ShouldSettleOneDrawAtATime_InStandardMode() throws InterruptedException {
+        CountDownLatch settling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(drawService.findUnsettledDraws(1)).thenReturn(List.of(closedDraw(1L)));
+        doAnswer(invocation -> {
+            settling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(drawService).settle(1L);
+        pipeline.start();
+
+        pipeline.dispatch();
+        assertTrue(settling.await(5, TimeUnit.SECONDS));
+        pipeline.dispatch();
+
+        assertEquals(1, pipeline.getInFlightCount());
+        assertFalse(pipeline.getLongestInFlight().isZero());
+        verify(drawService, times(1)).findUnsettledDraws(1);
+        release.countDown();
+    }
+
+    @Test
+    void dispatch_ShouldSettleConsecutiveDrawsConcurrently_InRapidMode() throws InterruptedException {
+        prizeRulesConfig.getDraw().getRapid().setEnabled(true);
+        prizeRulesConfig.getDraw().getRapid().setSettlementWorkers(2);
+        CountDownLatch bothSettling = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(drawService.findUnsettledDraws(2)).thenReturn(List.of(closedDraw(1L), closedDraw(2L)));
+        doAnswer(invocation -> {
+            bothSettling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(drawService).settle(anyLong());
+        pipeline.start();
+
+        pipeline.dispatch();
+
+        assertTrue(bothSettling.await(5, TimeUnit.SECONDS));
+        assertEquals(2, pipeline.getInFlightCount());
+        release.countDown();
+    }
+
+    @Test
+    void settle_ShouldExtractBeforeSettling_AndReleaseDrawOnFailure() {
+        doThrow(new IllegalStateException("Settlement failed")).when(drawService).settle(1L);
+        pipeline.start();
+
+        assertDoesNotThrow(() -> pipeline.settle(1L));
+
+        InOrder inOrder = inOrder(drawService);
+        inOrder.verify(drawService).extract(1L);
+        inOrder.verify(drawService).settle(1L);
+        assertEquals(0, pipeline.getInFlightCount());
+        assertTrue(pipeline.getLongestInFlight().isZero());
+    }
+
+    private static Draw closedDraw(Long id) {
+        return Draw.builder().id(id).status(DrawStatus.DRAW_CLOSED).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.assesment.lottofun.service.scheduling;
+
+import com.assesment.lottofun.config.PrizeRulesConfig;
+import com.assesment.lottofun.infrastructure.jdbc.SessionConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeadershipTest {
+
+    @Mock private SessionConnectionFactory connectionFactory;
+    @Mock private Connection connection;
+    @Mock private PreparedStatement statement;
+    @Mock private ResultSet resultSet;
+
+    private SchedulerLeadership leadership;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        PrizeRulesConfig config = new PrizeRulesConfig();
+        leadership = new SchedulerLeadership(connectionFactory, config);
+
+        when(connectionFactory.open()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    @Test
+    void acquire_ShouldKeepLockConnection_WhenLockIsFree() throws SQLException {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        assertTrue(leadership.acquire());
+        assertTrue(leadership.acquire());
+
+        assertTrue(leadership.isLeader());
+        verify(connectionFactory, times(1)).open();
+        verify(statement).setLong(1, 7_300_001L);
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void acquire_ShouldReturnConnection_WhenAnotherNodeIsLeader() throws SQLException {
+        when(resultSet.getBoolean(1)).thenReturn(false);
+
+        assertFalse(leadership.acquire());
+
+        assertFalse(leadership.isLeader());
+        verify(connection).close();
+    }
+
+    @Test
+    void acquire_ShouldRetryLock_WhenLockConnectionWasLost() throws SQLException {
+        when(resultSet.getBoolean(1)).thenReturn(true, false);
+        when(connection.isValid(anyInt())).thenReturn(false);
+
+        assertTrue(leadership.acquire());
+        assertFalse(leadership.acquire());
+
+        assertFalse(leadership.isLeader());
+        verify(connectionFactory, times(2)).open();
+    }
+}
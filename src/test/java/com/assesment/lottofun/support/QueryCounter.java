@@ -0,0 +1,54 @@
+package com.assesment.lottofun.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the SQL statements the current thread executes while {@link #measure} runs. Statements run by
+ * other threads, such as the draw scheduler, are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<List<ExecutedStatement>> STATEMENTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * @param parameters the values bound when the statement executed, by parameter index
+     */
+    public record ExecutedStatement(String sql, Map<Integer, Object> parameters) {
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    /**
+     * @return the statements executed by {@code action}, in order; a JDBC batch counts once
+     */
+    public static List<ExecutedStatement> measure(Action action) throws Exception {
+        List<ExecutedStatement> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+
+    static void record(String sql, Map<Integer, Object> parameters) {
+        List<ExecutedStatement> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(new ExecutedStatement(sql, parameters));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.assesment.lottofun.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * Wraps the application's data source so each statement execution is reported to {@link QueryCounter}.
+ * Component scanning picks this class up from the test classes, so every {@code @SpringBootTest} shares
+ * one application context with the counting data source.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args) -> null, (result, args) ->
+                    result instanceof Connection connection ? countingConnection(connection) : result);
+        }
+        return bean;
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> null, (result, args) -> {
+            if (result instanceof CallableStatement statement) {
+                return countingStatement(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return countingStatement(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return countingStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Counts calls of the {@code execute*} methods; {@code executeBatch} sends one round trip and counts once.
+     * Values bound through the {@code set*} methods are kept with the statement.
+     */
+    private static <T extends Statement> T countingStatement(Class<T> type, T statement, String preparedSql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                QueryCounter.record(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql,
+                        new TreeMap<>(parameters));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            }
+            return null;
+        }, (result, args) -> result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, BiFunction<Method, Object[], Void> before,
+                               BiFunction<Object, Object[], Object> after) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            before.apply(method, args);
+            try {
+                return after.apply(method.invoke(target, args), args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }));
+    }
+}
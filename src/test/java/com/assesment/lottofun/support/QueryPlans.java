@@ -0,0 +1,119 @@
+package com.assesment.lottofun.support;
+
+import com.assesment.lottofun.support.QueryCounter.ExecutedStatement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Runs {@code EXPLAIN} for statements captured by {@link QueryCounter} and reports sequential scans of the
+ * guarded tables. A table is only guarded once PostgreSQL estimates it holds at least {@code minRows} rows;
+ * below that a sequential scan is what the planner should pick. Counting every row of a table, as a page
+ * count does, is expected to read the whole table and is not reported. A partition is guarded as part of its
+ * parent table, with its own row estimate, since a pruned plan only reads that partition.
+ */
+public class QueryPlans {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> guardedTables;
+    private final long minRows;
+
+    public QueryPlans(JdbcTemplate jdbcTemplate, Set<String> guardedTables, long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.guardedTables = guardedTables;
+        this.minRows = minRows;
+    }
+
+    /**
+     * @return a description of each sequential scan of a guarded table, with the statement's plan
+     */
+    public List<String> sequentialScans(List<ExecutedStatement> statements) throws Exception {
+        List<String> scans = new ArrayList<>();
+        for (ExecutedStatement statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> tables = new ArrayList<>();
+            collectSequentialScans(plan, plan, tables);
+            for (String table : tables) {
+                scans.add("Sequential scan of " + table + " in:\n" + statement.sql() + "\n" + plan.toPrettyString());
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * @return the partitions of {@code parent} that the statements' plans read
+     */
+    public Set<String> partitionsRead(List<ExecutedStatement> statements, String parent) throws Exception {
+        Set<String> partitions = new TreeSet<>();
+        for (ExecutedStatement statement : statements) {
+            collectPartitions(explain(statement), parent, partitions);
+        }
+        return partitions;
+    }
+
+    private JsonNode explain(ExecutedStatement statement) throws Exception {
+        String json = jdbcTemplate.query("EXPLAIN (FORMAT JSON) " + statement.sql(), ps -> {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                if (parameter.getValue() == null) {
+                    ps.setNull(parameter.getKey(), Types.NULL);
+                } else {
+                    ps.setObject(parameter.getKey(), parameter.getValue());
+                }
+            }
+        }, rs -> rs.next() ? rs.getString(1) : null);
+        return OBJECT_MAPPER.readTree(json).get(0).get("Plan");
+    }
+
+    private void collectSequentialScans(JsonNode root, JsonNode node, List<String> tables) {
+        String table = node.path("Relation Name").asText(null);
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && guardedTables.contains(parentOf(table))
+                && !isWholeTableAggregate(root, node)
+                && estimatedRows(table) >= minRows) {
+            tables.add(table);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(root, child, tables);
+        }
+    }
+
+    private void collectPartitions(JsonNode node, String parent, Set<String> partitions) {
+        String table = node.path("Relation Name").asText(null);
+        if (table != null && !table.equals(parent) && parent.equals(parentOf(table))) {
+            partitions.add(table);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectPartitions(child, parent, partitions);
+        }
+    }
+
+    private String parentOf(String table) {
+        if (table == null) {
+            return null;
+        }
+        List<String> parents = jdbcTemplate.queryForList(
+                "SELECT inhparent::regclass::text FROM pg_inherits WHERE inhrelid = to_regclass(?)", String.class, table);
+        return parents.isEmpty() ? table : parents.get(0);
+    }
+
+    private static boolean isWholeTableAggregate(JsonNode root, JsonNode scan) {
+        return "Aggregate".equals(root.path("Node Type").asText())
+                && root.path("Plans").size() == 1
+                && root.path("Plans").get(0) == scan
+                && !scan.has("Filter");
+    }
+
+    private long estimatedRows(String table) {
+        Double rows = jdbcTemplate.queryForObject("SELECT reltuples FROM pg_class WHERE relname = ?", Double.class, table);
+        return rows == null ? 0 : rows.longValue();
+    }
+}